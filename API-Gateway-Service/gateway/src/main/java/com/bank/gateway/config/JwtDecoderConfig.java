@@ -0,0 +1,34 @@
+package com.bank.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Verifies access tokens locally against the key set published by the authentication service.
+ * The decoder caches the keys and refetches them only when a token names an unknown kid, so a
+ * key rotation is picked up without restarting the gateway.
+ */
+@Configuration
+public class JwtDecoderConfig {
+
+    /** Resolves service ids such as {@code http://authentication/...} through discovery. */
+    @Bean
+    public WebClient loadBalancedWebClient(ReactorLoadBalancerExchangeFilterFunction loadBalancer) {
+        return WebClient.builder().filter(loadBalancer).build();
+    }
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(WebClient loadBalancedWebClient,
+            @Value("${bank.jwt.jwk-set-uri:http://authentication/api/auth/.well-known/jwks.json}") String jwkSetUri) {
+        return NimbusReactiveJwtDecoder.withJwkSetUri(jwkSetUri)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .webClient(loadBalancedWebClient)
+                .build();
+    }
+}
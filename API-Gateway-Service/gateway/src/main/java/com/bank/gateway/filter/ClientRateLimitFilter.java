@@ -0,0 +1,58 @@
+package com.bank.gateway.filter;
+
+import com.bank.gateway.ratelimit.RateLimitPolicy;
+import com.bank.gateway.ratelimit.RateLimitPolicy.Dimension;
+import com.bank.gateway.ratelimit.RateLimitQuota;
+import com.bank.gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Charges the client IP bucket before the bearer token is looked at, so unauthenticated and
+ * badly authenticated traffic is limited too.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ClientRateLimitFilter extends RateLimitFilter {
+
+    private final boolean trustForwardedFor;
+
+    public ClientRateLimitFilter(RateLimitPolicy policy, TokenBucketStore bucketStore, MeterRegistry meterRegistry,
+            @Value("${bank.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        super(policy, bucketStore, meterRegistry);
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the JWT filter decodes anything
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    protected List<Check> checks(String routeId, ServerHttpRequest request) {
+        RateLimitQuota ipQuota = policy.quota(routeId, Dimension.IP);
+        String clientIp = ipQuota != null ? clientIp(request) : null;
+        return clientIp != null ? List.of(new Check(routeId + ":ip:" + clientIp, ipQuota, Dimension.IP)) : List.of();
+    }
+
+    // Only trust X-Forwarded-For behind a proxy that overwrites it; clients can set it freely
+    private String clientIp(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : null;
+    }
+}
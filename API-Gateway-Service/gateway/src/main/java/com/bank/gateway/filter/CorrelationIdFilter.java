@@ -0,0 +1,43 @@
+package com.bank.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Mints the correlation id for every request entering the bank. Client-supplied values are
+ * overwritten so ids stay unique; the downstream services propagate this one through Feign
+ * calls and Kafka headers, and the audit service indexes it for /api/audit/trace.
+ */
+@Component
+public class CorrelationIdFilter implements GlobalFilter, Ordered {
+
+    public static final String CORRELATION_ID_HEADER = "bank-correlation-id";
+    public static final String REQUEST_START_HEADER = "bank-request-start";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String correlationId = UUID.randomUUID().toString();
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(CORRELATION_ID_HEADER, correlationId);
+                    headers.set(REQUEST_START_HEADER, Long.toString(System.currentTimeMillis()));
+                })
+                .build();
+        exchange.getResponse().getHeaders().set(CORRELATION_ID_HEADER, correlationId);
+
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.gateway.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.bank.gateway.revocation.RevocationChecker;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a verified bearer token into the identity headers the services read. Inbound copies
+ * of those headers are always removed, so only the gateway can assert who the caller is.
+ *
+ * <p>Requests without a bearer token pass through unchanged and each service decides whether
+ * it needs one. An invalid, expired or revoked token is rejected with 401 here.
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    // Older names still read by the transaction and accounts session filters
+    private static final List<String> IDENTITY_HEADERS =
+            List.of(USER_ID_HEADER, USER_EMAIL_HEADER, USER_ROLES_HEADER, "userId", "email");
+
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final RevocationChecker revocationChecker;
+
+    public JwtAuthenticationFilter(ReactiveJwtDecoder jwtDecoder, RevocationChecker revocationChecker) {
+        this.jwtDecoder = jwtDecoder;
+        this.revocationChecker = revocationChecker;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        return jwtDecoder.decode(authorization.substring(7))
+                .flatMap(jwt -> revocationChecker.isRevoked(jwt)
+                        .onErrorMap(e -> new JwtException("Revocation check failed: " + e.getMessage(), e))
+                        .flatMap(revoked -> revoked
+                                ? Mono.<Jwt>error(new BadJwtException("Token has been revoked"))
+                                : Mono.just(jwt)))
+                .onErrorResume(BadJwtException.class, e -> {
+                    logger.debug("Rejected bearer token for {}: {}", exchange.getRequest().getPath(), e.getMessage());
+                    return reject(exchange, HttpStatus.UNAUTHORIZED).then(Mono.<Jwt>empty());
+                })
+                .onErrorResume(JwtException.class, e -> {
+                    // The key set or the revocation check is unreachable; the token may well be valid
+                    logger.warn("Could not verify bearer token: {}", e.getMessage());
+                    return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE).then(Mono.<Jwt>empty());
+                })
+                .flatMap(jwt -> chain.filter(withIdentity(exchange, jwt)));
+    }
+
+    @Override
+    public int getOrder() {
+        // After the correlation id and the client IP rate limit, before routing
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    private static ServerWebExchange withIdentity(ServerWebExchange exchange, Jwt jwt) {
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    IDENTITY_HEADERS.forEach(headers::remove);
+                    if (jwt == null) {
+                        return;
+                    }
+                    String userId = claimAsString(jwt, "user_id");
+                    String email = jwt.getClaimAsString("email");
+                    if (userId != null) {
+                        headers.set(USER_ID_HEADER, userId);
+                        headers.set("userId", userId);
+                    }
+                    if (email != null) {
+                        headers.set(USER_EMAIL_HEADER, email);
+                        headers.set("email", email);
+                    }
+                    Object roles = jwt.getClaims().get("roles");
+                    if (roles instanceof Collection<?> values && !values.isEmpty()) {
+                        headers.set(USER_ROLES_HEADER,
+                                values.stream().map(String::valueOf).collect(Collectors.joining(",")));
+                    }
+                })
+                .build();
+        return exchange.mutate().request(request).build();
+    }
+
+    private static String claimAsString(Jwt jwt, String name) {
+        Object value = jwt.getClaims().get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+}
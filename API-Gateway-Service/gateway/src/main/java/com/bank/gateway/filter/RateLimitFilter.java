@@ -0,0 +1,90 @@
+package com.bank.gateway.filter;
+
+import com.bank.gateway.ratelimit.RateLimitPolicy;
+import com.bank.gateway.ratelimit.RateLimitPolicy.Dimension;
+import com.bank.gateway.ratelimit.RateLimitQuota;
+import com.bank.gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Rejects requests over their route's quota with 429 before they are routed, so bursts such as
+ * credential stuffing on the login route never reach the services or their databases. Each
+ * request takes a token from its client IP, user and whole-route buckets in that order; the
+ * first empty bucket rejects it with an empty body and a Retry-After header, so the route bucket
+ * is only charged for requests within their own client's quotas.
+ *
+ * <p>The checks run in two filters around {@link JwtAuthenticationFilter}: the client IP is
+ * charged before any token is decoded, so a flood of bad tokens is limited like any other
+ * traffic and never turns into key set fetches; the user and route buckets are charged after
+ * it, once the user id is verified.
+ */
+public abstract class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    protected final RateLimitPolicy policy;
+    private final TokenBucketStore bucketStore;
+    private final MeterRegistry meterRegistry;
+
+    protected record Check(String key, RateLimitQuota quota, Dimension dimension) {
+    }
+
+    protected RateLimitFilter(RateLimitPolicy policy, TokenBucketStore bucketStore, MeterRegistry meterRegistry) {
+        this.policy = policy;
+        this.bucketStore = bucketStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        List<Check> checks = checks(route.getId(), exchange.getRequest());
+        if (checks.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        return Flux.fromIterable(checks)
+                .concatMap(check -> bucketStore.tryConsume(check.key(), check.quota())
+                        .filter(waitMillis -> waitMillis > 0)
+                        .map(waitMillis -> reject(exchange, route.getId(), check.dimension(), waitMillis)))
+                .next()
+                .flatMap(rejected -> rejected)
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    /** Buckets this filter charges for a request on {@code routeId}, in order. */
+    protected abstract List<Check> checks(String routeId, ServerHttpRequest request);
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, Dimension dimension, long waitMillis) {
+        Counter.builder("gateway.rate.limit.rejected")
+                .tag("route", routeId)
+                .tag("dimension", dimension.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        logger.debug("Rate limited {} on route {} by {} quota", exchange.getRequest().getPath(), routeId, dimension);
+
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, (waitMillis + 999) / 1000)));
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.gateway.filter;
+
+import com.bank.gateway.ratelimit.RateLimitPolicy;
+import com.bank.gateway.ratelimit.RateLimitPolicy.Dimension;
+import com.bank.gateway.ratelimit.RateLimitQuota;
+import com.bank.gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Charges the user and whole-route buckets once {@link JwtAuthenticationFilter} has set the
+ * verified user id.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class UserRateLimitFilter extends RateLimitFilter {
+
+    public UserRateLimitFilter(RateLimitPolicy policy, TokenBucketStore bucketStore, MeterRegistry meterRegistry) {
+        super(policy, bucketStore, meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // After the JWT filter has set the verified user id
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    @Override
+    protected List<Check> checks(String routeId, ServerHttpRequest request) {
+        List<Check> checks = new ArrayList<>(2);
+        RateLimitQuota userQuota = policy.quota(routeId, Dimension.USER);
+        String userId = request.getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+        if (userQuota != null && userId != null) {
+            checks.add(new Check(routeId + ":user:" + userId, userQuota, Dimension.USER));
+        }
+        RateLimitQuota routeQuota = policy.quota(routeId, Dimension.ROUTE);
+        if (routeQuota != null) {
+            checks.add(new Check(routeId + ":route", routeQuota, Dimension.ROUTE));
+        }
+        return checks;
+    }
+}
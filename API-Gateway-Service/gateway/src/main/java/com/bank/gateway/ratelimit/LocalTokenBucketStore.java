@@ -0,0 +1,91 @@
+package com.bank.gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token buckets in this gateway instance's memory. A check is a map lookup and a short lock on
+ * one bucket, with no I/O. Buckets that have refilled completely hold no state worth keeping
+ * and are swept periodically, so memory follows the clients active within one refill period.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Disposable sweeper;
+
+    public LocalTokenBucketStore(
+            @Value("${bank.rate-limit.memory.sweep-interval-seconds:60}") long sweepIntervalSeconds) {
+        Duration interval = Duration.ofSeconds(sweepIntervalSeconds);
+        this.sweeper = Flux.interval(interval, interval)
+                .subscribe(tick -> sweep(System.nanoTime()));
+    }
+
+    @Override
+    public Mono<Long> tryConsume(String key, RateLimitQuota quota) {
+        return Mono.just(consume(key, quota, System.nanoTime()));
+    }
+
+    long consume(String key, RateLimitQuota quota, long nowNanos) {
+        return buckets.computeIfAbsent(key, k -> new Bucket(quota, nowNanos)).consume(nowNanos);
+    }
+
+    void sweep(long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.dispose();
+    }
+
+    private static final class Bucket {
+        private final long capacity;
+        private final double nanosPerToken;
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(RateLimitQuota quota, long nowNanos) {
+            this.capacity = quota.capacity();
+            this.nanosPerToken = quota.millisPerToken() * 1_000_000;
+            this.tokens = capacity;
+            this.refilledAt = nowNanos;
+        }
+
+        private synchronized long consume(long nowNanos) {
+            refill(nowNanos);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken / 1_000_000);
+        }
+
+        private synchronized boolean isFull(long nowNanos) {
+            refill(nowNanos);
+            return tokens >= capacity;
+        }
+
+        private void refill(long nowNanos) {
+            long elapsed = nowNanos - refilledAt;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed / nanosPerToken);
+                refilledAt = nowNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-route quotas from bank.rate-limit.quotas, given as {@code <route-id>.<ip|user|route>=<requests>/<seconds>}
+ * pairs. {@code ip} and {@code user} limit each client address and each authenticated user on
+ * the route; {@code route} caps the route as a whole and is meant as overload protection only,
+ * never for credential routes, where attackers spread over many addresses would drain it for
+ * everyone. The {@code *} route covers every route without its own entry for that dimension; a
+ * dimension with no quota is not limited.
+ */
+@Component
+public class RateLimitPolicy {
+
+    private static final String DEFAULT_ROUTE = "*";
+
+    public enum Dimension {
+        IP, USER, ROUTE
+    }
+
+    private final Map<String, Map<Dimension, RateLimitQuota>> quotas;
+
+    public RateLimitPolicy(@Value("${bank.rate-limit.quotas:}") String quotas) {
+        this.quotas = parse(quotas);
+    }
+
+    /** The quota for one dimension of a route, or null if it is not limited. */
+    public RateLimitQuota quota(String routeId, Dimension dimension) {
+        Map<Dimension, RateLimitQuota> route = quotas.get(routeId);
+        if (route != null && route.containsKey(dimension)) {
+            return route.get(dimension);
+        }
+        Map<Dimension, RateLimitQuota> defaults = quotas.get(DEFAULT_ROUTE);
+        return defaults != null ? defaults.get(dimension) : null;
+    }
+
+    // "authentication-login.ip=10/60, *.user=300/60" -> {authentication-login: {IP: 10/60s}, *: {USER: 300/60s}}
+    private static Map<String, Map<Dimension, RateLimitQuota>> parse(String spec) {
+        Map<String, Map<Dimension, RateLimitQuota>> quotas = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            int dot = parts[0].lastIndexOf('.');
+            if (parts.length != 2 || dot <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit quota: " + entry.trim());
+            }
+            String routeId = parts[0].substring(0, dot).trim();
+            Dimension dimension = Dimension.valueOf(parts[0].substring(dot + 1).trim().toUpperCase());
+            quotas.computeIfAbsent(routeId, id -> new EnumMap<>(Dimension.class))
+                    .put(dimension, RateLimitQuota.parse(parts[1]));
+        }
+        return quotas;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.gateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A token bucket holding up to {@code capacity} requests and refilled at {@code capacity} per
+ * {@code period}, so bursts up to the capacity pass and the sustained rate is capped.
+ */
+public record RateLimitQuota(long capacity, Duration period) {
+
+    public RateLimitQuota {
+        if (capacity <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit quota needs a positive capacity and period");
+        }
+    }
+
+    public double millisPerToken() {
+        return (double) period.toMillis() / capacity;
+    }
+
+    // "20/60" -> 20 requests per 60 seconds
+    public static RateLimitQuota parse(String spec) {
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid rate limit quota: " + spec.trim());
+        }
+        return new RateLimitQuota(Long.parseLong(parts[0].trim()), Duration.ofSeconds(Long.parseLong(parts[1].trim())));
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets shared by all gateway instances. Each check is one Lua script call that refills
+ * and takes from the bucket atomically, timed by the Redis clock so instance clocks do not
+ * matter. If Redis is slow or unreachable the check falls back to per-instance buckets rather
+ * than failing requests, and keeps using them without waiting on Redis until a probe succeeds:
+ * one request per bank.rate-limit.redis.probe-interval-seconds tries Redis again.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.rate-limit.store", havingValue = "redis")
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketStore.class);
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    // KEYS[1] bucket hash; ARGV[1] capacity, ARGV[2] milliseconds per token. Returns the wait in ms.
+    private static final RedisScript<Long> CONSUME = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local ms_per_token = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) / ms_per_token)
+            local wait = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+            else
+              wait = math.ceil((1 - tokens) * ms_per_token)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * ms_per_token) + 1000)
+            return wait
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final LocalTokenBucketStore fallback;
+    private final Duration timeout;
+    private final long probeIntervalNanos;
+    // System.nanoTime() from which the next request may try Redis; 0 while Redis is healthy
+    private final AtomicLong probeAt = new AtomicLong();
+
+    public RedisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate,
+            @Value("${bank.rate-limit.redis.timeout-ms:50}") long timeoutMs,
+            @Value("${bank.rate-limit.redis.probe-interval-seconds:5}") long probeIntervalSeconds,
+            @Value("${bank.rate-limit.memory.sweep-interval-seconds:60}") long sweepIntervalSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.probeIntervalNanos = TimeUnit.SECONDS.toNanos(probeIntervalSeconds);
+        this.fallback = new LocalTokenBucketStore(sweepIntervalSeconds);
+    }
+
+    @Override
+    public Mono<Long> tryConsume(String key, RateLimitQuota quota) {
+        long nextProbe = probeAt.get();
+        if (nextProbe != 0) {
+            long now = System.nanoTime();
+            // Only the request that claims the probe waits on Redis; the rest stay local
+            if (now - nextProbe < 0 || !probeAt.compareAndSet(nextProbe, now + probeIntervalNanos)) {
+                return fallback.tryConsume(key, quota);
+            }
+        }
+        return redisTemplate.execute(CONSUME, List.of(KEY_PREFIX + key),
+                        List.of(Long.toString(quota.capacity()), Double.toString(quota.millisPerToken())))
+                .next()
+                .timeout(timeout)
+                .doOnNext(wait -> {
+                    if (probeAt.getAndSet(0) != 0) {
+                        logger.info("Redis rate limit buckets reachable again");
+                    }
+                })
+                .onErrorResume(e -> {
+                    // Logged once per outage, not once per request
+                    if (probeAt.getAndSet(System.nanoTime() + probeIntervalNanos) == 0) {
+                        logger.warn("Redis rate limit buckets unavailable, limiting per instance: {}", e.getMessage());
+                    }
+                    return fallback.tryConsume(key, quota);
+                })
+                .defaultIfEmpty(0L);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fallback.shutdown();
+    }
+}
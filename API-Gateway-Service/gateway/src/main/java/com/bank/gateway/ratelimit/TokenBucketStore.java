@@ -0,0 +1,16 @@
+package com.bank.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Where rate limit buckets live. Selected with bank.rate-limit.store: {@code memory} keeps them
+ * per gateway instance, {@code redis} shares them between instances.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Takes one token from the bucket under {@code key}, creating it full if needed. Emits 0 when
+     * the request may pass, otherwise the milliseconds until a token is available.
+     */
+    Mono<Long> tryConsume(String key, RateLimitQuota quota);
+}
@@ -0,0 +1,194 @@
+package com.bank.gateway.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revocation check for verified tokens without a call to the authentication service per
+ * request. A copy of its revoked-token Bloom filter is fetched periodically and kept current
+ * from token-revoked events; a negative answer is final, and only probable hits are confirmed
+ * with {@code GET /api/auth/revoked/{tokenId}}.
+ *
+ * <p>Revoke-all epochs per user are mirrored the same way. Until the first filter copy
+ * arrives every token check is confirmed remotely. An epoch cannot be "probably" absent, so
+ * while the epoch copy is missing or older than two refresh intervals each user is looked up
+ * with {@code GET /internal/auth/revocations/users/{userId}}; if that fails the check errors
+ * and the token is not accepted.
+ */
+@Component
+public class RevocationChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationChecker.class);
+
+    private static final long EPOCH_RETENTION_GRACE_MILLIS = 60_000;
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+
+    private final WebClient webClient;
+    private final String authServiceUri;
+    private final String internalApiKey;
+    private final Disposable refresher;
+
+    private final ConcurrentMap<Long, Long> userEpochs = new ConcurrentHashMap<>();
+    // When the epochs were last refreshed; 0 before the first refresh
+    private volatile long epochsLoadedAt;
+    private final long epochMaxAgeMillis;
+
+    private volatile CountingBloomFilter filter;
+    // Ids seen while a fetch is in flight, replayed onto the new copy in case it predates them
+    private volatile Queue<String> pending;
+
+    public RevocationChecker(WebClient loadBalancedWebClient,
+            @Value("${bank.revocation.auth-service-uri:http://authentication}") String authServiceUri,
+            @Value("${bank.internal.api-key:}") String internalApiKey,
+            @Value("${bank.revocation.filter.refresh-interval-seconds:300}") long refreshIntervalSeconds) {
+        this.webClient = loadBalancedWebClient;
+        this.authServiceUri = authServiceUri;
+        this.internalApiKey = internalApiKey;
+        this.epochMaxAgeMillis = Duration.ofSeconds(refreshIntervalSeconds * 2).toMillis();
+        this.refresher = Flux.interval(Duration.ZERO, Duration.ofSeconds(refreshIntervalSeconds))
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    /**
+     * Emits true if the token was revoked, on its own or by a revoke-all of its user; errors
+     * if a probable hit cannot be confirmed.
+     */
+    public Mono<Boolean> isRevoked(Jwt jwt) {
+        Object userId = jwt.getClaims().get("user_id");
+        Mono<Boolean> userRevoked = userId instanceof Number number
+                ? isUserRevoked(number.longValue(), jwt.getIssuedAt())
+                : Mono.just(false);
+        return userRevoked.flatMap(revoked -> revoked || jwt.getId() == null
+                ? Mono.just(revoked)
+                : isRevoked(jwt.getId()));
+    }
+
+    private Mono<Boolean> isRevoked(String tokenId) {
+        CountingBloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return Mono.just(false);
+        }
+        return webClient.get()
+                .uri(authServiceUri + "/api/auth/revoked/{tokenId}", tokenId)
+                .retrieve()
+                .bodyToMono(Boolean.class)
+                .defaultIfEmpty(false);
+    }
+
+    public void add(String tokenId) {
+        Queue<String> inFlight = pending;
+        if (inFlight != null) {
+            inFlight.add(tokenId);
+        }
+        CountingBloomFilter current = filter;
+        if (current != null) {
+            current.add(tokenId);
+        }
+    }
+
+    public void revokeUser(long userId, long revokedBeforeMillis) {
+        userEpochs.merge(userId, revokedBeforeMillis, Math::max);
+    }
+
+    private Mono<Boolean> isUserRevoked(long userId, Instant issuedAt) {
+        if (epochsCurrent()) {
+            return Mono.just(isRevokedBy(userEpochs.get(userId), issuedAt));
+        }
+        return webClient.get()
+                .uri(authServiceUri + "/internal/auth/revocations/users/{userId}", userId)
+                .header(INTERNAL_API_KEY_HEADER, internalApiKey)
+                .retrieve()
+                .bodyToMono(Long.class)
+                .map(revokedBefore -> isRevokedBy(revokedBefore, issuedAt))
+                .defaultIfEmpty(false);
+    }
+
+    // Issue times are whole seconds; see RevokedTokenIndex in the authentication service
+    private static boolean isRevokedBy(Long revokedBefore, Instant issuedAt) {
+        return revokedBefore != null && (issuedAt == null || issuedAt.toEpochMilli() < revokedBefore);
+    }
+
+    private boolean epochsCurrent() {
+        long loadedAt = epochsLoadedAt;
+        return loadedAt > 0 && System.currentTimeMillis() - loadedAt <= epochMaxAgeMillis;
+    }
+
+    private Mono<Void> refresh() {
+        return refreshFilter().then(refreshUserEpochs());
+    }
+
+    private Mono<Void> refreshUserEpochs() {
+        long requestedAt = System.currentTimeMillis();
+        return webClient.get()
+                .uri(authServiceUri + "/internal/auth/revocations/users")
+                .header(INTERNAL_API_KEY_HEADER, internalApiKey)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<Long, Long>>() {})
+                .doOnNext(epochs -> {
+                    epochs.forEach(this::revokeUser);
+                    // Entries the service no longer reports have expired there. Recent ones are
+                    // kept: they may have arrived live ahead of the instance that answered.
+                    userEpochs.entrySet().removeIf(entry -> !epochs.containsKey(entry.getKey())
+                            && entry.getValue() < requestedAt - EPOCH_RETENTION_GRACE_MILLIS);
+                    epochsLoadedAt = requestedAt;
+                })
+                .doOnError(e -> logger.warn("Could not refresh revoked users: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private Mono<Void> refreshFilter() {
+        Queue<String> seen = new ConcurrentLinkedQueue<>();
+        pending = seen;
+        return webClient.get()
+                .uri(authServiceUri + "/internal/auth/revocations/filter")
+                .header(INTERNAL_API_KEY_HEADER, internalApiKey)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .map(bytes -> {
+                    try {
+                        return CountingBloomFilter.fromBytes(bytes);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .doOnNext(next -> {
+                    filter = next;
+                    pending = null;
+                    seen.forEach(next::add);
+                    logger.debug("Loaded revocation filter with {} counters", next.counterCount());
+                })
+                .doOnError(e -> logger.warn("Could not refresh revocation filter: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> {
+                    if (pending == seen) {
+                        pending = null;
+                    }
+                })
+                .then();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.dispose();
+    }
+}
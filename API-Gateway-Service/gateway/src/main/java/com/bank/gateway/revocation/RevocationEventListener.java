@@ -0,0 +1,46 @@
+package com.bank.gateway.revocation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies token and revoke-all revocations made on any authentication instance to the local
+ * copies as they happen.
+ * Each gateway instance consumes in its own group so every instance sees every event.
+ */
+@Component
+public class RevocationEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationEventListener.class);
+
+    private final RevocationChecker revocationChecker;
+    private final ObjectMapper objectMapper;
+
+    public RevocationEventListener(RevocationChecker revocationChecker, ObjectMapper objectMapper) {
+        this.revocationChecker = revocationChecker;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = { "token-revoked", "user-tokens-revoked" }, groupId = "gateway-revocation-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onRevocation(ConsumerRecord<String, String> record) {
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            if ("token-revoked".equals(record.topic())) {
+                String tokenId = event.path("tokenId").asText(null);
+                if (tokenId != null) {
+                    revocationChecker.add(tokenId);
+                }
+            } else if (event.hasNonNull("userId") && event.hasNonNull("revokedBeforeMillis")) {
+                revocationChecker.revokeUser(event.get("userId").asLong(), event.get("revokedBeforeMillis").asLong());
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable revocation event on {}: {}", record.topic(), e.getMessage());
+        }
+    }
+}
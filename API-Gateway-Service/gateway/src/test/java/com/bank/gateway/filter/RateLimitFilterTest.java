@@ -0,0 +1,78 @@
+package com.bank.gateway.filter;
+
+import com.bank.gateway.ratelimit.LocalTokenBucketStore;
+import com.bank.gateway.ratelimit.RateLimitPolicy;
+import com.bank.gateway.revocation.RevocationChecker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+
+    private final LocalTokenBucketStore bucketStore = new LocalTokenBucketStore(3600);
+    private final RateLimitPolicy policy = new RateLimitPolicy("authentication-login.ip=1/60");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        bucketStore.shutdown();
+    }
+
+    @Test
+    void clientBucketIsChargedBeforeAnyTokenIsDecoded() {
+        ClientRateLimitFilter filter = new ClientRateLimitFilter(policy, bucketStore, meterRegistry, false);
+        AtomicInteger passed = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> {
+            passed.incrementAndGet();
+            return Mono.empty();
+        };
+
+        MockServerWebExchange first = badTokenRequest();
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = badTokenRequest();
+        filter.filter(second, chain).block();
+
+        assertEquals(1, passed.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals("60", second.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void clientLimitRunsBeforeTheJwtFilterAndUserLimitAfterIt() {
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(mock(ReactiveJwtDecoder.class),
+                mock(RevocationChecker.class));
+        ClientRateLimitFilter clientFilter = new ClientRateLimitFilter(policy, bucketStore, meterRegistry, false);
+        UserRateLimitFilter userFilter = new UserRateLimitFilter(policy, bucketStore, meterRegistry);
+
+        assertTrue(clientFilter.getOrder() < jwtFilter.getOrder());
+        assertTrue(jwtFilter.getOrder() < userFilter.getOrder());
+    }
+
+    private static MockServerWebExchange badTokenRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer forged"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("authentication-login")
+                .uri("lb://authentication-service")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
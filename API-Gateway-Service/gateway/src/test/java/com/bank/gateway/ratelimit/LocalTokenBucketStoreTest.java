@@ -0,0 +1,65 @@
+package com.bank.gateway.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalTokenBucketStoreTest {
+
+    private static final RateLimitQuota TWO_PER_MINUTE = new RateLimitQuota(2, Duration.ofSeconds(60));
+    private static final long START = 1_000_000_000L;
+
+    private final LocalTokenBucketStore store = new LocalTokenBucketStore(3600);
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void burstUpToCapacityThenWaitForTheNextToken() {
+        assertEquals(0, store.consume("k", TWO_PER_MINUTE, START));
+        assertEquals(0, store.consume("k", TWO_PER_MINUTE, START));
+
+        assertEquals(30_000, store.consume("k", TWO_PER_MINUTE, START));
+        assertEquals(15_000, store.consume("k", TWO_PER_MINUTE, START + seconds(15)));
+    }
+
+    @Test
+    void refillsAtTheQuotaRate() {
+        store.consume("k", TWO_PER_MINUTE, START);
+        store.consume("k", TWO_PER_MINUTE, START);
+
+        assertEquals(0, store.consume("k", TWO_PER_MINUTE, START + seconds(30)));
+        assertEquals(30_000, store.consume("k", TWO_PER_MINUTE, START + seconds(30)));
+    }
+
+    @Test
+    void bucketsAreIndependentPerKey() {
+        store.consume("a", TWO_PER_MINUTE, START);
+        store.consume("a", TWO_PER_MINUTE, START);
+
+        assertEquals(0, store.consume("b", TWO_PER_MINUTE, START));
+    }
+
+    @Test
+    void sweepDropsOnlyBucketsThatHaveRefilled() {
+        store.consume("idle", TWO_PER_MINUTE, START);
+        store.consume("busy", TWO_PER_MINUTE, START + seconds(50));
+
+        store.sweep(START + seconds(61));
+
+        assertEquals(1, store.size());
+        // The swept bucket comes back full
+        assertEquals(0, store.consume("idle", TWO_PER_MINUTE, START + seconds(61)));
+        assertEquals(0, store.consume("idle", TWO_PER_MINUTE, START + seconds(61)));
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
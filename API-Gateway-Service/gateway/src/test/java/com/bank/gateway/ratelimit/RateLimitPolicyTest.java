@@ -0,0 +1,51 @@
+package com.bank.gateway.ratelimit;
+
+import com.bank.gateway.ratelimit.RateLimitPolicy.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimitPolicyTest {
+
+    @Test
+    void routeEntriesOverrideTheDefaultPerDimension() {
+        RateLimitPolicy policy = new RateLimitPolicy(
+                "authentication-login.ip=10/60, *.ip=600/60, *.user=300/60, transaction-service.route=1000/1");
+
+        assertEquals(new RateLimitQuota(10, Duration.ofSeconds(60)), policy.quota("authentication-login", Dimension.IP));
+        assertEquals(new RateLimitQuota(300, Duration.ofSeconds(60)), policy.quota("authentication-login", Dimension.USER));
+        assertEquals(new RateLimitQuota(600, Duration.ofSeconds(60)), policy.quota("accounts-service", Dimension.IP));
+        assertEquals(new RateLimitQuota(1000, Duration.ofSeconds(1)), policy.quota("transaction-service", Dimension.ROUTE));
+    }
+
+    @Test
+    void dimensionsWithoutAQuotaAreNotLimited() {
+        RateLimitPolicy policy = new RateLimitPolicy("authentication-login.ip=10/60");
+
+        assertNull(policy.quota("authentication-login", Dimension.ROUTE));
+        assertNull(policy.quota("accounts-service", Dimension.IP));
+        assertNull(new RateLimitPolicy("").quota("accounts-service", Dimension.IP));
+    }
+
+    @Test
+    void malformedQuotasFailAtStartup() {
+        List<String> specs = List.of(
+                "authentication-login=10/60",
+                ".ip=10/60",
+                "authentication-login.ip=10",
+                "authentication-login.ip=ten/60",
+                "authentication-login.ip=0/60",
+                "authentication-login.ip=10/0",
+                "authentication-login.host=10/60",
+                "authentication-login.ip=10/60=20/60");
+
+        for (String spec : specs) {
+            assertThrows(IllegalArgumentException.class, () -> new RateLimitPolicy(spec), spec);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.accounts.session;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * The Kafka counterpart of {@link CorrelationIdFilter}: binds the correlation id and request
+ * start carried on a record's headers to the listener thread while the record is handled, so
+ * its logs, Feign calls and published events stay on the originating request's trace. Spring
+ * Boot applies it to every listener container it configures.
+ */
+@Component
+public class CorrelationRecordInterceptor implements RecordInterceptor<Object, Object> {
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record,
+            Consumer<Object, Object> consumer) {
+        String correlationId = header(record, CorrelationContext.CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+        CorrelationContext.set(correlationId, parseStart(header(record, CorrelationContext.REQUEST_START_HEADER)));
+        return record;
+    }
+
+    // Runs after success and failure alike; the listener thread handles every record of its partitions
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        CorrelationContext.clear();
+    }
+
+    private static String header(ConsumerRecord<Object, Object> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static Long parseStart(String value) {
+        if (value != null) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // Fall through and start the clock here
+            }
+        }
+        return System.currentTimeMillis();
+    }
+}
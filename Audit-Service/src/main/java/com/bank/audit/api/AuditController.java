@@ -1,12 +1,24 @@
 package com.bank.audit.api;
 
-import com.bank.audit.model.AuditEvent;
+import com.bank.audit.dto.AuditLogPage;
+import com.bank.audit.dto.AuditQueryFilter;
+import com.bank.audit.dto.AuditTrace;
+import com.bank.audit.service.AuditIntegrityService;
 import com.bank.audit.service.AuditService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +38,19 @@ public class AuditController {
         this.auditService = auditService;
     }
 
+    private AuditIntegrityService auditIntegrityService;
+
+    @Autowired
+    public void setAuditIntegrityService(AuditIntegrityService auditIntegrityService) {
+        this.auditIntegrityService = auditIntegrityService;
+    }
+
+    @Value("${bank.audit.sample-data.enabled:false}")
+    private boolean sampleDataEnabled;
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private static final List<String> ADMIN_PERMISSIONS = Arrays.asList("ADMIN_ALL", "ADMIN", "ROLE_ADMIN");
     private static final List<String> AUDITOR_PERMISSIONS = Arrays.asList("AUDIT_READ", "ADMIN_ALL", "ADMIN",
             "ROLE_ADMIN");
@@ -38,32 +63,118 @@ public class AuditController {
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
             @RequestParam(required = false) String action,
-            @RequestParam(required = false) String userIdFilter) {
+            @RequestParam(required = false) String userIdFilter,
+            @RequestParam(value = "userId", required = false) String userIdParam,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String correlationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AuditService.DEFAULT_PAGE_SIZE) int size) {
 
-        // Validate required headers
-        if (userId == null || requestId == null) {
-            return ResponseEntity.badRequest().body("Missing required headers: X-User-Id, X-Request-Id");
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
         }
-        if (permissions == null) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Missing permissions");
+
+        AuditQueryFilter filter;
+        try {
+            filter = buildFilter(startDate, endDate, action, userIdFilter != null ? userIdFilter : userIdParam,
+                    eventType, correlationId);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid filter: " + e.getMessage());
         }
 
-        // Check permissions
-        if (!hasRequiredPermission(permissions, ADMIN_PERMISSIONS)
-                && !hasRequiredPermission(permissions, AUDITOR_PERMISSIONS)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Insufficient permissions");
+        try {
+            AuditLogPage page = auditService.queryLogs(filter, cursor, size);
+            // Body stays a plain array; the keyset cursor for the next page travels in a header
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions,
+            @RequestHeader(value = "X-Request-Id", required = false) String requestId,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String userIdFilter,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String correlationId) {
+
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return asStreamingBody(rejection);
         }
 
+        AuditQueryFilter filter;
         try {
-            List<AuditEvent> logs = auditService.getAllLogs();
-            return ResponseEntity.ok(logs);
+            filter = buildFilter(startDate, endDate, action, userIdFilter, eventType, correlationId);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return asStreamingBody(ResponseEntity.badRequest().body("Invalid filter: " + e.getMessage()));
+        }
+
+        StreamingResponseBody body = out -> auditService.exportLogs(filter, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-export.ndjson\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchLogs(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions,
+            @RequestHeader(value = "X-Request-Id", required = false) String requestId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String field,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AuditService.DEFAULT_PAGE_SIZE) int size) {
+
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        try {
+            AuditLogPage page = auditService.searchLogs(blankToNull(q), blankToNull(field), minAmount, maxAmount,
+                    cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
         }
     }
 
+    /**
+     * Writes made-up events into the real, hash-chained audit trail, so it only exists where
+     * bank.audit.sample-data.enabled is set (local development) and only for admins.
+     */
     @GetMapping("/test-data")
-    public ResponseEntity<?> createTestData() {
+    public ResponseEntity<?> createTestData(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions) {
+        if (!sampleDataEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        if (userId == null || permissions == null || !hasRequiredPermission(permissions, ADMIN_PERMISSIONS)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Insufficient permissions");
+        }
         try {
             // Create some sample audit events for testing
             auditService.createSampleAuditData();
@@ -79,6 +190,117 @@ public class AuditController {
             @RequestHeader(value = "X-Permissions", required = false) String permissions,
             @RequestHeader(value = "X-Request-Id", required = false) String requestId) {
 
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        try {
+            Map<String, Object> metrics = auditService.getSystemMetrics();
+            return ResponseEntity.ok(metrics);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    @GetMapping("/trace/{correlationId}")
+    public ResponseEntity<?> traceRequest(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions,
+            @RequestHeader(value = "X-Request-Id", required = false) String requestId,
+            @PathVariable String correlationId) {
+
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        try {
+            AuditTrace trace = auditService.traceLogs(correlationId);
+            if (trace == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("No audit events for correlation id " + correlationId);
+            }
+            return ResponseEntity.ok(trace);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    @GetMapping("/rollups")
+    public ResponseEntity<?> getDailyRollups(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions,
+            @RequestHeader(value = "X-Request-Id", required = false) String requestId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        LocalDate to;
+        LocalDate from;
+        try {
+            to = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
+            from = startDate != null ? LocalDate.parse(startDate) : to.minusDays(30);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid filter: " + e.getMessage());
+        }
+
+        try {
+            return ResponseEntity.ok(auditService.getDailyRollups(blankToNull(eventType), from, to));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    @GetMapping("/integrity/verify")
+    public ResponseEntity<?> verifyIntegrity(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions,
+            @RequestHeader(value = "X-Request-Id", required = false) String requestId,
+            @RequestParam(required = false) Long fromSeq,
+            @RequestParam(required = false) Long toSeq) {
+
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        try {
+            return ResponseEntity.ok(auditIntegrityService.verify(fromSeq, toSeq));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    @GetMapping("/integrity/proof/{eventId}")
+    public ResponseEntity<?> proveInclusion(
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Permissions", required = false) String permissions,
+            @RequestHeader(value = "X-Request-Id", required = false) String requestId,
+            @PathVariable Long eventId) {
+
+        ResponseEntity<?> rejection = checkAuditAccess(userId, permissions, requestId);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        try {
+            return ResponseEntity.ok(auditIntegrityService.proveInclusion(eventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        }
+    }
+
+    private ResponseEntity<?> checkAuditAccess(String userId, String permissions, String requestId) {
         // Validate required headers
         if (userId == null || requestId == null) {
             return ResponseEntity.badRequest().body("Missing required headers: X-User-Id, X-Request-Id");
@@ -92,13 +314,42 @@ public class AuditController {
                 && !hasRequiredPermission(permissions, AUDITOR_PERMISSIONS)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Insufficient permissions");
         }
+        return null;
+    }
 
-        try {
-            Map<String, Object> metrics = auditService.getSystemMetrics();
-            return ResponseEntity.ok(metrics);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+    // Error responses for the streaming endpoint must share its declared body type
+    private ResponseEntity<StreamingResponseBody> asStreamingBody(ResponseEntity<?> response) {
+        byte[] message = String.valueOf(response.getBody()).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(response.getStatusCode())
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message));
+    }
+
+    private AuditQueryFilter buildFilter(String startDate, String endDate, String action, String userIdFilter,
+            String eventType, String correlationId) {
+        return new AuditQueryFilter(
+                parseDate(startDate, false),
+                parseDate(endDate, true),
+                blankToNull(action),
+                userIdFilter != null && !userIdFilter.isBlank() ? Long.valueOf(userIdFilter.trim()) : null,
+                blankToNull(eventType),
+                blankToNull(correlationId));
+    }
+
+    // Accepts 2024-01-31 or 2024-01-31T10:15:30; a bare end date includes that whole day
+    private LocalDateTime parseDate(String value, boolean endOfRange) {
+        if (value == null || value.isBlank()) {
+            return null;
         }
+        if (value.length() == 10) {
+            LocalDate date = LocalDate.parse(value);
+            return endOfRange ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+        }
+        return LocalDateTime.parse(value);
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
 
     private boolean hasRequiredPermission(String userPermissions, List<String> requiredPermissions) {
@@ -0,0 +1,69 @@
+package com.bank.audit.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Listener containers for audit ingest. Every event becomes an independent audit row, so
+ * ordering across partitions does not matter and concurrency only buys insert throughput;
+ * each thread owns its partitions, and threads beyond the partition count sit idle.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${bank.audit.ingest.concurrency:3}")
+    private int concurrency;
+
+    @Value("${bank.audit.ingest.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${bank.audit.ingest.max-batch-wait-ms:200}")
+    private int maxBatchWaitMs;
+
+    @Value("${bank.audit.ingest.min-batch-bytes:16384}")
+    private int minBatchBytes;
+
+    /** Record-at-a-time factory, used when bank.audit.ingest.mode is record. */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+
+    /**
+     * Batch factory for audit ingest. A poll returns up to max-batch-size records; the broker
+     * holds the fetch until min-batch-bytes are available or max-batch-wait-ms has passed,
+     * which bounds the latency added by batching. Offsets are committed per batch, after the
+     * listener has flushed it.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> auditBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        Map<String, Object> props = new HashMap<>(kafkaConsumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxBatchSize);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, maxBatchWaitMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, minBatchBytes);
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+}
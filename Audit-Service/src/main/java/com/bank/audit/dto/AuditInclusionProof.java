@@ -0,0 +1,13 @@
+package com.bank.audit.dto;
+
+import com.bank.audit.integrity.MerkleTree;
+
+import java.util.List;
+
+/**
+ * Proof that an event's chain hash is part of a checkpoint: folding {@code path} into
+ * {@code chainHash} with {@link MerkleTree#verify} must yield {@code merkleRoot}.
+ */
+public record AuditInclusionProof(Long eventId, long chainSeq, String chainHash, long checkpointStartSeq,
+        long checkpointEndSeq, String merkleRoot, List<MerkleTree.ProofStep> path) {
+}
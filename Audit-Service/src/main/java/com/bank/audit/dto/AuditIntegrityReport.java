@@ -0,0 +1,11 @@
+package com.bank.audit.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of verifying chain sequences [fromSeq, toSeq]. Problems are capped, so a badly
+ * damaged range still produces a readable report.
+ */
+public record AuditIntegrityReport(long fromSeq, long toSeq, long verifiedEvents, boolean valid,
+        List<String> problems) {
+}
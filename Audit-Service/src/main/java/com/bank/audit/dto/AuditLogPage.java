@@ -0,0 +1,11 @@
+package com.bank.audit.dto;
+
+import com.bank.audit.model.AuditEvent;
+
+import java.util.List;
+
+/**
+ * One keyset page of audit events; nextCursor is null on the last page.
+ */
+public record AuditLogPage(List<AuditEvent> items, String nextCursor) {
+}
@@ -0,0 +1,16 @@
+package com.bank.audit.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for audit log queries; null fields are not applied.
+ * startTime is inclusive, endTime exclusive.
+ */
+public record AuditQueryFilter(
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String action,
+        Long userId,
+        String eventType,
+        String correlationId) {
+}
@@ -0,0 +1,10 @@
+package com.bank.audit.dto;
+
+import java.util.List;
+
+/**
+ * Every audited event sharing one correlation id, in the order they happened.
+ */
+public record AuditTrace(String correlationId, Long requestStartedAt, long totalDurationMs,
+        List<AuditTraceHop> hops) {
+}
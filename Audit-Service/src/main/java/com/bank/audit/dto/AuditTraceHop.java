@@ -0,0 +1,10 @@
+package com.bank.audit.dto;
+
+/**
+ * One audited step of a traced request. Times are epoch millis; {@code sinceStartMs} is null
+ * when the request start was not propagated, and {@code ingestLagMs} is how long the event
+ * took to reach the audit store after it was published.
+ */
+public record AuditTraceHop(Long eventId, String serviceName, String action, String eventType, String status,
+        long occurredAt, Long sinceStartMs, Long sincePreviousMs, Long ingestLagMs) {
+}
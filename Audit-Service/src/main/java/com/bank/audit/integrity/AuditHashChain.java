@@ -0,0 +1,61 @@
+package com.bank.audit.integrity;
+
+import com.bank.audit.model.AuditEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends events to the hash chain. The head row is locked for the caller's transaction, so
+ * sequence numbers are handed out gap-free across listener threads and service instances:
+ * a batch that fails to insert rolls the head back with it.
+ */
+@Component
+public class AuditHashChain {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditHashChain(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Assigns chainSeq and chainHash to each event; one head lock and update per batch. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void link(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<String, Object> head = lockHead();
+        long seq = ((Number) head.get("seq")).longValue();
+        String hash = (String) head.get("hash");
+
+        MessageDigest digest = AuditHashing.sha256();
+        for (AuditEvent event : events) {
+            // DATETIME(6) keeps microseconds; hash what will be read back
+            if (event.getTimestamp() != null) {
+                event.setTimestamp(event.getTimestamp().truncatedTo(ChronoUnit.MICROS));
+            }
+            event.setChainSeq(++seq);
+            hash = AuditHashing.chainHash(digest, hash, event);
+            event.setChainHash(hash);
+        }
+        jdbcTemplate.update("UPDATE audit_chain_head SET seq = ?, hash = ? WHERE id = 1", seq, hash);
+    }
+
+    private Map<String, Object> lockHead() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT seq, hash FROM audit_chain_head WHERE id = 1 FOR UPDATE");
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        jdbcTemplate.update("INSERT IGNORE INTO audit_chain_head (id, seq, hash) VALUES (1, 0, ?)",
+                AuditHashing.GENESIS_HASH);
+        return jdbcTemplate.queryForMap("SELECT seq, hash FROM audit_chain_head WHERE id = 1 FOR UPDATE");
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.audit.integrity;
+
+import com.bank.audit.model.AuditEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hash-chain primitives. Each event's hash is SHA-256 over its predecessor's hash and every
+ * stored field, each length-prefixed so field boundaries cannot be shifted.
+ */
+public final class AuditHashing {
+
+    public static final String GENESIS_HASH = "0".repeat(64);
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte TRACE_FIELDS_TAG = 1;
+
+    private AuditHashing() {
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Callers hashing a batch pass one digest through to avoid a lookup per event. */
+    public static String chainHash(MessageDigest digest, String previousHash, AuditEvent event) {
+        digest.reset();
+        digest.update(HEX.parseHex(previousHash));
+        update(digest, event.getChainSeq());
+        update(digest, event.getAuditId());
+        update(digest, event.getUserId());
+        update(digest, event.getCustomerId());
+        update(digest, event.getAction());
+        update(digest, event.getIpAddress());
+        update(digest, event.getUserAgent());
+        update(digest, event.getTimestamp() != null ? event.getTimestamp().toString() : null);
+        update(digest, event.getStatus());
+        update(digest, event.getEventType());
+        update(digest, event.getServiceName());
+        update(digest, event.getPayload());
+        update(digest, event.getCorrelationId());
+        // Trace timings were added later; hashing them only when present keeps older links valid
+        if (event.getEventTime() != null || event.getRequestStartedAt() != null) {
+            digest.update(TRACE_FIELDS_TAG);
+            update(digest, event.getEventTime());
+            update(digest, event.getRequestStartedAt());
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Long value) {
+        update(digest, value != null ? value.toString() : null);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(4).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.audit.integrity;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Merkle tree over hex-encoded leaf hashes. Leaves and inner nodes are hashed with distinct
+ * prefixes, and an unpaired node is carried up unchanged rather than duplicated, so two
+ * different leaf lists can never produce the same root.
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0;
+    private static final byte NODE_PREFIX = 1;
+    private static final HexFormat HEX = HexFormat.of();
+
+    public record ProofStep(String siblingHash, boolean siblingOnLeft) {
+    }
+
+    private MerkleTree() {
+    }
+
+    public static String root(List<String> leafHashes) {
+        if (leafHashes.isEmpty()) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+        MessageDigest digest = AuditHashing.sha256();
+        List<byte[]> level = leaves(leafHashes, digest);
+        while (level.size() > 1) {
+            level = parentLevel(level, digest);
+        }
+        return HEX.formatHex(level.get(0));
+    }
+
+    /** Sibling hashes from leaf {@code index} up to the root; length is at most log2(n) + 1. */
+    public static List<ProofStep> proof(List<String> leafHashes, int index) {
+        if (index < 0 || index >= leafHashes.size()) {
+            throw new IllegalArgumentException("Leaf index out of range: " + index);
+        }
+        MessageDigest digest = AuditHashing.sha256();
+        List<ProofStep> path = new ArrayList<>();
+        List<byte[]> level = leaves(leafHashes, digest);
+        int position = index;
+        while (level.size() > 1) {
+            int sibling = position ^ 1;
+            if (sibling < level.size()) {
+                path.add(new ProofStep(HEX.formatHex(level.get(sibling)), sibling < position));
+            }
+            level = parentLevel(level, digest);
+            position /= 2;
+        }
+        return path;
+    }
+
+    public static boolean verify(String leafHash, List<ProofStep> path, String expectedRoot) {
+        MessageDigest digest = AuditHashing.sha256();
+        byte[] current = leaf(HEX.parseHex(leafHash), digest);
+        for (ProofStep step : path) {
+            byte[] sibling = HEX.parseHex(step.siblingHash());
+            current = step.siblingOnLeft() ? node(sibling, current, digest) : node(current, sibling, digest);
+        }
+        return HEX.formatHex(current).equals(expectedRoot);
+    }
+
+    private static List<byte[]> leaves(List<String> leafHashes, MessageDigest digest) {
+        List<byte[]> level = new ArrayList<>(leafHashes.size());
+        for (String hash : leafHashes) {
+            level.add(leaf(HEX.parseHex(hash), digest));
+        }
+        return level;
+    }
+
+    private static List<byte[]> parentLevel(List<byte[]> level, MessageDigest digest) {
+        List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            parents.add(i + 1 < level.size() ? node(level.get(i), level.get(i + 1), digest) : level.get(i));
+        }
+        return parents;
+    }
+
+    private static byte[] leaf(byte[] hash, MessageDigest digest) {
+        digest.update(LEAF_PREFIX);
+        return digest.digest(hash);
+    }
+
+    private static byte[] node(byte[] left, byte[] right, MessageDigest digest) {
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        return digest.digest(right);
+    }
+}
@@ -0,0 +1,59 @@
+package com.bank.audit.listener;
+
+import com.bank.audit.metrics.AuditMetricsAggregator;
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.repository.AuditBatchWriter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Default audit ingest: each poll arrives as one list, is mapped in parallel and written with
+ * a single JDBC batch. Offsets are committed only after this method returns, so a failed
+ * flush is redelivered rather than lost.
+ */
+@Service
+@ConditionalOnProperty(name = "bank.audit.ingest.mode", havingValue = "batch", matchIfMissing = true)
+public class AuditBatchListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditBatchListener.class);
+
+    // Below this size the fork/join overhead outweighs parallel parsing
+    private static final int PARALLEL_PARSE_THRESHOLD = 64;
+
+    private final AuditEventMapper auditEventMapper;
+    private final AuditBatchWriter auditBatchWriter;
+    private final AuditMetricsAggregator metricsAggregator;
+
+    public AuditBatchListener(AuditEventMapper auditEventMapper, AuditBatchWriter auditBatchWriter,
+            AuditMetricsAggregator metricsAggregator) {
+        this.auditEventMapper = auditEventMapper;
+        this.auditBatchWriter = auditBatchWriter;
+        this.metricsAggregator = metricsAggregator;
+    }
+
+    @KafkaListener(topics = { "user-registered", "customer-created", "transaction-completed" },
+            groupId = "audit-group", containerFactory = "auditBatchListenerContainerFactory")
+    public void handleAuditEventBatch(List<ConsumerRecord<String, String>> records) {
+        Stream<ConsumerRecord<String, String>> stream = records.size() >= PARALLEL_PARSE_THRESHOLD
+                ? records.parallelStream()
+                : records.stream();
+
+        List<AuditEvent> events = stream
+                .map(auditEventMapper::toAuditEvent)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        int written = auditBatchWriter.insertAll(events);
+        events.forEach(metricsAggregator::record);
+        logger.debug("Flushed {} audit events from a batch of {} records", written, records.size());
+    }
+}
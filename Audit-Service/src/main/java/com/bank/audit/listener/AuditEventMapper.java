@@ -0,0 +1,151 @@
+package com.bank.audit.listener;
+
+import com.bank.audit.model.AuditEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Builds {@link AuditEvent}s from raw Kafka payloads. Stateless and thread-safe, so the
+ * batch listener can map records in parallel.
+ */
+@Component
+public class AuditEventMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventMapper.class);
+
+    static final String CORRELATION_ID_HEADER = "bank-correlation-id";
+    static final String REQUEST_START_HEADER = "bank-request-start";
+    static final String SOURCE_SERVICE_HEADER = "bank-source-service";
+
+    private final ObjectMapper objectMapper;
+
+    public AuditEventMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Maps a record, taking the correlation id, source service and request start from the
+     * headers set by the publishing service when they are present.
+     *
+     * @return the audit event, or null if the payload is not valid JSON
+     */
+    public AuditEvent toAuditEvent(ConsumerRecord<String, String> record) {
+        AuditEvent event = toAuditEvent(record.topic(), record.value());
+        if (event == null) {
+            return null;
+        }
+        event.setEventTime(record.timestamp() >= 0 ? record.timestamp() : null);
+
+        String correlationId = header(record, CORRELATION_ID_HEADER);
+        if (correlationId != null) {
+            event.setCorrelationId(correlationId);
+        }
+        String sourceService = header(record, SOURCE_SERVICE_HEADER);
+        if (sourceService != null) {
+            event.setServiceName(sourceService);
+        }
+        String requestStart = header(record, REQUEST_START_HEADER);
+        if (requestStart != null) {
+            try {
+                event.setRequestStartedAt(Long.parseLong(requestStart));
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring malformed {} header: {}", REQUEST_START_HEADER, requestStart);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * @return the audit event, or null if the payload is not valid JSON
+     */
+    public AuditEvent toAuditEvent(String topic, String payload) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(payload);
+        } catch (Exception e) {
+            logger.warn("Skipping unparseable audit payload from topic {}: {}", topic, e.getMessage());
+            return null;
+        }
+
+        AuditEvent event = new AuditEvent();
+        event.setEventType(topic);
+        event.setPayload(payload);
+        event.setTimestamp(LocalDateTime.now());
+        event.setServiceName("Multiple");
+
+        if (topic.contains("transaction")) {
+            // Handle transaction events
+            String status = node.path("status").asText("UNKNOWN");
+            String action = "TRANSFER";
+
+            // Determine action based on status
+            if ("COMPLETED".equals(status) || "SUCCESS".equals(status)) {
+                action = "TRANSACTION_SUCCESS";
+                event.setStatus("SUCCESS");
+            } else if ("FAILED".equals(status) || "REJECTED".equals(status)) {
+                action = "TRANSACTION_FAILED";
+                event.setStatus("FAILED");
+            } else if ("PENDING".equals(status)) {
+                action = "TRANSACTION_PENDING";
+                event.setStatus("PENDING");
+            } else {
+                event.setStatus(status);
+            }
+
+            event.setAction(action);
+
+            // Try to extract user ID from various possible fields
+            String userIdStr = null;
+            if (node.has("createdBy")) {
+                userIdStr = node.path("createdBy").asText();
+            } else if (node.has("userId")) {
+                userIdStr = node.path("userId").asText();
+            } else if (node.has("senderUserId")) {
+                userIdStr = node.path("senderUserId").asText();
+            } else if (node.has("initiatedBy")) {
+                userIdStr = node.path("initiatedBy").asText();
+            }
+
+            if (userIdStr != null && !userIdStr.isEmpty() && !userIdStr.equals("null")) {
+                try {
+                    event.setUserId(Long.parseLong(userIdStr));
+                } catch (NumberFormatException e) {
+                    event.setUserId(null);
+                }
+            }
+
+            // Extract correlation ID
+            event.setCorrelationId(node.path("correlationId").asText(null));
+
+        } else if (topic.contains("user") || topic.contains("customer")) {
+            // Handle user/customer events
+            event.setAction("ONBOARDING");
+            event.setStatus("SUCCESS");
+
+            String userIdStr = node.path("email").asText("anonymous");
+            try {
+                event.setUserId(Long.parseLong(userIdStr));
+            } catch (NumberFormatException e) {
+                event.setUserId(null);
+            }
+        }
+
+        return event;
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        if (header == null || header.value() == null || header.value().length == 0) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package com.bank.audit.metrics;
+
+import com.bank.audit.model.AuditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Running audit counters fed by the listeners, so /api/audit/metrics never scans audit_events.
+ * Distinct users and customers are HyperLogLog estimates, keeping memory constant at any volume.
+ *
+ * <p>Log, transaction and failed-login totals are monotonic: they count every event ever
+ * ingested, including rows retention has since folded into audit_daily_rollups. Distinct users
+ * and customers only cover retained rows, since rollups keep no ids.
+ *
+ * <p>Counters only see events ingested by this instance. A periodic reconcile corrects them
+ * from index-backed aggregate queries, which picks up events consumed by other instances. It
+ * adds the difference to the live counters rather than replacing them, so events recorded
+ * while its queries run are kept.
+ */
+@Component
+public class AuditMetricsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditMetricsAggregator.class);
+
+    private static final String TRANSACTION_ACTIONS = "action IN ('TRANSFER', 'TRANSACTION')";
+    private static final String FAILED_LOGIN = "action = 'USER_LOGIN' AND status = 'FAILED'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    private final LongAdder totalLogs = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder failedLogins = new LongAdder();
+    private final DistinctCounter users = new DistinctCounter();
+    private final DistinctCounter customers = new DistinctCounter();
+
+    @Autowired
+    public AuditMetricsAggregator(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, streaming(jdbcTemplate));
+    }
+
+    AuditMetricsAggregator(JdbcTemplate jdbcTemplate, JdbcTemplate streamingJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = streamingJdbcTemplate;
+    }
+
+    public void record(AuditEvent event) {
+        totalLogs.increment();
+        if (isTransaction(event.getAction())) {
+            transactions.increment();
+        }
+        if (isFailedLogin(event.getAction(), event.getStatus())) {
+            failedLogins.increment();
+        }
+        if (event.getUserId() != null) {
+            users.offer(event.getUserId());
+        }
+        if (event.getCustomerId() != null) {
+            customers.offer(event.getCustomerId());
+        }
+    }
+
+    /** Every event ever ingested, purged ones included. */
+    public long getTotalLogs() {
+        return totalLogs.sum();
+    }
+
+    /** Every transfer or transaction event ever ingested, purged ones included. */
+    public long getTotalTransactions() {
+        return transactions.sum();
+    }
+
+    /** Every failed login ever recorded, purged ones included. */
+    public long getFailedLogins() {
+        return failedLogins.sum();
+    }
+
+    /** Distinct user ids among retained events. */
+    public long getDistinctUsers() {
+        return users.cardinality();
+    }
+
+    /** Distinct customer ids among retained events. */
+    public long getDistinctCustomers() {
+        return customers.cardinality();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${bank.audit.metrics.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            reconcile(totalLogs, totalCountSql(null));
+            reconcile(transactions, totalCountSql(TRANSACTION_ACTIONS));
+            reconcile(failedLogins, totalCountSql(FAILED_LOGIN));
+            users.rebuild(hll -> streamingJdbcTemplate.query(
+                    "SELECT DISTINCT user_id FROM audit_events WHERE user_id IS NOT NULL",
+                    (RowCallbackHandler) rs -> hll.offer(rs.getLong(1))));
+            customers.rebuild(hll -> streamingJdbcTemplate.query(
+                    "SELECT DISTINCT customer_id FROM audit_events WHERE customer_id IS NOT NULL",
+                    (RowCallbackHandler) rs -> hll.offer(rs.getLong(1))));
+            logger.debug("Reconciled audit metrics: {} logs", totalLogs.sum());
+        } catch (Exception e) {
+            logger.error("Failed to reconcile audit metrics, keeping running counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Moves {@code counter} onto the database figure by adding the difference. The baseline is
+     * taken just before the query, so increments landing while it runs stay on top; an event
+     * committed but not yet recorded at that instant is counted twice until the next reconcile.
+     */
+    private void reconcile(LongAdder counter, String sql) {
+        long baseline = counter.sum();
+        Long actual = jdbcTemplate.queryForObject(sql, Long.class);
+        counter.add((actual != null ? actual : 0L) - baseline);
+    }
+
+    // Retained rows plus the rollups of purged ones, read in one statement so a concurrent
+    // purge is seen either entirely or not at all
+    private static String totalCountSql(String predicate) {
+        String where = predicate != null ? " WHERE " + predicate : "";
+        return "SELECT (SELECT COUNT(*) FROM audit_events" + where + ")"
+                + " + (SELECT COALESCE(SUM(event_count), 0) FROM audit_daily_rollups" + where + ")";
+    }
+
+    private static JdbcTemplate streaming(JdbcTemplate jdbcTemplate) {
+        // MySQL Connector/J streams rows one at a time only with this fetch size
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        return streaming;
+    }
+
+    // Same predicates the metrics endpoint has always reported
+    private static boolean isTransaction(String action) {
+        return "TRANSFER".equals(action) || "TRANSACTION".equals(action);
+    }
+
+    private static boolean isFailedLogin(String action, String status) {
+        return "FAILED".equals(status) && "USER_LOGIN".equals(action);
+    }
+
+    /**
+     * A sketch cannot forget ids, so a rebuild fills a fresh one from the database. Ids offered
+     * while it runs go into both sketches and survive the swap.
+     */
+    private static final class DistinctCounter {
+        private volatile HyperLogLog live = new HyperLogLog();
+        private volatile HyperLogLog rebuilding;
+
+        void offer(long id) {
+            HyperLogLog next = rebuilding;
+            live.offer(id);
+            if (next != null) {
+                next.offer(id);
+            }
+        }
+
+        long cardinality() {
+            return live.cardinality();
+        }
+
+        void rebuild(Consumer<HyperLogLog> loader) {
+            HyperLogLog next = new HyperLogLog();
+            rebuilding = next;
+            try {
+                loader.accept(next);
+                live = next;
+            } finally {
+                rebuilding = null;
+            }
+        }
+    }
+}
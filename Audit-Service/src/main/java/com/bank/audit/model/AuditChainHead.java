@@ -0,0 +1,26 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row table holding the latest chain sequence and hash. Mapped only so the schema is
+ * created; {@code AuditHashChain} reads and locks it with plain JDBC.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "audit_chain_head")
+public class AuditChainHead {
+    @Id
+    private Integer id;
+
+    private Long seq;
+
+    @Column(length = 64)
+    private String hash;
+}
@@ -0,0 +1,34 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Merkle root over the chain hashes of one fixed-size block of events, [startSeq, endSeq].
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "audit_checkpoints", indexes = {
+        @Index(name = "idx_checkpoint_start_seq", columnList = "start_seq", unique = true)
+})
+public class AuditCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long startSeq;
+    private Long endSeq;
+
+    @Column(length = 64)
+    private String merkleRoot;
+
+    // Chain hash of the last event in the block
+    @Column(length = 64)
+    private String endChainHash;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day event counts kept after raw rows age out. Null action or status is stored as an
+ * empty string so the unique key also covers those rows.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "audit_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_day_type_action_status",
+                columnNames = { "rollup_date", "event_type", "action", "status" })
+})
+public class AuditDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate rollupDate;
+    private String eventType;
+    private String action;
+    private String status;
+    private Long eventCount;
+}
@@ -1,5 +1,6 @@
 package com.bank.audit.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +12,16 @@ import java.time.LocalDateTime;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "audit_events")
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_audit_user_timestamp", columnList = "user_id, timestamp"),
+        @Index(name = "idx_audit_action_timestamp", columnList = "action, timestamp"),
+        @Index(name = "idx_audit_correlation_id", columnList = "correlation_id"),
+        @Index(name = "idx_audit_customer_id", columnList = "customer_id"),
+        @Index(name = "idx_audit_event_type_timestamp", columnList = "event_type, timestamp"),
+        @Index(name = "idx_audit_chain_seq", columnList = "chain_seq", unique = true),
+        @Index(name = "idx_audit_payload_ref", columnList = "payload_ref")
+})
 public class AuditEvent {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +40,21 @@ public class AuditEvent {
 
     @Column(columnDefinition = "TEXT")
     private String payload;
+
+    // Set instead of payload when bank.audit.store.mode=segment
+    @JsonIgnore
+    private Long payloadRef;
     
     private String correlationId;
+
+    // Epoch millis: when the producing service published the event, and when the gateway
+    // first saw the request behind it. Both feed the /trace timeline.
+    private Long eventTime;
+    private Long requestStartedAt;
+
+    // Position in the tamper-evident hash chain; see AuditHashChain
+    private Long chainSeq;
+
+    @Column(length = 64)
+    private String chainHash;
 }
@@ -0,0 +1,26 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row progress of the audit_search_terms backfill: every chained event up to
+ * {@code nextSeq} has been indexed, and {@code endSeq} is the last chain sequence that existed
+ * when the backfill started. Mapped only so the schema is created; {@code
+ * AuditSearchBackfillRepository} reads and advances it with plain JDBC.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "audit_search_backfill")
+public class AuditSearchBackfill {
+    @Id
+    private Integer id;
+
+    private Long nextSeq;
+
+    private Long endSeq;
+}
@@ -0,0 +1,37 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One searchable value extracted from an audit payload, keyed by the event's chain sequence.
+ * Terms are lowercased; amounts also carry their numeric value for range queries.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "audit_search_terms", indexes = {
+        @Index(name = "idx_search_term_field_seq", columnList = "term, field, chain_seq"),
+        @Index(name = "idx_search_number_seq", columnList = "number_value, chain_seq"),
+        // Retention deletes by chain_seq; amount-only search scans it newest first without table reads
+        @Index(name = "idx_search_seq_number", columnList = "chain_seq, number_value")
+})
+public class AuditSearchTerm {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long chainSeq;
+
+    @Column(length = 64)
+    private String field;
+
+    @Column(length = 191)
+    private String term;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal numberValue;
+}
@@ -0,0 +1,27 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row table naming the instance that owns the segment payload store, with its last
+ * heartbeat in epoch millis. Mapped only so the schema is created; {@code SegmentStoreLease}
+ * claims and renews it with plain JDBC.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "audit_segment_owner")
+public class AuditSegmentOwner {
+    @Id
+    private Integer id;
+
+    @Column(length = 255)
+    private String owner;
+
+    private Long heartbeatAt;
+}
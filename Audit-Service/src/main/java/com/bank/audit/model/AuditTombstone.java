@@ -0,0 +1,26 @@
+package com.bank.audit.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Chain position and hash of an event removed by retention. Keeps the hash chain and its
+ * checkpoints verifiable after the row itself has been archived and deleted.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_tombstones")
+public class AuditTombstone {
+    @Id
+    private Long chainSeq;
+
+    @Column(length = 64)
+    private String chainHash;
+}
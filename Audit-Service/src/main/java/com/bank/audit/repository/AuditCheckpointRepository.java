@@ -0,0 +1,15 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.model.AuditCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AuditCheckpointRepository extends JpaRepository<AuditCheckpoint, Long> {
+
+    Optional<AuditCheckpoint> findTopByOrderByEndSeqDesc();
+
+    Optional<AuditCheckpoint> findByStartSeq(Long startSeq);
+}
@@ -0,0 +1,17 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.model.AuditDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AuditDailyRollupRepository extends JpaRepository<AuditDailyRollup, Long> {
+
+    List<AuditDailyRollup> findByRollupDateBetweenOrderByRollupDateAsc(LocalDate from, LocalDate to);
+
+    List<AuditDailyRollup> findByEventTypeAndRollupDateBetweenOrderByRollupDateAsc(String eventType, LocalDate from,
+            LocalDate to);
+}
@@ -0,0 +1,55 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.dto.AuditCursor;
+import com.bank.audit.dto.AuditQueryFilter;
+import com.bank.audit.model.AuditEvent;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dynamic audit filters. Every predicate lines up with one of the audit_events indexes:
+ * (timestamp), (user_id, timestamp), (action, timestamp) and (correlation_id).
+ */
+public final class AuditEventSpecifications {
+
+    private AuditEventSpecifications() {}
+
+    public static Specification<AuditEvent> matching(AuditQueryFilter filter, AuditCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.userId() != null) {
+                predicates.add(cb.equal(root.get("userId"), filter.userId()));
+            }
+            if (filter.action() != null) {
+                predicates.add(cb.equal(root.get("action"), filter.action()));
+            }
+            if (filter.correlationId() != null) {
+                predicates.add(cb.equal(root.get("correlationId"), filter.correlationId()));
+            }
+            if (filter.eventType() != null) {
+                predicates.add(cb.equal(root.get("eventType"), filter.eventType()));
+            }
+            if (filter.startTime() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), filter.startTime()));
+            }
+            if (filter.endTime() != null) {
+                predicates.add(cb.lessThan(root.get("timestamp"), filter.endTime()));
+            }
+
+            // Keyset: rows strictly after the cursor in (timestamp desc, id desc) order
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("timestamp"), after.timestamp()),
+                        cb.and(
+                                cb.equal(root.get("timestamp"), after.timestamp()),
+                                cb.lessThan(root.get("id"), after.id()))));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.model.AuditEvent;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface AuditQueryRepository {
+
+    /**
+     * Returns at most {@code limit} matching events, newest first (timestamp desc, id desc),
+     * without the count query a {@code Page} would issue.
+     */
+    List<AuditEvent> findNewestFirst(Specification<AuditEvent> spec, int limit);
+}
@@ -2,8 +2,28 @@ package com.bank.audit.repository;
 
 import com.bank.audit.model.AuditEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface AuditRepository extends JpaRepository<AuditEvent, Long> {
+public interface AuditRepository extends JpaRepository<AuditEvent, Long>, JpaSpecificationExecutor<AuditEvent>,
+        AuditQueryRepository {
+
+    List<AuditEvent> findByChainSeqBetweenOrderByChainSeqAsc(Long fromSeq, Long toSeq);
+
+    Optional<AuditEvent> findByChainSeq(Long chainSeq);
+
+    List<AuditEvent> findByChainSeqIn(Collection<Long> chainSeqs);
+
+    List<ChainLink> findChainLinksByChainSeqBetween(Long fromSeq, Long toSeq);
+
+    List<AuditEvent> findTop1000ByCorrelationIdOrderByEventTimeAscIdAsc(String correlationId);
+
+    @Query("select max(e.chainSeq) from AuditEvent e")
+    Long findMaxChainSeq();
 }
@@ -0,0 +1,119 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.model.AuditEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC side of audit retention: selects expired rows in bounded batches and, in one
+ * transaction per batch, folds them into daily rollups, leaves chain tombstones and
+ * deletes them along with their search terms.
+ */
+@Repository
+public class AuditRetentionRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT id, audit_id, user_id, customer_id, action, ip_address, "
+            + "user_agent, timestamp, status, event_type, service_name, payload, payload_ref, correlation_id, "
+            + "event_time, request_started_at, chain_seq, chain_hash FROM audit_events ";
+
+    private static final String UPSERT_ROLLUP_SQL = "INSERT INTO audit_daily_rollups "
+            + "(rollup_date, event_type, action, status, event_count) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count)";
+
+    private static final String INSERT_TOMBSTONE_SQL = "INSERT INTO audit_tombstones (chain_seq, chain_hash) "
+            + "VALUES (?, ?)";
+
+    public record RollupKey(LocalDate day, String eventType, String action, String status) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditRetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Oldest expired rows of one event type, or of every type not in {@code excludedTypes}
+     * when {@code eventType} is null. Chained rows are only eligible once checkpointed, so
+     * checkpoint roots are never computed over a block with holes.
+     */
+    public List<AuditEvent> findExpired(String eventType, Collection<String> excludedTypes,
+            LocalDateTime cutoff, long maxChainSeq, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append("WHERE timestamp < ? ");
+        args.add(Timestamp.valueOf(cutoff));
+        if (eventType != null) {
+            sql.append("AND event_type = ? ");
+            args.add(eventType);
+        } else if (!excludedTypes.isEmpty()) {
+            sql.append("AND (event_type IS NULL OR event_type NOT IN (")
+                    .append(String.join(", ", Collections.nCopies(excludedTypes.size(), "?")))
+                    .append(")) ");
+            args.addAll(excludedTypes);
+        }
+        sql.append("AND (chain_seq IS NULL OR chain_seq <= ?) ORDER BY timestamp, id LIMIT ?");
+        args.add(maxChainSeq);
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    @Transactional
+    public void purge(List<AuditEvent> batch, Map<RollupKey, Long> rollups) {
+        List<Object[]> rollupArgs = new ArrayList<>(rollups.size());
+        rollups.forEach((key, count) -> rollupArgs.add(new Object[] {
+                key.day(), key.eventType(), key.action(), key.status(), count }));
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rollupArgs);
+
+        List<Object[]> tombstoneArgs = new ArrayList<>();
+        List<Object> ids = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            ids.add(event.getId());
+            if (event.getChainSeq() != null) {
+                tombstoneArgs.add(new Object[] { event.getChainSeq(), event.getChainHash() });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE_SQL, tombstoneArgs);
+        if (!tombstoneArgs.isEmpty()) {
+            List<Object> seqs = tombstoneArgs.stream().map(args -> args[0]).toList();
+            jdbcTemplate.update("DELETE FROM audit_search_terms WHERE chain_seq IN ("
+                    + String.join(", ", Collections.nCopies(seqs.size(), "?")) + ")", seqs.toArray());
+        }
+        jdbcTemplate.update("DELETE FROM audit_events WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+    }
+
+    private static final RowMapper<AuditEvent> ROW_MAPPER = (rs, rowNum) -> {
+        AuditEvent event = new AuditEvent();
+        event.setId(rs.getLong("id"));
+        event.setAuditId(rs.getString("audit_id"));
+        event.setUserId(rs.getObject("user_id", Long.class));
+        event.setCustomerId(rs.getObject("customer_id", Long.class));
+        event.setAction(rs.getString("action"));
+        event.setIpAddress(rs.getString("ip_address"));
+        event.setUserAgent(rs.getString("user_agent"));
+        Timestamp timestamp = rs.getTimestamp("timestamp");
+        event.setTimestamp(timestamp != null ? timestamp.toLocalDateTime() : null);
+        event.setStatus(rs.getString("status"));
+        event.setEventType(rs.getString("event_type"));
+        event.setServiceName(rs.getString("service_name"));
+        event.setPayload(rs.getString("payload"));
+        event.setPayloadRef(rs.getObject("payload_ref", Long.class));
+        event.setCorrelationId(rs.getString("correlation_id"));
+        event.setEventTime(rs.getObject("event_time", Long.class));
+        event.setRequestStartedAt(rs.getObject("request_started_at", Long.class));
+        event.setChainSeq(rs.getObject("chain_seq", Long.class));
+        event.setChainHash(rs.getString("chain_hash"));
+        return event;
+    };
+}
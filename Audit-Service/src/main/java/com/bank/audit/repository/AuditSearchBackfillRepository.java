@@ -0,0 +1,80 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.model.AuditEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC side of the audit_search_terms backfill. Each batch is one transaction holding the
+ * progress row's lock, so instances take turns instead of indexing the same range twice.
+ */
+@Repository
+public class AuditSearchBackfillRepository {
+
+    // Everything chained so far; later events are indexed at ingest
+    private static final String INIT_SQL = "INSERT IGNORE INTO audit_search_backfill (id, next_seq, end_seq) "
+            + "SELECT 1, 0, COALESCE(MAX(chain_seq), 0) FROM audit_events";
+
+    private static final String LOCK_SQL = "SELECT next_seq, end_seq FROM audit_search_backfill WHERE id = 1 "
+            + "FOR UPDATE";
+
+    private static final String SELECT_SQL = "SELECT id, correlation_id, payload, payload_ref, chain_seq "
+            + "FROM audit_events WHERE chain_seq > ? AND chain_seq <= ? ORDER BY chain_seq LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditSearchBackfillRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Hands the next {@code batchSize} chained events to {@code indexer} and advances past
+     * them. Terms already stored for the range, written at ingest or by an earlier attempt,
+     * are deleted first, so a batch can be repeated without duplicating them.
+     *
+     * @return the number of events indexed; 0 once the backfill is complete
+     */
+    @Transactional
+    public int indexNextBatch(int batchSize, Consumer<List<AuditEvent>> indexer) {
+        jdbcTemplate.update(INIT_SQL);
+        Map<String, Object> progress = jdbcTemplate.queryForMap(LOCK_SQL);
+        long nextSeq = ((Number) progress.get("next_seq")).longValue();
+        long endSeq = ((Number) progress.get("end_seq")).longValue();
+        if (nextSeq >= endSeq) {
+            return 0;
+        }
+
+        List<AuditEvent> events = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, nextSeq, endSeq, batchSize);
+        long lastSeq = events.size() < batchSize ? endSeq : events.get(events.size() - 1).getChainSeq();
+        jdbcTemplate.update("DELETE FROM audit_search_terms WHERE chain_seq > ? AND chain_seq <= ?",
+                nextSeq, lastSeq);
+        if (!events.isEmpty()) {
+            indexer.accept(events);
+        }
+        jdbcTemplate.update("UPDATE audit_search_backfill SET next_seq = ? WHERE id = 1", lastSeq);
+        return events.size();
+    }
+
+    /** Chain sequences still to index, for progress logging. */
+    public long remaining() {
+        List<Long> remaining = jdbcTemplate.queryForList(
+                "SELECT end_seq - next_seq FROM audit_search_backfill WHERE id = 1", Long.class);
+        return remaining.isEmpty() ? 0 : Math.max(remaining.get(0), 0);
+    }
+
+    private static final RowMapper<AuditEvent> ROW_MAPPER = (rs, rowNum) -> {
+        AuditEvent event = new AuditEvent();
+        event.setId(rs.getLong("id"));
+        event.setCorrelationId(rs.getString("correlation_id"));
+        event.setPayload(rs.getString("payload"));
+        event.setPayloadRef(rs.getObject("payload_ref", Long.class));
+        event.setChainSeq(rs.getObject("chain_seq", Long.class));
+        return event;
+    };
+}
@@ -0,0 +1,89 @@
+package com.bank.audit.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Looks up chain sequences in audit_search_terms, newest first.
+ *
+ * <p>A term with its field reads idx_search_term_field_seq in chain_seq order and stops at the
+ * LIMIT; a term alone sorts that term's matches, which are few. An amount range cannot come
+ * in chain_seq order from the number_value index, so instead of sorting every amount in range
+ * it walks idx_search_seq_number newest first, filtering on the index entries, between a
+ * caller-supplied floor and cursor. That bounds the scan per page at the cost of short pages
+ * when amounts in range are rare.
+ */
+@Repository
+public class AuditSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param term       normalized term, or null to search by amount alone
+     * @param field      restricts the term to one payload key; ignored without a term
+     * @param minAmount  inclusive lower bound on any amount field of the event
+     * @param maxAmount  inclusive upper bound on any amount field of the event
+     * @param beforeSeq  exclusive upper bound on chain sequence, for paging; may be null
+     * @param fromSeq    inclusive lower bound on chain sequence, bounding the scan; may be null
+     */
+    public List<Long> findChainSeqs(String term, String field, BigDecimal minAmount, BigDecimal maxAmount,
+            Long beforeSeq, Long fromSeq, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT t.chain_seq FROM audit_search_terms t WHERE ");
+
+        boolean amountOnly = term == null;
+        if (amountOnly) {
+            appendAmountRange(sql, args, "t", minAmount, maxAmount);
+        } else {
+            sql.append("t.term = ?");
+            args.add(term);
+            if (field != null) {
+                sql.append(" AND t.field = ?");
+                args.add(field);
+            }
+            if (minAmount != null || maxAmount != null) {
+                sql.append(" AND EXISTS (SELECT 1 FROM audit_search_terms a WHERE a.chain_seq = t.chain_seq AND ");
+                appendAmountRange(sql, args, "a", minAmount, maxAmount);
+                sql.append(")");
+            }
+        }
+        if (beforeSeq != null) {
+            sql.append(" AND t.chain_seq < ?");
+            args.add(beforeSeq);
+        }
+        if (fromSeq != null) {
+            sql.append(" AND t.chain_seq >= ?");
+            args.add(fromSeq);
+        }
+        sql.append(" ORDER BY t.chain_seq DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    /** Highest indexed chain sequence, or 0 when nothing is indexed. */
+    public long maxChainSeq() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(chain_seq) FROM audit_search_terms", Long.class);
+        return max != null ? max : 0;
+    }
+
+    private static void appendAmountRange(StringBuilder sql, List<Object> args, String alias, BigDecimal min,
+            BigDecimal max) {
+        sql.append(alias).append(".number_value IS NOT NULL");
+        if (min != null) {
+            sql.append(" AND ").append(alias).append(".number_value >= ?");
+            args.add(min);
+        }
+        if (max != null) {
+            sql.append(" AND ").append(alias).append(".number_value <= ?");
+            args.add(max);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.model.AuditTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditTombstoneRepository extends JpaRepository<AuditTombstone, Long> {
+
+    List<ChainLink> findByChainSeqBetween(Long fromSeq, Long toSeq);
+}
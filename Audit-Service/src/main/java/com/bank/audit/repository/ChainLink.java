@@ -0,0 +1,11 @@
+package com.bank.audit.repository;
+
+/**
+ * Chain position and hash, read without loading the rest of the row.
+ */
+public interface ChainLink {
+
+    Long getChainSeq();
+
+    String getChainHash();
+}
@@ -0,0 +1,59 @@
+package com.bank.audit.search;
+
+import com.bank.audit.repository.AuditSearchBackfillRepository;
+import com.bank.audit.store.AuditPayloadStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes audit events written before {@link AuditSearchIndexer} existed, so term and amount
+ * searches also find them. Works through the chain in bounded batches, a limited number per
+ * run, and resumes from its stored position after a restart; once it has caught up each run
+ * is a single primary key lookup.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.audit.search.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditSearchBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSearchBackfill.class);
+
+    private final AuditSearchBackfillRepository backfillRepository;
+    private final AuditSearchIndexer searchIndexer;
+    private final AuditPayloadStore payloadStore;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public AuditSearchBackfill(AuditSearchBackfillRepository backfillRepository, AuditSearchIndexer searchIndexer,
+            AuditPayloadStore payloadStore,
+            @Value("${bank.audit.search.backfill.batch-size:500}") int batchSize,
+            @Value("${bank.audit.search.backfill.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.backfillRepository = backfillRepository;
+        this.searchIndexer = searchIndexer;
+        this.payloadStore = payloadStore;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${bank.audit.search.backfill.interval-ms:10000}")
+    public void backfill() {
+        long indexed = 0;
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            int count = backfillRepository.indexNextBatch(batchSize, events -> {
+                payloadStore.hydrate(events);
+                searchIndexer.index(events, searchIndexer.extractAll(events));
+            });
+            if (count == 0) {
+                break;
+            }
+            indexed += count;
+        }
+        if (indexed > 0) {
+            logger.info("Audit search backfill indexed {} events; {} chain sequences left", indexed,
+                    backfillRepository.remaining());
+        }
+    }
+}
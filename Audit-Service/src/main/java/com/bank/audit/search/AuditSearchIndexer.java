@@ -0,0 +1,153 @@
+package com.bank.audit.search;
+
+import com.bank.audit.model.AuditEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains audit_search_terms as events are written. Only the configured JSON keys are
+ * extracted, at any depth of the payload, so the index stays a small multiple of the event
+ * count rather than one row per token.
+ */
+@Component
+public class AuditSearchIndexer {
+
+    static final int MAX_TERM_LENGTH = 191;
+
+    // number_value is DECIMAL(19,4): anything from 10^15 up does not fit
+    private static final int AMOUNT_SCALE = 4;
+    private static final BigDecimal AMOUNT_LIMIT = BigDecimal.TEN.pow(19 - AMOUNT_SCALE);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_search_terms (chain_seq, field, term, number_value) "
+            + "VALUES (?, ?, ?, ?)";
+
+    public record Term(String field, String term, BigDecimal numberValue) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> fields;
+    private final Set<String> amountFields;
+
+    public AuditSearchIndexer(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${bank.audit.search.fields:senderAccountNumber,receiverAccountNumber,accountNumber,fromAccount,"
+                    + "toAccount,reference,billNumber,correlationId,userEmail,email}") String fields,
+            @Value("${bank.audit.search.amount-fields:amount,debitAmount,creditAmount,loanAmount,billAmount,"
+                    + "initialDeposit}") String amountFields) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fields = toSet(fields);
+        this.amountFields = toSet(amountFields);
+    }
+
+    /** Terms of each event, in order; parsed before the chain head is locked. */
+    public List<List<Term>> extractAll(List<AuditEvent> events) {
+        List<List<Term>> terms = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            terms.add(extract(event));
+        }
+        return terms;
+    }
+
+    /**
+     * Writes the terms from {@link #extractAll} for chained events; runs inside the insert
+     * transaction so terms never dangle.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void index(List<AuditEvent> events, List<List<Term>> terms) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            AuditEvent event = events.get(i);
+            if (event.getChainSeq() == null) {
+                continue;
+            }
+            for (Term term : terms.get(i)) {
+                rows.add(new Object[] { event.getChainSeq(), term.field(), term.term(), term.numberValue() });
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    public List<Term> extract(AuditEvent event) {
+        List<Term> terms = new ArrayList<>();
+        if (event.getCorrelationId() != null) {
+            terms.add(new Term("correlationId", normalize(event.getCorrelationId()), null));
+        }
+        if (event.getPayload() == null) {
+            return terms;
+        }
+        try {
+            collect(objectMapper.readTree(event.getPayload()), terms);
+        } catch (Exception e) {
+            // Unparseable payloads stay findable through their metadata only
+        }
+        return terms.stream().distinct().collect(Collectors.toList());
+    }
+
+    public static String normalize(String value) {
+        String term = value.trim().toLowerCase(Locale.ROOT);
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+
+    private void collect(JsonNode node, List<Term> terms) {
+        if (node.isArray()) {
+            node.forEach(child -> collect(child, terms));
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            JsonNode value = entry.getValue();
+            if (value.isContainerNode()) {
+                collect(value, terms);
+            } else if (!value.isNull() && fields.contains(entry.getKey())) {
+                terms.add(new Term(entry.getKey(), normalize(value.asText()), null));
+            } else if (!value.isNull() && amountFields.contains(entry.getKey())) {
+                terms.add(new Term(entry.getKey(), normalize(value.asText()), toAmount(value)));
+            }
+        }
+    }
+
+    // An amount the column cannot hold would fail the whole insert batch, so it stays a text term only
+    private static BigDecimal toAmount(JsonNode value) {
+        BigDecimal amount;
+        if (value.isNumber()) {
+            amount = value.decimalValue();
+        } else {
+            try {
+                amount = new BigDecimal(value.asText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (amount.scale() > AMOUNT_SCALE) {
+            amount = amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+        }
+        return amount.abs().compareTo(AMOUNT_LIMIT) < 0 ? amount : null;
+    }
+
+    private static Set<String> toSet(String csv) {
+        return Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
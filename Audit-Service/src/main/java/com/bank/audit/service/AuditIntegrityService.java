@@ -0,0 +1,248 @@
+package com.bank.audit.service;
+
+import com.bank.audit.dto.AuditInclusionProof;
+import com.bank.audit.dto.AuditIntegrityReport;
+import com.bank.audit.integrity.AuditHashing;
+import com.bank.audit.integrity.MerkleTree;
+import com.bank.audit.model.AuditCheckpoint;
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.model.AuditTombstone;
+import com.bank.audit.repository.AuditCheckpointRepository;
+import com.bank.audit.repository.AuditRepository;
+import com.bank.audit.repository.AuditTombstoneRepository;
+import com.bank.audit.repository.ChainLink;
+import com.bank.audit.store.AuditPayloadStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Merkle checkpoints and verification for the audit hash chain. The chain is cut into
+ * fixed-size blocks of checkpoint-size events; each block can be verified on its own given
+ * its predecessor's hash, so ranges are checked in parallel, one block per task.
+ */
+@Service
+public class AuditIntegrityService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditIntegrityService.class);
+
+    private static final int MAX_REPORTED_PROBLEMS = 100;
+
+    private final AuditRepository auditRepository;
+    private final AuditCheckpointRepository checkpointRepository;
+    private final AuditTombstoneRepository tombstoneRepository;
+    private final AuditPayloadStore payloadStore;
+    private final int checkpointSize;
+    private final ExecutorService verifyExecutor;
+
+    public AuditIntegrityService(AuditRepository auditRepository, AuditCheckpointRepository checkpointRepository,
+            AuditTombstoneRepository tombstoneRepository, AuditPayloadStore payloadStore,
+            @Value("${bank.audit.integrity.checkpoint-size:1024}") int checkpointSize,
+            @Value("${bank.audit.integrity.verify-parallelism:4}") int verifyParallelism) {
+        this.auditRepository = auditRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.payloadStore = payloadStore;
+        this.checkpointSize = checkpointSize;
+        this.verifyExecutor = Executors.newFixedThreadPool(verifyParallelism);
+    }
+
+    /** Seals every complete block past the last checkpoint. */
+    @Scheduled(fixedDelayString = "${bank.audit.integrity.checkpoint-interval-ms:60000}")
+    public void createCheckpoints() {
+        Long head = auditRepository.findMaxChainSeq();
+        if (head == null) {
+            return;
+        }
+        long nextStart = checkpointRepository.findTopByOrderByEndSeqDesc()
+                .map(checkpoint -> checkpoint.getEndSeq() + 1)
+                .orElse(1L);
+
+        while (nextStart + checkpointSize - 1 <= head) {
+            long end = nextStart + checkpointSize - 1;
+            List<String> hashes = chainHashes(nextStart, end);
+            if (hashes.size() != checkpointSize) {
+                logger.error("Cannot checkpoint audit events #{}-#{}: {} of {} present", nextStart, end,
+                        hashes.size(), checkpointSize);
+                return;
+            }
+
+            AuditCheckpoint checkpoint = new AuditCheckpoint();
+            checkpoint.setStartSeq(nextStart);
+            checkpoint.setEndSeq(end);
+            checkpoint.setMerkleRoot(MerkleTree.root(hashes));
+            checkpoint.setEndChainHash(hashes.get(hashes.size() - 1));
+            checkpoint.setCreatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+            logger.info("Created audit checkpoint #{}-#{} root {}", nextStart, end, checkpoint.getMerkleRoot());
+            nextStart = end + 1;
+        }
+    }
+
+    @Scheduled(cron = "${bank.audit.integrity.verify-cron:0 30 2 * * *}")
+    public void scheduledVerify() {
+        AuditIntegrityReport report = verify(null, null);
+        if (report.valid()) {
+            logger.info("Audit chain verified: {} events", report.verifiedEvents());
+        } else {
+            logger.error("Audit chain verification failed for #{}-#{}: {}", report.fromSeq(), report.toSeq(),
+                    report.problems());
+        }
+    }
+
+    /** Verifies [fromSeq, toSeq], defaulting to the whole chain. */
+    public AuditIntegrityReport verify(Long fromSeq, Long toSeq) {
+        Long head = auditRepository.findMaxChainSeq();
+        long from = fromSeq != null ? Math.max(1, fromSeq) : 1;
+        long to = head == null ? 0 : (toSeq != null ? Math.min(toSeq, head) : head);
+        if (from > to) {
+            return new AuditIntegrityReport(from, to, 0, true, List.of());
+        }
+
+        List<CompletableFuture<BlockResult>> tasks = new ArrayList<>();
+        for (long blockStart = blockStart(from); blockStart <= to; blockStart += checkpointSize) {
+            long start = Math.max(from, blockStart);
+            long end = Math.min(to, blockStart + checkpointSize - 1);
+            boolean wholeBlock = start == blockStart && end == blockStart + checkpointSize - 1;
+            long checkpointStart = blockStart;
+            tasks.add(CompletableFuture.supplyAsync(
+                    () -> verifyBlock(start, end, wholeBlock ? checkpointStart : null), verifyExecutor));
+        }
+
+        long verified = 0;
+        List<String> problems = new ArrayList<>();
+        for (CompletableFuture<BlockResult> task : tasks) {
+            BlockResult result = task.join();
+            verified += result.verified();
+            for (String problem : result.problems()) {
+                if (problems.size() < MAX_REPORTED_PROBLEMS) {
+                    problems.add(problem);
+                }
+            }
+        }
+        return new AuditIntegrityReport(from, to, verified, problems.isEmpty(), problems);
+    }
+
+    /**
+     * Builds a Merkle inclusion proof for one event against the checkpoint covering it. The
+     * proof holds log2(checkpoint-size) sibling hashes.
+     */
+    public AuditInclusionProof proveInclusion(Long eventId) {
+        AuditEvent event = auditRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Audit event not found: " + eventId));
+        if (event.getChainSeq() == null) {
+            throw new IllegalArgumentException("Audit event " + eventId + " predates the hash chain");
+        }
+        long start = blockStart(event.getChainSeq());
+        AuditCheckpoint checkpoint = checkpointRepository.findByStartSeq(start)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Audit event " + eventId + " is not covered by a checkpoint yet"));
+
+        List<String> hashes = chainHashes(checkpoint.getStartSeq(), checkpoint.getEndSeq());
+        int index = (int) (event.getChainSeq() - checkpoint.getStartSeq());
+        return new AuditInclusionProof(eventId, event.getChainSeq(), event.getChainHash(),
+                checkpoint.getStartSeq(), checkpoint.getEndSeq(), checkpoint.getMerkleRoot(),
+                MerkleTree.proof(hashes, index));
+    }
+
+    @Override
+    public void destroy() {
+        verifyExecutor.shutdownNow();
+    }
+
+    private BlockResult verifyBlock(long start, long end, Long checkpointStart) {
+        List<String> problems = new ArrayList<>();
+        String previous = start == 1
+                ? AuditHashing.GENESIS_HASH
+                : auditRepository.findByChainSeq(start - 1).map(AuditEvent::getChainHash).orElse(null);
+        if (previous == null) {
+            previous = tombstoneRepository.findById(start - 1).map(AuditTombstone::getChainHash).orElse(null);
+        }
+        if (previous == null) {
+            problems.add("Event #" + (start - 1) + " is missing");
+        }
+
+        List<AuditEvent> rows = auditRepository.findByChainSeqBetweenOrderByChainSeqAsc(start, end);
+        payloadStore.hydrate(rows);
+        Map<Long, String> tombstones = new HashMap<>();
+        for (ChainLink link : tombstoneRepository.findByChainSeqBetween(start, end)) {
+            tombstones.put(link.getChainSeq(), link.getChainHash());
+        }
+
+        MessageDigest digest = AuditHashing.sha256();
+        List<String> hashes = new ArrayList<>();
+        long expected = start;
+        for (AuditEvent row : rows) {
+            for (; expected < row.getChainSeq(); expected++) {
+                previous = skipTo(expected, tombstones, hashes, problems);
+            }
+            if (previous != null && !AuditHashing.chainHash(digest, previous, row).equals(row.getChainHash())) {
+                problems.add("Event #" + row.getChainSeq() + " (id " + row.getId() + ") does not match its hash");
+            }
+            previous = row.getChainHash();
+            hashes.add(previous);
+            expected++;
+        }
+        for (; expected <= end; expected++) {
+            skipTo(expected, tombstones, hashes, problems);
+        }
+
+        if (checkpointStart != null && hashes.size() == checkpointSize) {
+            checkpointRepository.findByStartSeq(checkpointStart).ifPresent(checkpoint -> {
+                if (!MerkleTree.root(hashes).equals(checkpoint.getMerkleRoot())) {
+                    problems.add("Checkpoint #" + checkpoint.getStartSeq() + "-#" + checkpoint.getEndSeq()
+                            + " does not match its events");
+                }
+            });
+        }
+        return new BlockResult(rows.size(), problems);
+    }
+
+    /**
+     * Handles a sequence with no row. A tombstone left by retention stands in for the event;
+     * its content was archived, so the chain resumes from the recorded hash. Anything else is
+     * a deletion, and the next link cannot be checked.
+     */
+    private String skipTo(long seq, Map<Long, String> tombstones, List<String> hashes, List<String> problems) {
+        String tombstone = tombstones.get(seq);
+        if (tombstone == null) {
+            problems.add("Event #" + seq + " is missing");
+            return null;
+        }
+        hashes.add(tombstone);
+        return tombstone;
+    }
+
+    // Hashes of [start, end] in chain order, with tombstones filling retained-out events
+    private List<String> chainHashes(long start, long end) {
+        TreeMap<Long, String> links = new TreeMap<>();
+        for (ChainLink link : tombstoneRepository.findByChainSeqBetween(start, end)) {
+            links.put(link.getChainSeq(), link.getChainHash());
+        }
+        for (ChainLink link : auditRepository.findChainLinksByChainSeqBetween(start, end)) {
+            links.put(link.getChainSeq(), link.getChainHash());
+        }
+        return new ArrayList<>(links.values());
+    }
+
+    private long blockStart(long seq) {
+        return ((seq - 1) / checkpointSize) * checkpointSize + 1;
+    }
+
+    private record BlockResult(long verified, List<String> problems) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.bank.audit.service;
+
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.repository.AuditCheckpointRepository;
+import com.bank.audit.repository.AuditRetentionRepository;
+import com.bank.audit.repository.AuditRetentionRepository.RollupKey;
+import com.bank.audit.store.AuditPayloadStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ages raw audit rows out of the hot table. For each event type, rows older than its raw
+ * retention are written to a gzipped NDJSON archive, counted into daily rollups and deleted,
+ * one bounded batch per transaction so no run holds long locks. Afterwards the payload store
+ * frees whatever payloads the purged rows were the last to reference.
+ *
+ * <p>Policies are {@code eventType=days} pairs in bank.audit.retention.raw-days; the
+ * {@code *} entry covers every type not listed.
+ */
+@Service
+@ConditionalOnProperty(name = "bank.audit.retention.enabled", havingValue = "true")
+public class AuditRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRetentionService.class);
+
+    private static final String DEFAULT_POLICY = "*";
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final AuditRetentionRepository retentionRepository;
+    private final AuditCheckpointRepository checkpointRepository;
+    private final AuditPayloadStore payloadStore;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> rawDays;
+    private final Path archiveDirectory;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public AuditRetentionService(AuditRetentionRepository retentionRepository,
+            AuditCheckpointRepository checkpointRepository, AuditPayloadStore payloadStore, ObjectMapper objectMapper,
+            @Value("${bank.audit.retention.raw-days:*=90}") String rawDays,
+            @Value("${bank.audit.retention.archive-directory:./data/audit-archive}") String archiveDirectory,
+            @Value("${bank.audit.retention.batch-size:1000}") int batchSize,
+            @Value("${bank.audit.retention.max-batches-per-run:500}") int maxBatchesPerRun) {
+        this.retentionRepository = retentionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.payloadStore = payloadStore;
+        this.objectMapper = objectMapper;
+        this.rawDays = parsePolicies(rawDays);
+        this.archiveDirectory = Path.of(archiveDirectory);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${bank.audit.retention.cron:0 0 3 * * *}")
+    public void applyRetention() {
+        long checkpointed = checkpointRepository.findTopByOrderByEndSeqDesc()
+                .map(checkpoint -> checkpoint.getEndSeq())
+                .orElse(0L);
+        List<String> explicitTypes = rawDays.keySet().stream()
+                .filter(type -> !DEFAULT_POLICY.equals(type))
+                .toList();
+
+        int batches = 0;
+        for (Map.Entry<String, Integer> policy : rawDays.entrySet()) {
+            String eventType = DEFAULT_POLICY.equals(policy.getKey()) ? null : policy.getKey();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(policy.getValue());
+            long purged = 0;
+            while (batches < maxBatchesPerRun) {
+                List<AuditEvent> batch = retentionRepository.findExpired(eventType, explicitTypes, cutoff,
+                        checkpointed, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                try {
+                    archive(policy.getKey(), batch);
+                } catch (IOException e) {
+                    // Never delete what could not be archived
+                    logger.error("Audit retention stopped: archiving {} failed: {}", policy.getKey(), e.getMessage());
+                    return;
+                }
+                retentionRepository.purge(batch, rollup(batch));
+                purged += batch.size();
+                batches++;
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            if (purged > 0) {
+                logger.info("Audit retention archived and purged {} {} events older than {}", purged,
+                        policy.getKey(), cutoff);
+            }
+        }
+        if (batches >= maxBatchesPerRun) {
+            logger.info("Audit retention reached {} batches; the rest is left for the next run", maxBatchesPerRun);
+        }
+
+        // Nothing younger than the shortest policy can have been purged
+        int shortestDays = rawDays.values().stream().mapToInt(Integer::intValue).min().orElse(Integer.MAX_VALUE);
+        if (shortestDays != Integer.MAX_VALUE) {
+            try {
+                payloadStore.reclaim(LocalDateTime.now().minusDays(shortestDays));
+            } catch (RuntimeException e) {
+                logger.error("Audit retention could not reclaim payload storage: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void archive(String policy, List<AuditEvent> batch) throws IOException {
+        payloadStore.hydrate(batch);
+
+        String typeDirectory = DEFAULT_POLICY.equals(policy) ? "other" : policy.replaceAll("[^A-Za-z0-9_.-]", "_");
+        Path directory = archiveDirectory.resolve(typeDirectory);
+        Files.createDirectories(directory);
+        String name = String.format("%s_%d-%d.ndjson.gz", batch.get(0).getTimestamp().toLocalDate(),
+                batch.get(0).getId(), batch.get(batch.size() - 1).getId());
+        Path target = directory.resolve(name);
+        Path temp = directory.resolve(name + ".tmp");
+
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            for (AuditEvent event : batch) {
+                out.write(objectMapper.writeValueAsBytes(event));
+                out.write(NEWLINE);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<RollupKey, Long> rollup(List<AuditEvent> batch) {
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (AuditEvent event : batch) {
+            RollupKey key = new RollupKey(event.getTimestamp().toLocalDate(), nullToEmpty(event.getEventType()),
+                    nullToEmpty(event.getAction()), nullToEmpty(event.getStatus()));
+            counts.merge(key, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    // "transaction-completed=365, *=90" -> {transaction-completed: 365, *: 90}, default last
+    private static Map<String, Integer> parsePolicies(String spec) {
+        Map<String, Integer> policies = new LinkedHashMap<>();
+        Integer defaultDays = null;
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid audit retention policy: " + entry.trim());
+            }
+            String type = parts[0].trim();
+            int days = Integer.parseInt(parts[1].trim());
+            if (DEFAULT_POLICY.equals(type)) {
+                defaultDays = days;
+            } else {
+                policies.put(type, days);
+            }
+        }
+        if (defaultDays != null) {
+            policies.put(DEFAULT_POLICY, defaultDays);
+        }
+        return policies;
+    }
+}
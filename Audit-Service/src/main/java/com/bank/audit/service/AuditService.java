@@ -1,11 +1,37 @@
 package com.bank.audit.service;
 
+import com.bank.audit.dto.AuditCursor;
+import com.bank.audit.dto.AuditLogPage;
+import com.bank.audit.dto.AuditQueryFilter;
+import com.bank.audit.dto.AuditTrace;
+import com.bank.audit.dto.AuditTraceHop;
+import com.bank.audit.metrics.AuditMetricsAggregator;
 import com.bank.audit.model.AuditEvent;
+import com.bank.audit.model.AuditDailyRollup;
+import com.bank.audit.repository.AuditBatchWriter;
+import com.bank.audit.repository.AuditDailyRollupRepository;
+import com.bank.audit.repository.AuditEventSpecifications;
 import com.bank.audit.repository.AuditRepository;
+import com.bank.audit.repository.AuditSearchRepository;
+import com.bank.audit.search.AuditSearchIndexer;
+import com.bank.audit.store.AuditPayloadStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,8 +43,173 @@ public class AuditService {
     @Autowired
     private AuditRepository auditRepository;
 
-    public List<AuditEvent> getAllLogs() {
-        return auditRepository.findAll();
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditMetricsAggregator metricsAggregator;
+
+    @Autowired
+    private AuditPayloadStore payloadStore;
+
+    @Autowired
+    private AuditBatchWriter auditBatchWriter;
+
+    @Autowired
+    private AuditDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private AuditSearchRepository searchRepository;
+
+    @Value("${bank.audit.search.amount-scan-window:100000}")
+    private long amountScanWindow;
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_PAGE_SIZE = 1000;
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Returns one keyset page of matching events, newest first. One extra row is fetched to
+     * tell whether another page exists, so no count query is needed.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPage queryLogs(AuditQueryFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        AuditCursor after = cursor != null ? AuditCursor.decode(cursor) : null;
+
+        List<AuditEvent> rows = auditRepository.findNewestFirst(
+                AuditEventSpecifications.matching(filter, after), limit + 1);
+        if (rows.size() <= limit) {
+            payloadStore.hydrate(rows);
+            return new AuditLogPage(rows, null);
+        }
+
+        List<AuditEvent> page = rows.subList(0, limit);
+        payloadStore.hydrate(page);
+        AuditEvent last = page.get(limit - 1);
+        return new AuditLogPage(page, new AuditCursor(last.getTimestamp(), last.getId()).encode());
+    }
+
+    /**
+     * Writes every matching event to {@code out} as newline-delimited JSON. Walks the result
+     * in keyset pages, each in its own short read, so memory stays bounded by one page no
+     * matter how many months are exported.
+     */
+    public void exportLogs(AuditQueryFilter filter, OutputStream out) throws IOException {
+        AuditCursor after = null;
+        while (true) {
+            List<AuditEvent> rows = auditRepository.findNewestFirst(
+                    AuditEventSpecifications.matching(filter, after), EXPORT_PAGE_SIZE);
+            payloadStore.hydrate(rows);
+            for (AuditEvent event : rows) {
+                out.write(objectMapper.writeValueAsBytes(event));
+                out.write(NEWLINE);
+            }
+            out.flush();
+
+            if (rows.size() < EXPORT_PAGE_SIZE) {
+                return;
+            }
+            AuditEvent last = rows.get(rows.size() - 1);
+            after = new AuditCursor(last.getTimestamp(), last.getId());
+        }
+    }
+
+    /**
+     * Finds events by an extracted payload value (account number, reference, correlation id...)
+     * and/or an amount range, newest first. The cursor is the chain sequence to continue below.
+     * An amount range alone scans at most bank.audit.search.amount-scan-window sequences per
+     * call, so a page can come back short, or empty, with a cursor to continue from.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPage searchLogs(String query, String field, BigDecimal minAmount, BigDecimal maxAmount,
+            String cursor, int size) {
+        if (query == null && minAmount == null && maxAmount == null) {
+            throw new IllegalArgumentException("Provide a search term or an amount range");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long beforeSeq = cursor != null ? Long.valueOf(cursor) : null;
+        String term = query != null ? AuditSearchIndexer.normalize(query) : null;
+
+        Long fromSeq = null;
+        if (term == null) {
+            long upperSeq = beforeSeq != null ? beforeSeq : searchRepository.maxChainSeq() + 1;
+            fromSeq = Math.max(0, upperSeq - amountScanWindow);
+        }
+
+        List<Long> seqs = searchRepository.findChainSeqs(term, field, minAmount, maxAmount, beforeSeq, fromSeq,
+                limit + 1);
+        boolean hasMore = seqs.size() > limit;
+        if (hasMore) {
+            seqs = seqs.subList(0, limit);
+        }
+        String nextCursor = hasMore ? String.valueOf(seqs.get(seqs.size() - 1))
+                : fromSeq != null && fromSeq > 0 ? String.valueOf(fromSeq) : null;
+
+        List<AuditEvent> events = new ArrayList<>(auditRepository.findByChainSeqIn(seqs));
+        events.sort(Comparator.comparing(AuditEvent::getChainSeq).reversed());
+        payloadStore.hydrate(events);
+        return new AuditLogPage(events, nextCursor);
+    }
+
+    /**
+     * Rebuilds the path of one request across services from the events carrying its
+     * correlation id. Events ingested before publish times were recorded fall back to their
+     * ingest timestamp.
+     *
+     * @return the trace, or null when no event carries the id
+     */
+    @Transactional(readOnly = true)
+    public AuditTrace traceLogs(String correlationId) {
+        List<AuditEvent> events = new ArrayList<>(
+                auditRepository.findTop1000ByCorrelationIdOrderByEventTimeAscIdAsc(correlationId));
+        if (events.isEmpty()) {
+            return null;
+        }
+        events.sort(Comparator.comparingLong(AuditService::occurredAt).thenComparing(AuditEvent::getId));
+
+        Long requestStartedAt = events.stream()
+                .map(AuditEvent::getRequestStartedAt)
+                .filter(start -> start != null)
+                .min(Long::compare)
+                .orElse(null);
+
+        List<AuditTraceHop> hops = new ArrayList<>(events.size());
+        Long previous = null;
+        for (AuditEvent event : events) {
+            long occurredAt = occurredAt(event);
+            Long ingestLag = event.getEventTime() != null && event.getTimestamp() != null
+                    ? epochMillis(event.getTimestamp()) - event.getEventTime()
+                    : null;
+            hops.add(new AuditTraceHop(event.getId(), event.getServiceName(), event.getAction(),
+                    event.getEventType(), event.getStatus(), occurredAt,
+                    requestStartedAt != null ? occurredAt - requestStartedAt : null,
+                    previous != null ? occurredAt - previous : null,
+                    ingestLag));
+            previous = occurredAt;
+        }
+
+        long first = requestStartedAt != null ? requestStartedAt : occurredAt(events.get(0));
+        return new AuditTrace(correlationId, requestStartedAt, previous - first, hops);
+    }
+
+    private static long occurredAt(AuditEvent event) {
+        if (event.getEventTime() != null) {
+            return event.getEventTime();
+        }
+        return event.getTimestamp() != null ? epochMillis(event.getTimestamp()) : 0L;
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** Daily counts left behind by retention once raw rows have been purged. */
+    public List<AuditDailyRollup> getDailyRollups(String eventType, LocalDate from, LocalDate to) {
+        return eventType != null
+                ? rollupRepository.findByEventTypeAndRollupDateBetweenOrderByRollupDateAsc(eventType, from, to)
+                : rollupRepository.findByRollupDateBetweenOrderByRollupDateAsc(from, to);
     }
 
     public void createSampleAuditData() {
@@ -53,6 +244,7 @@ public class AuditService {
         };
 
         // Generate comprehensive audit data
+        List<AuditEvent> events = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
             AuditEvent event = new AuditEvent();
             event.setAuditId("AUD-" + System.currentTimeMillis() + "-" + i);
@@ -114,8 +306,12 @@ public class AuditService {
             event.setPayload(payload);
             event.setCorrelationId("CORR-" + System.currentTimeMillis() + "-" + i);
             
-            auditRepository.save(event);
+            events.add(event);
         }
+
+        // Same write path as ingest, so sample rows are chained too
+        auditBatchWriter.insertAll(events);
+        events.forEach(metricsAggregator::record);
     }
     
     private String createRealisticPayload(String action, Random random) {
@@ -182,25 +378,29 @@ public class AuditService {
         return payload.toString();
     }
 
+    /**
+     * Served from the running counters in {@link AuditMetricsAggregator}; constant time and
+     * memory regardless of how many audit events are stored.
+     */
     public Map<String, Object> getSystemMetrics() {
         Map<String, Object> metrics = new HashMap<>();
-        List<AuditEvent> allLogs = auditRepository.findAll();
-        
-        long totalLogs = allLogs.size();
 
-        // Calculate metrics based on actual data
-        metrics.put("totalTransactions", 
-                allLogs.stream().filter(l -> "TRANSFER".equals(l.getAction()) || "TRANSACTION".equals(l.getAction())).count());
-        metrics.put("totalUsers", allLogs.stream().map(AuditEvent::getUserId).distinct().count());
-        metrics.put("totalCustomers", allLogs.stream().map(AuditEvent::getCustomerId).distinct().count());
+        metrics.put("totalTransactions", metricsAggregator.getTotalTransactions());
+        metrics.put("totalUsers", metricsAggregator.getDistinctUsers());
+        metrics.put("totalCustomers", metricsAggregator.getDistinctCustomers());
         metrics.put("totalAccounts", 1500); // Placeholder - would come from account service
         metrics.put("activeSessions", 50); // Placeholder - would come from session management
-        metrics.put("failedLogins", 
-                allLogs.stream().filter(l -> "FAILED".equals(l.getStatus()) && "USER_LOGIN".equals(l.getAction())).count());
-        metrics.put("totalLogs", totalLogs);
-        metrics.put("systemUptime", "5 days, 12:30:45"); // Placeholder - would come from system metrics
+        metrics.put("failedLogins", metricsAggregator.getFailedLogins());
+        metrics.put("totalLogs", metricsAggregator.getTotalLogs());
+        metrics.put("systemUptime", formatUptime(ManagementFactory.getRuntimeMXBean().getUptime()));
         metrics.put("lastBackup", LocalDateTime.now().minusDays(1).withHour(2).withMinute(0).withSecond(0).toString()); // Placeholder
 
         return metrics;
     }
+
+    private String formatUptime(long uptimeMillis) {
+        Duration uptime = Duration.ofMillis(uptimeMillis);
+        return String.format("%d days, %02d:%02d:%02d", uptime.toDays(), uptime.toHoursPart(),
+                uptime.toMinutesPart(), uptime.toSecondsPart());
+    }
 }
@@ -0,0 +1,29 @@
+package com.bank.audit.store;
+
+import com.bank.audit.model.AuditEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Where audit payloads live. Selected with bank.audit.store.mode: {@code inline} keeps them in
+ * the audit_events row, {@code segment} moves them to {@link SegmentLog} files and leaves
+ * MySQL holding only the indexed metadata and a reference.
+ */
+public interface AuditPayloadStore {
+
+    /**
+     * Called before events are linked and inserted; may set a payload reference, in which case
+     * only the reference is stored. The payload itself stays on the event for hashing.
+     */
+    void offload(List<AuditEvent> events);
+
+    /** Called on events read back from MySQL; restores any offloaded payloads. */
+    void hydrate(List<AuditEvent> events);
+
+    /**
+     * Called after retention has purged rows; frees stored payloads older than {@code before}
+     * that no audit_events row references any more.
+     */
+    void reclaim(LocalDateTime before);
+}
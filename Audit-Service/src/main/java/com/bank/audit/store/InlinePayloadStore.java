@@ -0,0 +1,28 @@
+package com.bank.audit.store;
+
+import com.bank.audit.model.AuditEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "bank.audit.store.mode", havingValue = "inline", matchIfMissing = true)
+public class InlinePayloadStore implements AuditPayloadStore {
+
+    @Override
+    public void offload(List<AuditEvent> events) {
+        // Payloads stay in the audit_events row
+    }
+
+    @Override
+    public void hydrate(List<AuditEvent> events) {
+        // Nothing was offloaded
+    }
+
+    @Override
+    public void reclaim(LocalDateTime before) {
+        // Purged rows took their payloads with them
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.audit.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * One segment file of a {@link SegmentLog}. Records are framed as
+ * {@code [int length][int crc][long timestamp][byte codec][body]}, where the CRC covers
+ * everything after itself. The active segment is read with positional channel reads; once
+ * sealed it is memory-mapped read-only and its channel closed.
+ */
+final class Segment {
+
+    static final int HEADER_BYTES = 17;
+
+    private final int id;
+    private final Path file;
+    private volatile FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+    private volatile long size;
+
+    // Running CRC of every byte in the file, written to the seal on roll
+    private final CRC32 fileCrc = new CRC32();
+    // Written only by the single appender, read by any thread
+    private volatile long recordCount;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    // Sparse index: entry i says every record before offsets[i] has a timestamp <= maxTimestamps[i]
+    private long[] indexMaxTimestamps = new long[64];
+    private long[] indexOffsets = new long[64];
+    private int indexSize;
+    private long nextIndexOffset;
+    private final int indexIntervalBytes;
+
+    Segment(int id, Path file, FileChannel channel, int indexIntervalBytes) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.indexIntervalBytes = indexIntervalBytes;
+    }
+
+    int id() {
+        return id;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long recordCount() {
+        return recordCount;
+    }
+
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    long crc() {
+        return fileCrc.getValue();
+    }
+
+    boolean isSealed() {
+        return mapped != null;
+    }
+
+    FileChannel channel() {
+        return channel;
+    }
+
+    /** Accounts for a record already written at the current end of the file. */
+    void recordAppended(ByteBuffer frame, long timestamp) {
+        long offset = size;
+        if (offset >= nextIndexOffset) {
+            addIndexEntry(offset);
+            nextIndexOffset = offset + indexIntervalBytes;
+        }
+        fileCrc.update(frame.duplicate().rewind());
+        recordCount++;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        size = offset + frame.limit();
+    }
+
+    void seal(MappedByteBuffer buffer) throws IOException {
+        // Publish the mapping before closing so concurrent readers can fall back to it
+        mapped = buffer;
+        channel.close();
+        channel = null;
+    }
+
+    /** Offset from which a scan for timestamps {@code >= from} can safely start. */
+    synchronized long scanStart(long from) {
+        // Running maxima are non-decreasing, so find the last entry still below from
+        int low = 0;
+        int high = indexSize - 1;
+        long start = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexMaxTimestamps[mid] < from) {
+                start = indexOffsets[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return start;
+    }
+
+    private synchronized void addIndexEntry(long offset) {
+        if (indexSize == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            indexMaxTimestamps = Arrays.copyOf(indexMaxTimestamps, indexSize * 2);
+        }
+        indexOffsets[indexSize] = offset;
+        indexMaxTimestamps[indexSize] = maxTimestamp;
+        indexSize++;
+    }
+
+    /** Reads exactly {@code length} bytes at {@code offset}; safe to call from any thread. */
+    ByteBuffer read(long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        MappedByteBuffer buffer = mapped;
+        if (buffer != null) {
+            buffer.get((int) offset, bytes, 0, length);
+            return ByteBuffer.wrap(bytes);
+        }
+
+        FileChannel current = channel;
+        if (current == null) {
+            return read(offset, length);
+        }
+        ByteBuffer target = ByteBuffer.wrap(bytes);
+        try {
+            while (target.hasRemaining()) {
+                if (current.read(target, offset + target.position()) < 0) {
+                    throw new IOException("Unexpected end of segment " + file + " at " + offset);
+                }
+            }
+        } catch (ClosedChannelException e) {
+            // Sealed while we were reading; the mapping is in place by now
+            if (mapped == null) {
+                throw e;
+            }
+            return read(offset, length);
+        }
+        return target.flip();
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.bank.audit.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only log of immutable records split into size-rolled segment files. Appends are
+ * single-writer; reads and scans may run concurrently from any thread.
+ *
+ * <p>A record is addressed by a reference packing the segment id into the high 32 bits and
+ * the byte offset into the low 32. When a segment fills up it is sealed: a sidecar
+ * {@code .seal} file records its CRC32, size and time range, and the file is memory-mapped
+ * read-only. On startup sealed segments are verified against their seal and the open segment
+ * is recovered up to the last record with a valid checksum.
+ *
+ * <p>One process at a time may open a directory: the log holds an exclusive lock on its
+ * {@code .lock} file until closed.
+ */
+public class SegmentLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLog.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String SEAL_SUFFIX = ".seal";
+    private static final String LOCK_FILE = ".lock";
+    private static final byte CODEC_RAW = 0;
+    private static final byte CODEC_DEFLATE = 1;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final int indexIntervalBytes;
+    private final int compressMinBytes;
+    private final boolean fsync;
+
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active;
+    private FileChannel lockChannel;
+
+    public record Record(long timestamp, byte[] data) {
+    }
+
+    public SegmentLog(Path directory, long maxSegmentBytes, int indexIntervalBytes, int compressMinBytes,
+            boolean fsync) throws IOException {
+        if (maxSegmentBytes <= Segment.HEADER_BYTES || maxSegmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must fit in a single mapping: " + maxSegmentBytes);
+        }
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.compressMinBytes = compressMinBytes;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        lock();
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the records in order and returns their references. With fsync enabled the data
+     * is on disk before this returns, so references can be handed out safely.
+     */
+    public synchronized long[] appendAll(List<Record> records) throws IOException {
+        long[] refs = new long[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            Record record = records.get(i);
+            ByteBuffer frame = encode(record);
+            if (active.size() > 0 && active.size() + frame.limit() > maxSegmentBytes) {
+                roll();
+            }
+            long offset = active.size();
+            FileChannel channel = active.channel();
+            while (frame.hasRemaining()) {
+                channel.write(frame, offset + frame.position());
+            }
+            active.recordAppended(frame, record.timestamp());
+            refs[i] = ((long) active.id() << 32) | offset;
+        }
+        if (fsync && !records.isEmpty()) {
+            active.channel().force(false);
+        }
+        return refs;
+    }
+
+    public byte[] read(long ref) throws IOException {
+        int segmentId = (int) (ref >>> 32);
+        long offset = ref & 0xFFFFFFFFL;
+        Segment segment = segments.get(segmentId);
+        if (segment == null) {
+            throw new IOException("Unknown audit segment " + segmentId);
+        }
+        return readRecord(segment, offset).data();
+    }
+
+    /**
+     * Calls {@code consumer} for every record with a timestamp in {@code [from, to]}, in append
+     * order. Segments whose time range misses the window are skipped outright, and the sparse
+     * index skips the leading part of the first overlapping segment.
+     */
+    public void scan(long from, long to, Consumer<Record> consumer) throws IOException {
+        for (Segment segment : segments.values()) {
+            if (segment.recordCount() == 0 || segment.maxTimestamp() < from || segment.minTimestamp() > to) {
+                continue;
+            }
+            long end = segment.size();
+            long offset = segment.scanStart(from);
+            while (offset < end) {
+                int length = segment.read(offset, 4).getInt();
+                Record record = readRecord(segment, offset);
+                if (record.timestamp() >= from && record.timestamp() <= to) {
+                    consumer.accept(record);
+                }
+                offset += Segment.HEADER_BYTES + length;
+            }
+        }
+    }
+
+    /**
+     * Sealed segments whose every record is older than {@code timestamp}, oldest first. The
+     * active segment is never included.
+     */
+    public synchronized List<Integer> sealedSegmentsBefore(long timestamp) {
+        List<Integer> ids = new ArrayList<>();
+        for (Segment segment : segments.headMap(active.id()).values()) {
+            if (segment.recordCount() == 0 || segment.maxTimestamp() < timestamp) {
+                ids.add(segment.id());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Sealed segments whose seal was written before {@code sealedAt}, oldest first, whatever
+     * their record timestamps. The active segment is never included.
+     */
+    public synchronized List<Integer> segmentsSealedBefore(long sealedAt) {
+        List<Integer> ids = new ArrayList<>();
+        for (Segment segment : segments.headMap(active.id()).values()) {
+            try {
+                if (Files.getLastModifiedTime(sealFile(segment.id())).toMillis() < sealedAt) {
+                    ids.add(segment.id());
+                }
+            } catch (IOException e) {
+                // Unsealed on disk; the next open re-seals it
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Removes a sealed segment and its files; references into it stop resolving. The caller
+     * must know nothing still points at it. The seal goes first, so a crash in between leaves
+     * a segment that is simply re-sealed on the next open.
+     */
+    public synchronized void delete(int segmentId) throws IOException {
+        if (segmentId == active.id()) {
+            throw new IllegalArgumentException("The active audit segment cannot be deleted");
+        }
+        Segment segment = segments.remove(segmentId);
+        if (segment == null) {
+            return;
+        }
+        segment.close();
+        Files.deleteIfExists(sealFile(segmentId));
+        Files.deleteIfExists(segmentFile(segmentId));
+        logger.info("Deleted audit segment {} ({} records, {} bytes)", segmentId, segment.recordCount(),
+                segment.size());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            // Closing the channel releases the lock
+            if (lockChannel != null) {
+                lockChannel.close();
+                lockChannel = null;
+            }
+        }
+    }
+
+    private void lock() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("Segment directory " + directory.toAbsolutePath() + " is already open");
+        }
+        lockChannel = channel;
+    }
+
+    private Record readRecord(Segment segment, long offset) throws IOException {
+        ByteBuffer header = segment.read(offset, Segment.HEADER_BYTES);
+        int length = header.getInt();
+        int expectedCrc = header.getInt();
+        long timestamp = header.getLong();
+        byte codec = header.get();
+
+        byte[] body = new byte[length];
+        segment.read(offset + Segment.HEADER_BYTES, length).get(body);
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 8, Segment.HEADER_BYTES - 8);
+        crc.update(body);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Checksum mismatch in audit segment " + segment.id() + " at offset " + offset);
+        }
+        return new Record(timestamp, codec == CODEC_DEFLATE ? inflate(body) : body);
+    }
+
+    private ByteBuffer encode(Record record) {
+        byte codec = CODEC_RAW;
+        byte[] body = record.data();
+        if (body.length >= compressMinBytes) {
+            byte[] compressed = deflate(body);
+            if (compressed.length < body.length) {
+                codec = CODEC_DEFLATE;
+                body = compressed;
+            }
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(Segment.HEADER_BYTES + body.length);
+        frame.putInt(body.length);
+        frame.putInt(0);
+        frame.putLong(record.timestamp());
+        frame.put(codec);
+        frame.put(body);
+
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), 8, frame.limit() - 8);
+        frame.putInt(4, (int) crc.getValue());
+        return frame.flip();
+    }
+
+    private synchronized void roll() throws IOException {
+        seal(active);
+        active = createSegment(active.id() + 1);
+    }
+
+    private void seal(Segment segment) throws IOException {
+        segment.channel().force(true);
+
+        Properties seal = new Properties();
+        seal.setProperty("crc", Long.toString(segment.crc()));
+        seal.setProperty("size", Long.toString(segment.size()));
+        seal.setProperty("records", Long.toString(segment.recordCount()));
+        seal.setProperty("minTimestamp", Long.toString(segment.minTimestamp()));
+        seal.setProperty("maxTimestamp", Long.toString(segment.maxTimestamp()));
+        try (OutputStream out = Files.newOutputStream(sealFile(segment.id()))) {
+            seal.store(out, null);
+        }
+
+        segment.seal(segment.channel().map(FileChannel.MapMode.READ_ONLY, 0, segment.size()));
+        logger.info("Sealed audit segment {} ({} records, {} bytes)", segment.id(), segment.recordCount(),
+                segment.size());
+    }
+
+    private void open() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(ids::add);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
+            boolean last = i == ids.size() - 1;
+            Segment segment = new Segment(id, segmentFile(id),
+                    FileChannel.open(segmentFile(id), StandardOpenOption.READ, StandardOpenOption.WRITE),
+                    indexIntervalBytes);
+            segments.put(id, segment);
+
+            if (Files.exists(sealFile(id))) {
+                loadSealed(segment);
+            } else {
+                recover(segment);
+                if (!last) {
+                    seal(segment);
+                } else {
+                    active = segment;
+                }
+            }
+        }
+
+        if (active == null) {
+            active = createSegment(ids.isEmpty() ? 1 : ids.get(ids.size() - 1) + 1);
+        }
+    }
+
+    private void loadSealed(Segment segment) throws IOException {
+        Properties seal = new Properties();
+        try (InputStream in = Files.newInputStream(sealFile(segment.id()))) {
+            seal.load(in);
+        }
+        long size = Long.parseLong(seal.getProperty("size"));
+        long expectedCrc = Long.parseLong(seal.getProperty("crc"));
+
+        long end = rebuild(segment, size, false);
+        if (end != size || segment.crc() != expectedCrc) {
+            // Keep serving it; each record is still checked against its own CRC on read
+            logger.error("Audit segment {} does not match its seal (size {} vs {}, crc {} vs {})",
+                    segment.id(), end, size, segment.crc(), expectedCrc);
+        }
+        segment.seal(segment.channel().map(FileChannel.MapMode.READ_ONLY, 0, end));
+    }
+
+    private void recover(Segment segment) throws IOException {
+        long fileSize = segment.channel().size();
+        long end = rebuild(segment, fileSize, true);
+        if (end < fileSize) {
+            logger.warn("Truncating audit segment {} from {} to {} bytes after an incomplete write",
+                    segment.id(), fileSize, end);
+            segment.channel().truncate(end);
+        }
+    }
+
+    /**
+     * Walks the record headers up to {@code limit}, restoring the index, time range and file
+     * CRC. Returns where the last intact record ends.
+     */
+    private long rebuild(Segment segment, long limit, boolean verifyRecords) throws IOException {
+        long offset = 0;
+        while (offset + Segment.HEADER_BYTES <= limit) {
+            ByteBuffer header = segment.read(offset, Segment.HEADER_BYTES);
+            int length = header.getInt();
+            if (length < 0 || offset + Segment.HEADER_BYTES + length > limit) {
+                break;
+            }
+            if (verifyRecords) {
+                try {
+                    readRecord(segment, offset);
+                } catch (IOException e) {
+                    break;
+                }
+            }
+            ByteBuffer frame = segment.read(offset, Segment.HEADER_BYTES + length);
+            segment.recordAppended(frame, header.getLong(8));
+            offset += frame.limit();
+        }
+        return offset;
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = new Segment(id, segmentFile(id),
+                FileChannel.open(segmentFile(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE),
+                indexIntervalBytes);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private Path segmentFile(int id) {
+        return directory.resolve(String.format("%010d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private Path sealFile(int id) {
+        return directory.resolve(String.format("%010d%s", id, SEAL_SUFFIX));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] chunk = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] chunk = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IOException("Truncated compressed audit record");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed audit record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
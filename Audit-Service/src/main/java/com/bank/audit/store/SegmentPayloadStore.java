@@ -0,0 +1,199 @@
+package com.bank.audit.store;
+
+import com.bank.audit.model.AuditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps audit payloads in an append-only {@link SegmentLog}. The payload column is left null
+ * and payload_ref points at the record, so the hot table only carries indexed metadata.
+ *
+ * <p>Segments are on this instance's local disk, so segment mode runs a single audit instance:
+ * startup claims a {@link SegmentStoreLease} and fails while another live instance holds it,
+ * and ingest stops while the lease is lost, until a heartbeat takes it back. Scale out with
+ * inline mode instead.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.audit.store.mode", havingValue = "segment")
+public class SegmentPayloadStore implements AuditPayloadStore, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentPayloadStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SegmentLog segmentLog;
+    private final SegmentStoreLease lease;
+    private final long orphanGraceMs;
+
+    public SegmentPayloadStore(JdbcTemplate jdbcTemplate,
+            @Value("${bank.audit.store.directory:./data/audit-segments}") String directory,
+            @Value("${bank.audit.store.segment-size-bytes:67108864}") long segmentSizeBytes,
+            @Value("${bank.audit.store.index-interval-bytes:4096}") int indexIntervalBytes,
+            @Value("${bank.audit.store.compress-min-bytes:512}") int compressMinBytes,
+            @Value("${bank.audit.store.fsync:true}") boolean fsync,
+            @Value("${bank.audit.store.lease-ttl-ms:30000}") long leaseTtlMs,
+            @Value("${bank.audit.store.orphan-grace-ms:3600000}") long orphanGraceMs) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orphanGraceMs = orphanGraceMs;
+        Path segmentDirectory = Path.of(directory).toAbsolutePath();
+        this.lease = new SegmentStoreLease(jdbcTemplate, hostName() + ":" + segmentDirectory, leaseTtlMs);
+        lease.claim();
+        try {
+            this.segmentLog = new SegmentLog(segmentDirectory, segmentSizeBytes, indexIntervalBytes,
+                    compressMinBytes, fsync);
+        } catch (IOException | RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Renews the lease, or tries to take it back once lost: a successor that has since stopped
+     * or released it leaves the store to this instance again.
+     */
+    @Scheduled(fixedDelayString = "${bank.audit.store.lease-heartbeat-ms:10000}")
+    public void renewLease() {
+        try {
+            if (lease.isHeld()) {
+                if (!lease.renew()) {
+                    logger.error("Segment payload store lease was taken over by another instance; refusing new payloads");
+                }
+            } else if (lease.tryClaim()) {
+                logger.info("Segment payload store lease re-acquired; accepting payloads again");
+            }
+        } catch (Exception e) {
+            // Transient; ingest needs the same database, and the lease only expires after the TTL
+            logger.warn("Failed to renew the segment payload store lease: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes sealed segments no audit_events row references. Records are appended before the
+     * insert transaction commits, so a rolled-back batch leaves its records behind; a segment
+     * made up only of such records would otherwise stay until retention. Orphans sharing a
+     * segment with committed rows go once retention has purged those. The grace period is far
+     * longer than any insert transaction, so a segment sealed mid-transaction is never taken
+     * for an orphan.
+     */
+    @Scheduled(fixedDelayString = "${bank.audit.store.orphan-sweep-ms:3600000}")
+    public void sweepOrphans() {
+        if (!lease.isHeld()) {
+            return;
+        }
+        try {
+            for (int segmentId : segmentLog.segmentsSealedBefore(System.currentTimeMillis() - orphanGraceMs)) {
+                deleteIfUnreferenced(segmentId);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to sweep orphaned audit segments: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void offload(List<AuditEvent> events) {
+        if (!lease.isHeld()) {
+            throw new IllegalStateException("Segment payload store lease is held by another instance");
+        }
+        List<AuditEvent> withPayload = new ArrayList<>(events.size());
+        List<SegmentLog.Record> records = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            if (event.getPayload() != null) {
+                withPayload.add(event);
+                records.add(new SegmentLog.Record(epochMillis(event), event.getPayload().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        long[] refs;
+        try {
+            refs = segmentLog.appendAll(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append audit payloads", e);
+        }
+        for (int i = 0; i < refs.length; i++) {
+            withPayload.get(i).setPayloadRef(refs[i]);
+        }
+    }
+
+    @Override
+    public void hydrate(List<AuditEvent> events) {
+        for (AuditEvent event : events) {
+            if (event.getPayload() == null && event.getPayloadRef() != null) {
+                try {
+                    event.setPayload(new String(segmentLog.read(event.getPayloadRef()), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read payload for audit event " + event.getId(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes whole sealed segments once retention has purged every row pointing into them.
+     * Only segments entirely older than {@code before} are considered, so one still being
+     * filled by an insert that has not committed yet is never mistaken for an unreferenced one.
+     * A segment shared with a longer-retained event type stays until that type ages out too.
+     */
+    @Override
+    public void reclaim(LocalDateTime before) {
+        if (!lease.isHeld()) {
+            return;
+        }
+        for (int segmentId : segmentLog.sealedSegmentsBefore(before.toInstant(ZoneOffset.UTC).toEpochMilli())) {
+            deleteIfUnreferenced(segmentId);
+        }
+    }
+
+    private void deleteIfUnreferenced(int segmentId) {
+        long first = (long) segmentId << 32;
+        boolean referenced = !jdbcTemplate.queryForList(
+                "SELECT id FROM audit_events WHERE payload_ref BETWEEN ? AND ? LIMIT 1", Long.class,
+                first, first | 0xFFFFFFFFL).isEmpty();
+        if (referenced) {
+            return;
+        }
+        try {
+            segmentLog.delete(segmentId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete audit segment " + segmentId, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        try {
+            segmentLog.close();
+        } finally {
+            lease.release();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+
+    private static long epochMillis(AuditEvent event) {
+        return event.getTimestamp() != null
+                ? event.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : System.currentTimeMillis();
+    }
+}
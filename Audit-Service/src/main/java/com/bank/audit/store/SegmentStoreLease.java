@@ -0,0 +1,63 @@
+package com.bank.audit.store;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Database lease making one instance the owner of the segment payload store. Segments live on
+ * that instance's disk and payload_ref only means something there, so a second instance in
+ * segment mode is refused at startup instead of writing references nobody else can resolve.
+ * The owner renews the lease; one that has not for the TTL may be taken over, for example by
+ * a replacement host.
+ */
+class SegmentStoreLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+    private final long ttlMillis;
+    private volatile boolean held;
+
+    SegmentStoreLease(JdbcTemplate jdbcTemplate, String owner, long ttlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = owner;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** Takes the lease if it is free, expired or already ours; otherwise fails naming the holder. */
+    void claim() {
+        if (!tryClaim()) {
+            String holder = jdbcTemplate.queryForObject("SELECT owner FROM audit_segment_owner WHERE id = 1",
+                    String.class);
+            throw new IllegalStateException("Segment payload store is owned by " + holder
+                    + "; segment mode supports a single audit instance");
+        }
+    }
+
+    /** As {@link #claim()}, but reports a live holder by returning false. */
+    boolean tryClaim() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update("INSERT IGNORE INTO audit_segment_owner (id, owner, heartbeat_at) VALUES (1, ?, 0)",
+                owner);
+        held = jdbcTemplate.update("UPDATE audit_segment_owner SET owner = ?, heartbeat_at = ? "
+                + "WHERE id = 1 AND (owner = ? OR heartbeat_at < ?)", owner, now, owner, now - ttlMillis) > 0;
+        return held;
+    }
+
+    /** @return false once another instance has taken the lease over */
+    boolean renew() {
+        held = jdbcTemplate.update("UPDATE audit_segment_owner SET heartbeat_at = ? WHERE id = 1 AND owner = ?",
+                System.currentTimeMillis(), owner) > 0;
+        return held;
+    }
+
+    boolean isHeld() {
+        return held;
+    }
+
+    /** Lets a successor claim immediately instead of waiting out the TTL. */
+    void release() {
+        if (held) {
+            jdbcTemplate.update("UPDATE audit_segment_owner SET heartbeat_at = 0 WHERE id = 1 AND owner = ?", owner);
+            held = false;
+        }
+    }
+}
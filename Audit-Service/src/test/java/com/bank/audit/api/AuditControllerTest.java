@@ -1,5 +1,8 @@
 package com.bank.audit.api;
 
+import com.bank.audit.dto.AuditLogPage;
+import com.bank.audit.dto.AuditTrace;
+import com.bank.audit.dto.AuditTraceHop;
 import com.bank.audit.model.AuditEvent;
 import com.bank.audit.service.AuditService;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,8 +49,8 @@ class AuditControllerTest {
     @Test
     void testGetAllLogs_AdminUser_ShouldSucceed() {
         // Given
-        when(auditService.getAllLogs())
-                .thenReturn(mockAuditEvents);
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(mockAuditEvents, null));
 
         // When & Then
         webTestClient.get()
@@ -63,14 +66,14 @@ class AuditControllerTest {
                 .jsonPath("$[1].auditId").isEqualTo("AUDIT002")
                 .jsonPath("$[1].action").isEqualTo("CUSTOMER_CREATED");
 
-        verify(auditService).getAllLogs();
+        verify(auditService).queryLogs(any(), any(), anyInt());
     }
 
     @Test
     void testGetAllLogs_AuditorUser_ShouldSucceed() {
         // Given
-        when(auditService.getAllLogs())
-                .thenReturn(mockAuditEvents);
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(mockAuditEvents, null));
 
         // When & Then
         webTestClient.get()
@@ -84,7 +87,7 @@ class AuditControllerTest {
                 .jsonPath("$[0].auditId").isEqualTo("AUDIT001")
                 .jsonPath("$[0].action").isEqualTo("USER_LOGIN");
 
-        verify(auditService).getAllLogs();
+        verify(auditService).queryLogs(any(), any(), anyInt());
     }
 
     @Test
@@ -221,8 +224,8 @@ class AuditControllerTest {
     @Test
     void testGetAllLogs_EmptyAuditTrail_ShouldReturnEmptyList() {
         // Given
-        when(auditService.getAllLogs())
-                .thenReturn(Arrays.asList());
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(Arrays.asList(), null));
 
         // When & Then
         webTestClient.get()
@@ -236,7 +239,7 @@ class AuditControllerTest {
                 .jsonPath("$").isArray()
                 .jsonPath("$.length()").isEqualTo(0);
 
-        verify(auditService).getAllLogs();
+        verify(auditService).queryLogs(any(), any(), anyInt());
     }
 
     @Test
@@ -260,7 +263,7 @@ class AuditControllerTest {
     @Test
     void testGetAllLogs_ServiceUnavailable_ShouldReturnInternalServerError() {
         // Given
-        when(auditService.getAllLogs())
+        when(auditService.queryLogs(any(), any(), anyInt()))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // When & Then
@@ -272,14 +275,14 @@ class AuditControllerTest {
                 .exchange()
                 .expectStatus().isEqualTo(500);
 
-        verify(auditService).getAllLogs();
+        verify(auditService).queryLogs(any(), any(), anyInt());
     }
 
     @Test
     void testGetAllLogs_WithDateRangeFilter_ShouldCallCorrectService() {
         // Given
-        when(auditService.getAllLogs())
-                .thenReturn(mockAuditEvents);
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(mockAuditEvents, null));
 
         // When & Then
         webTestClient.get()
@@ -290,15 +293,17 @@ class AuditControllerTest {
                 .exchange()
                 .expectStatus().isOk();
 
-        // Verify that the service is called (actual filtering logic would be in service layer)
-        verify(auditService).getAllLogs();
+        // End date is inclusive of the whole day
+        verify(auditService).queryLogs(argThat(filter ->
+                LocalDateTime.of(2024, 1, 1, 0, 0).equals(filter.startTime())
+                        && LocalDateTime.of(2024, 2, 1, 0, 0).equals(filter.endTime())), isNull(), anyInt());
     }
 
     @Test
     void testGetAllLogs_WithActionFilter_ShouldCallCorrectService() {
         // Given
-        when(auditService.getAllLogs())
-                .thenReturn(mockAuditEvents);
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(mockAuditEvents, null));
 
         // When & Then
         webTestClient.get()
@@ -309,15 +314,14 @@ class AuditControllerTest {
                 .exchange()
                 .expectStatus().isOk();
 
-        // Verify that the service is called (actual filtering logic would be in service layer)
-        verify(auditService).getAllLogs();
+        verify(auditService).queryLogs(argThat(filter -> "USER_LOGIN".equals(filter.action())), isNull(), anyInt());
     }
 
     @Test
     void testGetAllLogs_WithUserFilter_ShouldCallCorrectService() {
         // Given
-        when(auditService.getAllLogs())
-                .thenReturn(mockAuditEvents);
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(mockAuditEvents, null));
 
         // When & Then
         webTestClient.get()
@@ -328,8 +332,115 @@ class AuditControllerTest {
                 .exchange()
                 .expectStatus().isOk();
 
-        // Verify that the service is called (actual filtering logic would be in service layer)
-        verify(auditService).getAllLogs();
+        verify(auditService).queryLogs(argThat(filter -> Long.valueOf(123L).equals(filter.userId())), isNull(), anyInt());
+    }
+
+    @Test
+    void testGetAllLogs_WithNextPage_ShouldReturnCursorHeader() {
+        // Given
+        when(auditService.queryLogs(any(), any(), anyInt()))
+                .thenReturn(new AuditLogPage(mockAuditEvents, "next-token"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/all?size=2")
+                .header("X-User-Id", "1")
+                .header("X-Permissions", "ADMIN_ALL")
+                .header("X-Request-Id", "req-123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "next-token")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+
+        verify(auditService).queryLogs(any(), isNull(), eq(2));
+    }
+
+    @Test
+    void testGetAllLogs_InvalidDate_ShouldReturnBadRequest() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/all?startDate=not-a-date")
+                .header("X-User-Id", "1")
+                .header("X-Permissions", "ADMIN_ALL")
+                .header("X-Request-Id", "req-123")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void testSearchLogs_ByAccountNumber_ShouldReturnMatches() {
+        // Given
+        when(auditService.searchLogs(eq("1234567890"), eq("senderAccountNumber"), isNull(), isNull(), isNull(),
+                anyInt())).thenReturn(new AuditLogPage(mockAuditEvents, "42"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/search?q=1234567890&field=senderAccountNumber")
+                .header("X-User-Id", "2")
+                .header("X-Permissions", "AUDIT_READ")
+                .header("X-Request-Id", "req-123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "42")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testSearchLogs_WithoutCriteria_ShouldReturnBadRequest() {
+        // Given
+        when(auditService.searchLogs(isNull(), isNull(), isNull(), isNull(), isNull(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Provide a search term or an amount range"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/search")
+                .header("X-User-Id", "1")
+                .header("X-Permissions", "ADMIN_ALL")
+                .header("X-Request-Id", "req-123")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testTraceRequest_ShouldReturnOrderedHops() {
+        // Given
+        AuditTrace trace = new AuditTrace("corr-1", 1000L, 120L, List.of(
+                new AuditTraceHop(1L, "authentication", "USER_LOGIN", "user-login", "SUCCESS", 1040L, 40L, null, 5L),
+                new AuditTraceHop(2L, "transaction", "TRANSACTION_SUCCESS", "transaction-completed", "SUCCESS",
+                        1120L, 120L, 80L, 7L)));
+        when(auditService.traceLogs("corr-1")).thenReturn(trace);
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/trace/corr-1")
+                .header("X-User-Id", "2")
+                .header("X-Permissions", "AUDIT_READ")
+                .header("X-Request-Id", "req-123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalDurationMs").isEqualTo(120)
+                .jsonPath("$.hops.length()").isEqualTo(2)
+                .jsonPath("$.hops[1].sincePreviousMs").isEqualTo(80);
+    }
+
+    @Test
+    void testTraceRequest_UnknownCorrelationId_ShouldReturnNotFound() {
+        // Given
+        when(auditService.traceLogs("missing")).thenReturn(null);
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/trace/missing")
+                .header("X-User-Id", "2")
+                .header("X-Permissions", "AUDIT_READ")
+                .header("X-Request-Id", "req-123")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
@@ -353,6 +464,19 @@ class AuditControllerTest {
         verify(auditService).getSystemMetrics();
     }
 
+    @Test
+    void testCreateTestData_DisabledByDefault_ShouldReturnNotFound() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/audit/test-data")
+                .header("X-User-Id", "1")
+                .header("X-Permissions", "ADMIN_ALL")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verify(auditService, never()).createSampleAuditData();
+    }
+
     // Helper methods
     private List<AuditEvent> createMockAuditEvents() {
         AuditEvent event1 = new AuditEvent();
@@ -0,0 +1,84 @@
+package com.bank.audit.integrity;
+
+import com.bank.audit.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuditHashChainTest {
+
+    private static final String HEAD_HASH = "ab".repeat(32);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditHashChain hashChain = new AuditHashChain(jdbcTemplate);
+
+    @Test
+    void continuesFromTheLockedHeadAndAdvancesIt() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(Map.of("seq", 5L, "hash", HEAD_HASH)));
+        AuditEvent first = event("AUD-1");
+        AuditEvent second = event("AUD-2");
+
+        hashChain.link(List.of(first, second));
+
+        assertEquals(6L, first.getChainSeq());
+        assertEquals(7L, second.getChainSeq());
+        MessageDigest digest = AuditHashing.sha256();
+        assertEquals(AuditHashing.chainHash(digest, HEAD_HASH, first), first.getChainHash());
+        assertEquals(AuditHashing.chainHash(digest, first.getChainHash(), second), second.getChainHash());
+        verify(jdbcTemplate).update("UPDATE audit_chain_head SET seq = ?, hash = ? WHERE id = 1", 7L,
+                second.getChainHash());
+    }
+
+    @Test
+    void startsFromGenesisWhenThereIsNoHead() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of());
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(Map.of("seq", 0L, "hash", AuditHashing.GENESIS_HASH));
+        AuditEvent event = event("AUD-1");
+
+        hashChain.link(List.of(event));
+
+        verify(jdbcTemplate).update("INSERT IGNORE INTO audit_chain_head (id, seq, hash) VALUES (1, 0, ?)",
+                AuditHashing.GENESIS_HASH);
+        assertEquals(1L, event.getChainSeq());
+        assertEquals(AuditHashing.chainHash(AuditHashing.sha256(), AuditHashing.GENESIS_HASH, event),
+                event.getChainHash());
+    }
+
+    @Test
+    void hashesTheTimestampAsStored() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(Map.of("seq", 0L, "hash", HEAD_HASH)));
+        AuditEvent event = event("AUD-1");
+        event.setTimestamp(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_789));
+
+        hashChain.link(List.of(event));
+
+        assertEquals(123_456_000, event.getTimestamp().getNano());
+    }
+
+    @Test
+    void emptyBatchTakesNoLock() {
+        hashChain.link(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static AuditEvent event(String auditId) {
+        AuditEvent event = new AuditEvent();
+        event.setAuditId(auditId);
+        event.setAction("TRANSFER");
+        event.setTimestamp(LocalDateTime.of(2024, 1, 1, 10, 0));
+        event.setPayload("{\"amount\":\"100\"}");
+        return event;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.audit.integrity;
+
+import com.bank.audit.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditHashingTest {
+
+    private final MessageDigest digest = AuditHashing.sha256();
+
+    @Test
+    void hashIsHexSha256AndDeterministic() {
+        String hash = AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, event());
+
+        assertEquals(64, hash.length());
+        assertTrue(hash.matches("[0-9a-f]{64}"));
+        assertEquals(hash, AuditHashing.chainHash(AuditHashing.sha256(), AuditHashing.GENESIS_HASH, event()));
+    }
+
+    @Test
+    void previousHashIsPartOfTheLink() {
+        String first = AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, event());
+
+        assertNotEquals(first, AuditHashing.chainHash(digest, first, event()));
+    }
+
+    @Test
+    void fieldBoundariesCannotBeShifted() {
+        AuditEvent left = event();
+        left.setAction("TRANS");
+        left.setIpAddress("FER");
+        AuditEvent right = event();
+        right.setAction("TRANSFER");
+        right.setIpAddress("");
+
+        assertNotEquals(AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, left),
+                AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, right));
+    }
+
+    @Test
+    void nullAndEmptyFieldsHashDifferently() {
+        AuditEvent withNull = event();
+        withNull.setStatus(null);
+        AuditEvent withEmpty = event();
+        withEmpty.setStatus("");
+
+        assertNotEquals(AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, withNull),
+                AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, withEmpty));
+    }
+
+    @Test
+    void traceTimingsAreHashedOnlyWhenPresent() {
+        String withoutTrace = AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, event());
+
+        AuditEvent traced = event();
+        traced.setEventTime(1_700_000_000_000L);
+        String withTrace = AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, traced);
+        traced.setEventTime(1_700_000_000_001L);
+
+        assertNotEquals(withoutTrace, withTrace);
+        assertNotEquals(withTrace, AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, traced));
+    }
+
+    private static AuditEvent event() {
+        AuditEvent event = new AuditEvent();
+        event.setChainSeq(1L);
+        event.setAuditId("AUD-1");
+        event.setUserId(7L);
+        event.setAction("TRANSFER");
+        event.setStatus("SUCCESS");
+        event.setTimestamp(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000));
+        event.setPayload("{\"amount\":\"100\"}");
+        return event;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.audit.integrity;
+
+import com.bank.audit.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MerkleTreeTest {
+
+    @Test
+    void everyLeafHasAValidProof() {
+        for (int size : new int[] { 1, 2, 7, 16, 1000 }) {
+            List<String> leaves = chain(size);
+            String root = MerkleTree.root(leaves);
+            for (int i = 0; i < size; i++) {
+                List<MerkleTree.ProofStep> proof = MerkleTree.proof(leaves, i);
+                assertTrue(proof.size() <= 32 - Integer.numberOfLeadingZeros(size));
+                assertTrue(MerkleTree.verify(leaves.get(i), proof, root), "leaf " + i + " of " + size);
+            }
+        }
+    }
+
+    @Test
+    void proofFailsForAlteredLeaf() {
+        List<String> leaves = chain(10);
+        String root = MerkleTree.root(leaves);
+        List<MerkleTree.ProofStep> proof = MerkleTree.proof(leaves, 3);
+
+        assertFalse(MerkleTree.verify(leaves.get(4), proof, root));
+    }
+
+    @Test
+    void alteringAnEventChangesItsChainHash() {
+        MessageDigest digest = AuditHashing.sha256();
+        AuditEvent event = event(1);
+        String original = AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, event);
+
+        event.setPayload("{\"amount\":\"9999\"}");
+        assertNotEquals(original, AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, event));
+
+        event.setPayload("{\"amount\":\"100\"}");
+        assertEquals(original, AuditHashing.chainHash(digest, AuditHashing.GENESIS_HASH, event));
+    }
+
+    private static List<String> chain(int size) {
+        MessageDigest digest = AuditHashing.sha256();
+        List<String> hashes = new ArrayList<>();
+        String previous = AuditHashing.GENESIS_HASH;
+        for (int i = 1; i <= size; i++) {
+            previous = AuditHashing.chainHash(digest, previous, event(i));
+            hashes.add(previous);
+        }
+        return hashes;
+    }
+
+    private static AuditEvent event(long seq) {
+        AuditEvent event = new AuditEvent();
+        event.setChainSeq(seq);
+        event.setAuditId("AUD-" + seq);
+        event.setAction("TRANSFER");
+        event.setTimestamp(LocalDateTime.of(2024, 1, 1, 10, 0).plusSeconds(seq));
+        event.setPayload("{\"amount\":\"100\"}");
+        return event;
+    }
+}
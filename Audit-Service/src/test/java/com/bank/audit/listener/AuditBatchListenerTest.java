@@ -0,0 +1,84 @@
+package com.bank.audit.listener;
+
+import com.bank.audit.metrics.AuditMetricsAggregator;
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.repository.AuditBatchWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditBatchListenerTest {
+
+    private final AuditBatchWriter auditBatchWriter = mock(AuditBatchWriter.class);
+    private final AuditMetricsAggregator metricsAggregator = mock(AuditMetricsAggregator.class);
+    private final AuditBatchListener listener = new AuditBatchListener(new AuditEventMapper(new ObjectMapper()),
+            auditBatchWriter, metricsAggregator);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesTheWholePollWithOneInsertInRecordOrder() {
+        // Above the parallel parsing threshold, which must not reorder the batch
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(record(i, "{\"n\":" + i + "}"));
+        }
+        when(auditBatchWriter.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+
+        listener.handleAuditEventBatch(records);
+
+        ArgumentCaptor<List<AuditEvent>> written = ArgumentCaptor.forClass(List.class);
+        verify(auditBatchWriter).insertAll(written.capture());
+        assertEquals(100, written.getValue().size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("{\"n\":" + i + "}", written.getValue().get(i).getPayload());
+        }
+        verify(metricsAggregator, times(100)).record(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skipsAnUnparseableRecordWithoutFailingTheBatch() {
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, "{\"n\":0}"), record(1, "not json"), record(2, "{\"n\":2}"));
+
+        listener.handleAuditEventBatch(records);
+
+        ArgumentCaptor<List<AuditEvent>> written = ArgumentCaptor.forClass(List.class);
+        verify(auditBatchWriter).insertAll(written.capture());
+        assertEquals(2, written.getValue().size());
+        assertEquals("{\"n\":2}", written.getValue().get(1).getPayload());
+        verify(metricsAggregator, times(2)).record(any());
+    }
+
+    @Test
+    void aFailedFlushPropagatesSoTheBatchIsNotAcknowledged() {
+        // With AckMode.BATCH the offsets are only committed once the listener returns
+        IllegalStateException failure = new IllegalStateException("Deadlock found when trying to get lock");
+        when(auditBatchWriter.insertAll(anyList())).thenThrow(failure);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> listener.handleAuditEventBatch(List.of(record(0, "{\"n\":0}"))));
+
+        assertSame(failure, thrown);
+        verify(metricsAggregator, never()).record(any());
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String value) {
+        return new ConsumerRecord<>("transaction-completed", 0, offset, "1234567890", value);
+    }
+}
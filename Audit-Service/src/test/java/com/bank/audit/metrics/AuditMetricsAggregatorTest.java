@@ -0,0 +1,91 @@
+package com.bank.audit.metrics;
+
+import com.bank.audit.model.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditMetricsAggregatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JdbcTemplate streamingJdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditMetricsAggregator aggregator = new AuditMetricsAggregator(jdbcTemplate, streamingJdbcTemplate);
+
+    @Test
+    void eventsRecordedWhileReconcilingAreKept() {
+        aggregator.record(event("TRANSFER", "SUCCESS", null));
+        AtomicInteger queries = new AtomicInteger();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenAnswer(invocation -> {
+            // Ingested while the count runs, after the database read its snapshot
+            aggregator.record(event("USER_LOGIN", "FAILED", null));
+            return switch (queries.getAndIncrement()) {
+                case 0 -> 100L;
+                case 1 -> 40L;
+                default -> 5L;
+            };
+        });
+
+        aggregator.reconcile();
+
+        assertEquals(103, aggregator.getTotalLogs());
+        assertEquals(40, aggregator.getTotalTransactions());
+        assertEquals(6, aggregator.getFailedLogins());
+    }
+
+    @Test
+    void totalsCountRolledUpEventsSoPurgesDoNotLowerThem() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+
+        aggregator.reconcile();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).queryForObject(sql.capture(), eq(Long.class));
+        for (String query : sql.getAllValues()) {
+            assertTrue(query.contains("FROM audit_events"), query);
+            assertTrue(query.contains("FROM audit_daily_rollups"), query);
+        }
+    }
+
+    @Test
+    void distinctCountsCoverRetainedIdsAndIdsSeenDuringTheRebuild() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        // Recorded earlier, but its rows have since been purged
+        aggregator.record(event("USER_LOGIN", "SUCCESS", 7L));
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong(1)).thenReturn(1L, 2L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rows);
+            aggregator.record(event("USER_LOGIN", "SUCCESS", 99L));
+            handler.processRow(rows);
+            return null;
+        }).when(streamingJdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        aggregator.reconcile();
+
+        assertEquals(3, aggregator.getDistinctUsers());
+    }
+
+    private static AuditEvent event(String action, String status, Long userId) {
+        AuditEvent event = new AuditEvent();
+        event.setAction(action);
+        event.setStatus(status);
+        event.setUserId(userId);
+        return event;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.audit.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchReportsZero() {
+        assertEquals(0, new HyperLogLog().cardinality());
+    }
+
+    @Test
+    void smallCountsAreExact() {
+        HyperLogLog hll = new HyperLogLog();
+        for (long i = 1; i <= 20; i++) {
+            hll.offer(i);
+            hll.offer(i);
+        }
+        assertEquals(20, hll.cardinality());
+    }
+
+    @Test
+    void largeCountsStayWithinErrorBound() {
+        HyperLogLog hll = new HyperLogLog();
+        int distinct = 100_000;
+        for (long i = 0; i < distinct; i++) {
+            hll.offer(i);
+        }
+        double error = Math.abs(hll.cardinality() - distinct) / (double) distinct;
+        assertTrue(error < 0.05, "error was " + error);
+    }
+
+    @Test
+    void rejectsOutOfRangePrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.audit.repository;
+
+import com.bank.audit.integrity.AuditHashChain;
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.search.AuditSearchIndexer;
+import com.bank.audit.search.AuditSearchIndexer.Term;
+import com.bank.audit.store.AuditPayloadStore;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuditBatchWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditPayloadStore payloadStore = mock(AuditPayloadStore.class);
+    private final AuditHashChain hashChain = mock(AuditHashChain.class);
+    private final AuditSearchIndexer searchIndexer = mock(AuditSearchIndexer.class);
+    private final AuditBatchWriter writer = new AuditBatchWriter(jdbcTemplate, payloadStore, hashChain, searchIndexer);
+
+    @Test
+    void extractsAndOffloadsBeforeLinkingThenInsertsAndIndexesTheBatch() {
+        List<AuditEvent> events = List.of(event("{\"n\":1}", null), event("{\"n\":2}", null));
+        List<List<Term>> terms = List.of(List.of(), List.of());
+        when(searchIndexer.extractAll(events)).thenReturn(terms);
+
+        assertEquals(2, writer.insertAll(events));
+
+        // Only hashing and the inserts run under the chain head lock taken by link()
+        InOrder order = inOrder(searchIndexer, payloadStore, hashChain, jdbcTemplate);
+        order.verify(searchIndexer).extractAll(events);
+        order.verify(payloadStore).offload(events);
+        order.verify(hashChain).link(events);
+        order.verify(jdbcTemplate).batchUpdate(anyString(), eq(events), eq(2), any());
+        order.verify(searchIndexer).index(events, terms);
+    }
+
+    @Test
+    void storesAnOffloadedPayloadByReferenceOnly() throws Exception {
+        AuditEvent offloaded = event("{\"n\":1}", 42L);
+        AuditEvent inline = event("{\"n\":2}", null);
+
+        writer.insertAll(List.of(offloaded, inline));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        bindSetter().setValues(ps, offloaded);
+        verify(ps).setString(11, null);
+        verify(ps).setLong(12, 42L);
+
+        PreparedStatement inlinePs = mock(PreparedStatement.class);
+        bindSetter().setValues(inlinePs, inline);
+        verify(inlinePs).setString(11, "{\"n\":2}");
+        verify(inlinePs).setNull(12, Types.BIGINT);
+    }
+
+    @Test
+    void anEmptyBatchTouchesNothing() {
+        assertEquals(0, writer.insertAll(List.of()));
+
+        verifyNoInteractions(jdbcTemplate, payloadStore, hashChain);
+        verify(searchIndexer, never()).extractAll(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ParameterizedPreparedStatementSetter<AuditEvent> bindSetter() {
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<AuditEvent>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), any(List.class), anyInt(), setter.capture());
+        return setter.getValue();
+    }
+
+    private static AuditEvent event(String payload, Long payloadRef) {
+        AuditEvent event = new AuditEvent();
+        event.setEventType("transaction-completed");
+        event.setPayload(payload);
+        event.setPayloadRef(payloadRef);
+        return event;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.audit.search;
+
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.repository.AuditSearchBackfillRepository;
+import com.bank.audit.store.AuditPayloadStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditSearchBackfillTest {
+
+    private final AuditSearchBackfillRepository backfillRepository = mock(AuditSearchBackfillRepository.class);
+    private final AuditSearchIndexer searchIndexer = mock(AuditSearchIndexer.class);
+    private final AuditPayloadStore payloadStore = mock(AuditPayloadStore.class);
+    private final AuditSearchBackfill backfill =
+            new AuditSearchBackfill(backfillRepository, searchIndexer, payloadStore, 2, 5);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexesHydratedBatchesUntilCaughtUp() {
+        List<AuditEvent> batch = List.of(event(1), event(2));
+        int[] calls = { 0 };
+        doAnswer(invocation -> {
+            if (calls[0]++ == 2) {
+                return 0;
+            }
+            invocation.getArgument(1, Consumer.class).accept(batch);
+            return batch.size();
+        }).when(backfillRepository).indexNextBatch(eq(2), any());
+
+        backfill.backfill();
+
+        verify(backfillRepository, times(3)).indexNextBatch(eq(2), any());
+        verify(payloadStore, times(2)).hydrate(batch);
+        verify(searchIndexer, times(2)).index(eq(batch), anyList());
+    }
+
+    @Test
+    void stopsAtTheBatchLimitPerRun() {
+        when(backfillRepository.indexNextBatch(eq(2), any())).thenReturn(2);
+
+        backfill.backfill();
+
+        verify(backfillRepository, times(5)).indexNextBatch(eq(2), any());
+    }
+
+    @Test
+    void doesNothingOnceCaughtUp() {
+        when(backfillRepository.indexNextBatch(eq(2), any())).thenReturn(0);
+
+        backfill.backfill();
+
+        verify(backfillRepository, never()).remaining();
+    }
+
+    private static AuditEvent event(long chainSeq) {
+        AuditEvent event = new AuditEvent();
+        event.setChainSeq(chainSeq);
+        return event;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.audit.search;
+
+import com.bank.audit.model.AuditEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditSearchIndexerTest {
+
+    private final AuditSearchIndexer indexer = new AuditSearchIndexer(null, new ObjectMapper(),
+            "senderAccountNumber,reference", "amount,debitAmount");
+
+    @Test
+    void extractsConfiguredKeysAtAnyDepth() {
+        AuditEvent event = event("{\"senderAccountNumber\":1234567890,\"details\":{\"reference\":\"REF-77A\"},"
+                + "\"ignored\":\"x\"}");
+
+        List<AuditSearchIndexer.Term> terms = indexer.extract(event);
+
+        assertEquals(3, terms.size());
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("senderAccountNumber", "1234567890", null)));
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("reference", "ref-77a", null)));
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("correlationId", "corr-1", null)));
+    }
+
+    @Test
+    void amountsCarryNumericValue() {
+        List<AuditSearchIndexer.Term> terms = indexer.extract(event("{\"debitAmount\":\"1500.50\",\"amount\":20}"));
+
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("debitAmount", "1500.50", new BigDecimal("1500.50"))));
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("amount", "20", new BigDecimal("20"))));
+    }
+
+    @Test
+    void amountsTheColumnCannotHoldStayTextTerms() {
+        List<AuditSearchIndexer.Term> terms = indexer.extract(
+                event("{\"amount\":\"1000000000000000\",\"debitAmount\":\"12.345678\"}"));
+
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("amount", "1000000000000000", null)));
+        assertTrue(terms.contains(new AuditSearchIndexer.Term("debitAmount", "12.345678", new BigDecimal("12.3457"))));
+    }
+
+    @Test
+    void unparseablePayloadKeepsMetadataTerms() {
+        List<AuditSearchIndexer.Term> terms = indexer.extract(event("not json"));
+
+        assertEquals(List.of(new AuditSearchIndexer.Term("correlationId", "corr-1", null)), terms);
+    }
+
+    private static AuditEvent event(String payload) {
+        AuditEvent event = new AuditEvent();
+        event.setChainSeq(1L);
+        event.setCorrelationId("CORR-1");
+        event.setPayload(payload);
+        return event;
+    }
+}
@@ -0,0 +1,146 @@
+package com.bank.audit.service;
+
+import com.bank.audit.dto.AuditInclusionProof;
+import com.bank.audit.dto.AuditIntegrityReport;
+import com.bank.audit.integrity.AuditHashing;
+import com.bank.audit.integrity.MerkleTree;
+import com.bank.audit.model.AuditCheckpoint;
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.repository.AuditCheckpointRepository;
+import com.bank.audit.repository.AuditRepository;
+import com.bank.audit.repository.AuditTombstoneRepository;
+import com.bank.audit.repository.ChainLink;
+import com.bank.audit.store.AuditPayloadStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditIntegrityServiceTest {
+
+    private static final int CHECKPOINT_SIZE = 4;
+
+    private final AuditRepository auditRepository = mock(AuditRepository.class);
+    private final AuditCheckpointRepository checkpointRepository = mock(AuditCheckpointRepository.class);
+    private final AuditTombstoneRepository tombstoneRepository = mock(AuditTombstoneRepository.class);
+    private final AuditPayloadStore payloadStore = mock(AuditPayloadStore.class);
+    private AuditIntegrityService integrityService;
+    private List<AuditEvent> chain;
+
+    @BeforeEach
+    void setUp() {
+        integrityService = new AuditIntegrityService(auditRepository, checkpointRepository, tombstoneRepository,
+                payloadStore, CHECKPOINT_SIZE, 2);
+        chain = chain(CHECKPOINT_SIZE);
+        when(auditRepository.findMaxChainSeq()).thenReturn((long) CHECKPOINT_SIZE);
+        when(tombstoneRepository.findByChainSeqBetween(anyLong(), anyLong())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        integrityService.destroy();
+    }
+
+    @Test
+    void intactChainVerifies() {
+        stubRows(chain);
+
+        AuditIntegrityReport report = integrityService.verify(null, null);
+
+        assertTrue(report.valid(), report.problems().toString());
+        assertEquals(CHECKPOINT_SIZE, report.verifiedEvents());
+    }
+
+    @Test
+    void alteredEventIsReported() {
+        chain.get(2).setPayload("{\"amount\":\"9999\"}");
+        stubRows(chain);
+
+        AuditIntegrityReport report = integrityService.verify(null, null);
+
+        assertFalse(report.valid());
+        assertEquals(List.of("Event #3 (id 3) does not match its hash"), report.problems());
+    }
+
+    @Test
+    void deletedEventIsReportedButATombstoneStandsIn() {
+        List<AuditEvent> withHole = new ArrayList<>(chain);
+        AuditEvent purged = withHole.remove(1);
+        stubRows(withHole);
+
+        assertEquals(List.of("Event #2 is missing"), integrityService.verify(null, null).problems());
+
+        when(tombstoneRepository.findByChainSeqBetween(anyLong(), anyLong()))
+                .thenReturn(List.of(link(purged.getChainSeq(), purged.getChainHash())));
+        assertTrue(integrityService.verify(null, null).valid());
+    }
+
+    @Test
+    void inclusionProofFoldsIntoTheCheckpointRoot() {
+        List<String> hashes = chain.stream().map(AuditEvent::getChainHash).toList();
+        AuditCheckpoint checkpoint = new AuditCheckpoint();
+        checkpoint.setStartSeq(1L);
+        checkpoint.setEndSeq((long) CHECKPOINT_SIZE);
+        checkpoint.setMerkleRoot(MerkleTree.root(hashes));
+        when(checkpointRepository.findByStartSeq(1L)).thenReturn(Optional.of(checkpoint));
+        when(auditRepository.findById(3L)).thenReturn(Optional.of(chain.get(2)));
+        when(auditRepository.findChainLinksByChainSeqBetween(1L, (long) CHECKPOINT_SIZE))
+                .thenReturn(chain.stream().map(event -> link(event.getChainSeq(), event.getChainHash())).toList());
+
+        AuditInclusionProof proof = integrityService.proveInclusion(3L);
+
+        assertEquals(3L, proof.chainSeq());
+        assertEquals(checkpoint.getMerkleRoot(), proof.merkleRoot());
+        assertTrue(MerkleTree.verify(proof.chainHash(), proof.path(), proof.merkleRoot()));
+        assertFalse(MerkleTree.verify(chain.get(0).getChainHash(), proof.path(), proof.merkleRoot()));
+    }
+
+    private void stubRows(List<AuditEvent> rows) {
+        when(auditRepository.findByChainSeqBetweenOrderByChainSeqAsc(1L, (long) CHECKPOINT_SIZE)).thenReturn(rows);
+    }
+
+    private static List<AuditEvent> chain(int size) {
+        MessageDigest digest = AuditHashing.sha256();
+        List<AuditEvent> events = new ArrayList<>();
+        String previous = AuditHashing.GENESIS_HASH;
+        for (long seq = 1; seq <= size; seq++) {
+            AuditEvent event = new AuditEvent();
+            event.setId(seq);
+            event.setChainSeq(seq);
+            event.setAuditId("AUD-" + seq);
+            event.setAction("TRANSFER");
+            event.setTimestamp(LocalDateTime.of(2024, 1, 1, 10, 0).plusSeconds(seq));
+            event.setPayload("{\"amount\":\"100\"}");
+            previous = AuditHashing.chainHash(digest, previous, event);
+            event.setChainHash(previous);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static ChainLink link(long seq, String hash) {
+        return new ChainLink() {
+            @Override
+            public Long getChainSeq() {
+                return seq;
+            }
+
+            @Override
+            public String getChainHash() {
+                return hash;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.bank.audit.service;
+
+import com.bank.audit.model.AuditEvent;
+import com.bank.audit.repository.AuditCheckpointRepository;
+import com.bank.audit.repository.AuditRetentionRepository;
+import com.bank.audit.repository.AuditRetentionRepository.RollupKey;
+import com.bank.audit.store.AuditPayloadStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditRetentionServiceTest {
+
+    private final AuditRetentionRepository retentionRepository = mock(AuditRetentionRepository.class);
+    private final AuditCheckpointRepository checkpointRepository = mock(AuditCheckpointRepository.class);
+    private final AuditPayloadStore payloadStore = mock(AuditPayloadStore.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archivesRollsUpAndPurgesExpiredEvents() throws Exception {
+        List<AuditEvent> batch = List.of(
+                event(1, "2026-01-01T10:00", "SUCCESS"),
+                event(2, "2026-01-01T11:00", "SUCCESS"),
+                event(3, "2026-01-02T09:00", "FAILED"));
+        when(retentionRepository.findExpired(isNull(), anyCollection(), any(), anyLong(), anyInt()))
+                .thenReturn(batch, List.of());
+
+        newService("*=90").applyRetention();
+
+        verify(payloadStore).hydrate(batch);
+        ArgumentCaptor<Map<RollupKey, Long>> rollups = ArgumentCaptor.forClass(Map.class);
+        verify(retentionRepository).purge(eq(batch), rollups.capture());
+        assertEquals(Map.of(
+                new RollupKey(LocalDate.of(2026, 1, 1), "login", "LOGIN", "SUCCESS"), 2L,
+                new RollupKey(LocalDate.of(2026, 1, 2), "login", "LOGIN", "FAILED"), 1L), rollups.getValue());
+
+        Path archive = archiveDirectory.resolve("other").resolve("2026-01-01_1-3.ndjson.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertEquals(3, lines.size());
+            JsonNode first = objectMapper.readTree(lines.get(0));
+            assertEquals("audit-1", first.get("auditId").asText());
+            assertEquals("{\"n\":1}", first.get("payload").asText());
+        }
+    }
+
+    @Test
+    void nothingIsPurgedWhenArchivingFails() throws Exception {
+        List<AuditEvent> batch = List.of(event(1, "2026-01-01T10:00", "SUCCESS"));
+        when(retentionRepository.findExpired(isNull(), anyCollection(), any(), anyLong(), anyInt()))
+                .thenReturn(batch);
+        // The archive directory cannot be created under a regular file
+        Path blocked = archiveDirectory.resolve("blocked");
+        Files.writeString(blocked, "");
+
+        new AuditRetentionService(retentionRepository, checkpointRepository, payloadStore, objectMapper,
+                "*=90", blocked.toString(), 1000, 10).applyRetention();
+
+        verify(retentionRepository, never()).purge(any(), anyMap());
+        verify(payloadStore, never()).reclaim(any());
+    }
+
+    @Test
+    void reclaimsPayloadsOlderThanTheShortestPolicy() {
+        when(retentionRepository.findExpired(any(), anyCollection(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        newService("transaction-completed=365, *=90").applyRetention();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(payloadStore).reclaim(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before.minusDays(90)));
+        assertTrue(cutoff.getValue().isBefore(before.minusDays(89)));
+        verify(retentionRepository, never()).purge(any(), anyMap());
+    }
+
+    private AuditRetentionService newService(String rawDays) {
+        return new AuditRetentionService(retentionRepository, checkpointRepository, payloadStore, objectMapper,
+                rawDays, archiveDirectory.toString(), 1000, 10);
+    }
+
+    private static AuditEvent event(long id, String timestamp, String status) {
+        AuditEvent event = new AuditEvent();
+        event.setId(id);
+        event.setAuditId("audit-" + id);
+        event.setAction("LOGIN");
+        event.setEventType("login");
+        event.setStatus(status);
+        event.setTimestamp(LocalDateTime.parse(timestamp));
+        event.setPayload("{\"n\":" + id + "}");
+        return event;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bank.audit.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRecordsBackAcrossRolledSegmentsAndRestarts() throws IOException {
+        List<SegmentLog.Record> records = records(200);
+        long[] refs;
+        try (SegmentLog log = newLog()) {
+            refs = log.appendAll(records);
+        }
+        assertTrue(Files.exists(directory.resolve("0000000001.seal")));
+
+        try (SegmentLog log = newLog()) {
+            for (int i = 0; i < records.size(); i++) {
+                assertArrayEquals(records.get(i).data(), log.read(refs[i]));
+            }
+        }
+    }
+
+    @Test
+    void scanReturnsOnlyRecordsInTheWindow() throws IOException {
+        try (SegmentLog log = newLog()) {
+            log.appendAll(records(200));
+
+            List<Long> timestamps = new ArrayList<>();
+            log.scan(1100, 1149, record -> timestamps.add(record.timestamp()));
+
+            assertEquals(50, timestamps.size());
+            assertEquals(1100L, timestamps.get(0));
+            assertEquals(1149L, timestamps.get(49));
+        }
+    }
+
+    @Test
+    void truncatesTornWriteOnRecovery() throws IOException {
+        long[] refs;
+        try (SegmentLog log = newLog()) {
+            refs = log.appendAll(records(3));
+        }
+        Path active = directory.resolve("0000000001.seg");
+        Files.write(active, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+        try (SegmentLog log = newLog()) {
+            assertArrayEquals(records(3).get(2).data(), log.read(refs[2]));
+            long[] next = log.appendAll(List.of(record(5000, "after-recovery")));
+            assertEquals("after-recovery", new String(log.read(next[0]), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void detectsCorruptedRecord() throws IOException {
+        long[] refs;
+        try (SegmentLog log = newLog()) {
+            refs = log.appendAll(records(200));
+        }
+        Path sealed = directory.resolve("0000000001.seg");
+        byte[] bytes = Files.readAllBytes(sealed);
+        bytes[30] ^= 1;
+        Files.write(sealed, bytes);
+
+        try (SegmentLog log = newLog()) {
+            assertThrows(IOException.class, () -> log.read(refs[0]));
+        }
+    }
+
+    @Test
+    void refusesASecondOpenOfTheSameDirectory() throws IOException {
+        try (SegmentLog log = newLog()) {
+            assertThrows(IOException.class, this::newLog);
+        }
+        // Released on close
+        newLog().close();
+    }
+
+    @Test
+    void deletesSealedSegmentsOlderThanACutoffButNeverTheActiveOne() throws IOException {
+        long[] refs;
+        try (SegmentLog log = newLog()) {
+            refs = log.appendAll(records(200));
+            int activeId = (int) (refs[199] >>> 32);
+
+            assertTrue(log.sealedSegmentsBefore(1000).isEmpty());
+            List<Integer> expired = log.sealedSegmentsBefore(Long.MAX_VALUE);
+            assertEquals(activeId - 1, expired.size());
+            assertEquals(1, (int) expired.get(0));
+            assertThrows(IllegalArgumentException.class, () -> log.delete(activeId));
+
+            log.delete(1);
+            assertThrows(IOException.class, () -> log.read(refs[0]));
+            assertArrayEquals(records(200).get(199).data(), log.read(refs[199]));
+        }
+        assertFalse(Files.exists(directory.resolve("0000000001.seg")));
+        assertFalse(Files.exists(directory.resolve("0000000001.seal")));
+
+        try (SegmentLog log = newLog()) {
+            assertArrayEquals(records(200).get(199).data(), log.read(refs[199]));
+            assertFalse(log.sealedSegmentsBefore(Long.MAX_VALUE).contains(1));
+        }
+    }
+
+    @Test
+    void selectsSegmentsBySealTimeRegardlessOfRecordTimestamps() throws IOException {
+        try (SegmentLog log = newLog()) {
+            long[] refs = log.appendAll(records(200));
+            int activeId = (int) (refs[199] >>> 32);
+            Files.setLastModifiedTime(directory.resolve("0000000001.seal"), FileTime.fromMillis(5_000));
+
+            assertEquals(List.of(1), log.segmentsSealedBefore(10_000));
+            assertEquals(activeId - 1, log.segmentsSealedBefore(Long.MAX_VALUE).size());
+            assertFalse(log.segmentsSealedBefore(Long.MAX_VALUE).contains(activeId));
+        }
+    }
+
+    private SegmentLog newLog() throws IOException {
+        return new SegmentLog(directory, 4096, 256, 64, true);
+    }
+
+    private static List<SegmentLog.Record> records(int count) {
+        List<SegmentLog.Record> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(record(1000 + i, "{\"n\":" + i + ",\"pad\":\"" + "x".repeat(i % 100) + "\"}"));
+        }
+        return records;
+    }
+
+    private static SegmentLog.Record record(long timestamp, String payload) {
+        return new SegmentLog.Record(timestamp, payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
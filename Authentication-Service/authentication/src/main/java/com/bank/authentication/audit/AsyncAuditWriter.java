@@ -0,0 +1,159 @@
+package com.bank.authentication.audit;
+
+import com.bank.authentication.model.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes {@link AuditLog} writes off the request thread. Entries go into a bounded
+ * {@link AuditRingBuffer} and a single background thread batch-inserts them through JDBC
+ * (JPA cannot batch inserts on an IDENTITY key).
+ *
+ * <p>When the buffer is full the overflow policy decides: {@code caller-runs} (the default)
+ * writes the entry synchronously on the caller's thread, so audit rows are never lost and the
+ * caller absorbs the backpressure; {@code drop} discards it and counts it. Whatever is still
+ * buffered at shutdown is flushed before the datasource goes away.
+ */
+@Component
+public class AsyncAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncAuditWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs "
+            + "(action, username, ip_address, user_agent, accept_language, referer, correlation_id, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditRingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final boolean dropOnOverflow;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter callerRuns;
+    private final Counter written;
+    private final Counter writeFailures;
+    private final Timer batchTimer;
+
+    public AsyncAuditWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${bank.audit.async.capacity:8192}") int capacity,
+            @Value("${bank.audit.async.batch-size:256}") int batchSize,
+            @Value("${bank.audit.async.flush-interval-ms:50}") long flushIntervalMs,
+            @Value("${bank.audit.async.overflow-policy:caller-runs}") String overflowPolicy) {
+        if (!"caller-runs".equals(overflowPolicy) && !"drop".equals(overflowPolicy)) {
+            throw new IllegalArgumentException("Unknown audit overflow policy: " + overflowPolicy);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.dropOnOverflow = "drop".equals(overflowPolicy);
+
+        Gauge.builder("auth.audit.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit log entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.queue.capacity", buffer, AuditRingBuffer::capacity)
+                .register(meterRegistry);
+        this.enqueued = Counter.builder("auth.audit.enqueued").register(meterRegistry);
+        this.dropped = Counter.builder("auth.audit.dropped")
+                .description("Audit entries discarded because the buffer was full")
+                .register(meterRegistry);
+        this.callerRuns = Counter.builder("auth.audit.caller.runs")
+                .description("Audit entries written on the request thread because the buffer was full")
+                .register(meterRegistry);
+        this.written = Counter.builder("auth.audit.written").register(meterRegistry);
+        this.writeFailures = Counter.builder("auth.audit.write.failures")
+                .description("Audit entries lost to failed batch inserts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.audit.batch.duration").register(meterRegistry);
+
+        this.writerThread = new Thread(this::runWriter, "auth-audit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public void submit(AuditLog auditLog) {
+        if (buffer.offer(auditLog)) {
+            enqueued.increment();
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return;
+        }
+        if (dropOnOverflow) {
+            dropped.increment();
+            logger.warn("Audit buffer full, dropped {} for {}", auditLog.getAction(), auditLog.getUsername());
+        } else {
+            callerRuns.increment();
+            write(List.of(auditLog));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        // The writer drains the buffer on its way out; only it may consume from the buffer
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        if (writerThread.isAlive()) {
+            logger.warn("Audit writer still flushing at shutdown, {} entries pending", buffer.size());
+        }
+    }
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+        flushRemaining();
+    }
+
+    private void flushRemaining() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, log) -> {
+                ps.setString(1, log.getAction());
+                ps.setString(2, log.getUsername());
+                ps.setString(3, log.getIpAddress());
+                ps.setString(4, log.getUserAgent());
+                ps.setString(5, log.getAcceptLanguage());
+                ps.setString(6, log.getReferer());
+                ps.setString(7, log.getCorrelationId());
+                ps.setTimestamp(8, Timestamp.valueOf(log.getTimestamp()));
+            }));
+            written.increment(batch.size());
+        } catch (Exception e) {
+            writeFailures.increment(batch.size());
+            logger.error("Failed to write {} audit log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.authentication.audit;
 
+import com.bank.authentication.session.CorrelationContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
@@ -20,7 +21,8 @@ public class AuditLogInterceptor implements HandlerInterceptor {
         String userAgent = request.getHeader("User-Agent");
         String acceptLanguage = request.getHeader("Accept-Language");
         String referer = request.getHeader("Referer");
-        String correlationId = request.getHeader("bank-correlation-id");
+        // CorrelationIdFilter has already bound (or minted) the id for this request
+        String correlationId = CorrelationContext.getCorrelationId();
 
         AuditContext.setIpAddress(ipAddress);
         AuditContext.setUserAgent(userAgent);
@@ -0,0 +1,50 @@
+package com.bank.authentication.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for work moved off the request thread. Queues are bounded and overflow runs on
+ * the caller, so a slow database degrades latency instead of exhausting memory.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = "loginWriteExecutor")
+    public ThreadPoolTaskExecutor loginWriteExecutor(
+            @Value("${bank.login.write-executor.threads:2}") int threads,
+            @Value("${bank.login.write-executor.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-write-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Sessions queued at shutdown are still written
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Password hashing pool. Deliberately small, with the default abort policy: a burst
+     * of logins gets rejected here instead of taking every core from the rest of the service.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${bank.password.hash-executor.threads:0}") int threads,
+            @Value("${bank.password.hash-executor.queue-capacity:64}") int queueCapacity) {
+        // 0 means half the available cores
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+}
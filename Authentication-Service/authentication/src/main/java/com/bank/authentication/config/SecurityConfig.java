@@ -1,11 +1,14 @@
 package com.bank.authentication.config;
 
+import com.bank.authentication.security.AdaptivePasswordEncoder;
+import com.bank.authentication.security.BankingRolePermissionMapper;
 import com.bank.authentication.service.UserDetailsServiceImpl;
 import com.bank.authentication.session.SessionFilter;
 import com.bank.authentication.util.AuthEntryPointJwt;
 import com.bank.authentication.util.AuthTokenFilter;
 import com.bank.authentication.util.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,7 +17,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -28,23 +30,30 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils;
+    private final BankingRolePermissionMapper permissionMapper;
+
+    @Value("${bank.session.mode:stateless}")
+    private String sessionMode;
 
     @Autowired
     public SecurityConfig(UserDetailsServiceImpl userDetailsService, AuthEntryPointJwt unauthorizedHandler,
-            JwtUtils jwtUtils) {
+            JwtUtils jwtUtils, BankingRolePermissionMapper permissionMapper) {
         this.userDetailsService = userDetailsService;
         this.unauthorizedHandler = unauthorizedHandler;
         this.jwtUtils = jwtUtils;
+        this.permissionMapper = permissionMapper;
     }
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+        return new AuthTokenFilter(jwtUtils, userDetailsService, permissionMapper, sessionMode);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${bank.password.target-hash-ms:250}") long targetHashMillis,
+            @Value("${bank.password.min-strength:10}") int minStrength,
+            @Value("${bank.password.max-strength:16}") int maxStrength) {
+        return new AdaptivePasswordEncoder(targetHashMillis, minStrength, maxStrength);
     }
 
     @Bean
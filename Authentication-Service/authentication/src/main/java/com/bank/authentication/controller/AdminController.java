@@ -2,6 +2,7 @@ package com.bank.authentication.controller;
 
 import com.bank.authentication.audit.AuditLogger;
 import com.bank.authentication.dto.ApiResponse;
+import com.bank.authentication.dto.UserSummaryDto;
 import com.bank.authentication.kafka.AdminAuditProducer;
 import com.bank.authentication.model.User;
 import com.bank.authentication.service.UserService;
@@ -10,6 +11,7 @@ import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +19,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +31,9 @@ public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private UserService userService;
 
@@ -92,30 +98,41 @@ public class AdminController {
     }
 
     /**
-     * STEP 4: USER MANAGEMENT - View system users
+     * STEP 4: USER MANAGEMENT - View system users, one page at a time (ordered by user id)
      */
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllUsers(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllUsers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
             @RequestHeader(value = "bank-correlation-id", required = false) String correlationId,
             Authentication authentication) {
         
         try {
             String adminUsername = authentication.getName();
-            List<User> users = userService.findAllUsers();
+            int pageNumber = (page != null && page >= 0) ? page : 0;
+            int pageSize = (size != null && size > 0) ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+            Slice<UserSummaryDto> users = userService.findUserSummaries(pageNumber, pageSize);
             
             // Convert to safe response format (exclude sensitive data)
-            List<Map<String, Object>> userSummaries = users.stream()
-                    .map(this::createUserSummary)
+            LocalDateTime now = LocalDateTime.now();
+            List<Map<String, Object>> userSummaries = users.getContent().stream()
+                    .map(user -> createUserSummary(user, now))
                     .toList();
 
+            Map<String, Object> response = new HashMap<>();
+            response.put("content", userSummaries);
+            response.put("currentPage", users.getNumber());
+            response.put("pageSize", users.getSize());
+            response.put("hasNext", users.hasNext());
+
             // Emit dashboard access event
             User adminUser = userService.findByUsername(adminUsername);
             adminAuditProducer.emitDashboardAccess(adminUser.getUserId(), adminUsername, "USER_MANAGEMENT");
             
             auditLogger.logAction("ADMIN_USERS_VIEW", adminUsername);
 
-            return ResponseEntity.ok(new ApiResponse<>(true, userSummaries, "Users retrieved successfully"));
+            return ResponseEntity.ok(new ApiResponse<>(true, response, "Users retrieved successfully"));
 
         } catch (Exception e) {
             logger.error("Error retrieving users", e);
@@ -292,21 +309,21 @@ public class AdminController {
     }
 
     // Helper methods
-    private Map<String, Object> createUserSummary(User user) {
+    private Map<String, Object> createUserSummary(UserSummaryDto user, LocalDateTime now) {
         Map<String, Object> summary = new HashMap<>();
-        summary.put("user_id", user.getUserId());
-        summary.put("username", user.getUsername());
-        summary.put("email", user.getEmail());
-        summary.put("first_name", user.getFirstName());
-        summary.put("last_name", user.getLastName());
-        summary.put("phone_number", user.getPhoneNumber());
-        summary.put("roles", user.getRoles());
-        summary.put("permissions", user.getPermissions());
-        summary.put("status", user.getLockedUntil() != null && user.getLockedUntil().isAfter(java.time.LocalDateTime.now()) ? "LOCKED" : "ACTIVE");
-        summary.put("failed_attempts", user.getFailedLoginAttempts());
-        summary.put("locked_until", user.getLockedUntil());
-        summary.put("created_at", user.getCreatedAt());
-        summary.put("last_login", user.getLastLogin());
+        summary.put("user_id", user.userId());
+        summary.put("username", user.username());
+        summary.put("email", user.email());
+        summary.put("first_name", user.firstName());
+        summary.put("last_name", user.lastName());
+        summary.put("phone_number", user.phoneNumber());
+        summary.put("roles", user.roles());
+        summary.put("permissions", user.permissions());
+        summary.put("status", user.isLocked(now) ? "LOCKED" : "ACTIVE");
+        summary.put("failed_attempts", user.failedLoginAttempts());
+        summary.put("locked_until", user.lockedUntil());
+        summary.put("created_at", user.createdAt());
+        summary.put("last_login", user.lastLogin());
         // Note: Excluding password and other sensitive data
         return summary;
     }
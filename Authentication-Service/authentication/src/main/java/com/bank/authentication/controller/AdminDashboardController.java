@@ -2,9 +2,14 @@ package com.bank.authentication.controller;
 
 import com.bank.authentication.audit.AuditLogger;
 import com.bank.authentication.dto.ApiResponse;
+import com.bank.authentication.enums.BankUserRole;
 import com.bank.authentication.kafka.AdminAuditProducer;
+import com.bank.authentication.dto.CustomerUserCounts;
 import com.bank.authentication.model.User;
+import com.bank.authentication.service.TransactionStatsView;
 import com.bank.authentication.service.UserService;
+import com.bank.authentication.service.UserStatisticsService;
+import com.bank.authentication.service.UserStatisticsService.UserStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,6 +31,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/admin/dashboard")
 @CrossOrigin(origins = "*")
+@PreAuthorize("@permissionGuard.has('ADMIN_VIEW_METRICS')")
 public class AdminDashboardController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminDashboardController.class);
@@ -35,6 +39,12 @@ public class AdminDashboardController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserStatisticsService userStatisticsService;
+
+    @Autowired
+    private TransactionStatsView transactionStatsView;
+
     @Autowired
     private AdminAuditProducer adminAuditProducer;
 
@@ -204,31 +214,19 @@ public class AdminDashboardController {
     private Map<String, Object> calculateSystemMetrics() {
         Map<String, Object> metrics = new HashMap<>();
 
-        // Total users by role
-        List<User> allUsers = userService.findAllUsers();
-        long totalUsers = allUsers.size();
-        long adminUsers = allUsers.stream().filter(user -> hasRole(user, "ADMIN")).count();
-        long customerUsers = allUsers.stream()
-                .filter(user -> hasRole(user, "CUSTOMER") || hasRole(user, "CUSTOMER_USER")).count();
-        long staffUsers = allUsers.stream().filter(user -> hasRole(user, "BANK_STAFF")).count();
-        long auditorUsers = allUsers.stream().filter(user -> hasRole(user, "AUDITOR")).count();
-
-        // User status breakdown
-        long activeUsers = allUsers.stream().filter(user -> user.getLockedUntil() == null ||
-                user.getLockedUntil().isBefore(LocalDateTime.now())).count();
-        long lockedUsers = totalUsers - activeUsers;
-
-        metrics.put("total_users", totalUsers);
-        metrics.put("admin_users", adminUsers);
-        metrics.put("customer_users", customerUsers);
-        metrics.put("staff_users", staffUsers);
-        metrics.put("auditor_users", auditorUsers);
-        metrics.put("active_users", activeUsers);
-        metrics.put("locked_users", lockedUsers);
+        // Users by role and status from the aggregate snapshot, not from loaded users
+        UserStatistics statistics = userStatisticsService.current();
+        metrics.put("total_users", statistics.totalUsers());
+        metrics.put("admin_users", statistics.usersWithRole(BankUserRole.ADMIN));
+        metrics.put("customer_users", statistics.usersWithRole(BankUserRole.CUSTOMER));
+        metrics.put("staff_users", statistics.usersWithRole(BankUserRole.BANK_STAFF));
+        metrics.put("auditor_users", statistics.usersWithRole(BankUserRole.AUDITOR));
+        metrics.put("active_users", statistics.activeUsers());
+        metrics.put("locked_users", statistics.lockedUsers());
 
         // System health indicators
-        metrics.put("system_health", calculateSystemHealth());
-        metrics.put("last_updated", LocalDateTime.now());
+        metrics.put("system_health", calculateSystemHealth(statistics));
+        metrics.put("last_updated", statistics.computedAt());
 
         return metrics;
     }
@@ -236,76 +234,31 @@ public class AdminDashboardController {
     private Map<String, Object> calculateCustomerStatistics() {
         Map<String, Object> stats = new HashMap<>();
 
-        List<User> allUsers = userService.findAllUsers();
-        List<User> customers = allUsers.stream()
-                .filter(user -> hasRole(user, "CUSTOMER") || hasRole(user, "CUSTOMER_USER"))
-                .toList();
-
-        // Customer registration trends
-        long newCustomersThisMonth = customers.stream()
-                .filter(user -> user.getCreatedAt() != null &&
-                        user.getCreatedAt().isAfter(LocalDateTime.now().minusMonths(1)))
-                .count();
-
-        long newCustomersThisWeek = customers.stream()
-                .filter(user -> user.getCreatedAt() != null &&
-                        user.getCreatedAt().isAfter(LocalDateTime.now().minusWeeks(1)))
-                .count();
-
-        stats.put("total_customers", customers.size());
-        stats.put("new_this_month", newCustomersThisMonth);
-        stats.put("new_this_week", newCustomersThisWeek);
-        stats.put("active_customers", customers.stream()
-                .filter(user -> user.getLockedUntil() == null ||
-                        user.getLockedUntil().isBefore(LocalDateTime.now()))
-                .count());
+        CustomerUserCounts customers = userStatisticsService.current().customers();
+        stats.put("total_customers", customers.total());
+        stats.put("new_this_month", customers.newThisMonth());
+        stats.put("new_this_week", customers.newThisWeek());
+        stats.put("active_customers", customers.active());
 
         return stats;
     }
 
-    @Autowired
-    private com.bank.authentication.feignclient.TransactionService transactionService;
+    // Both come from the transaction-stats stream; before the first record they report zeros
+    // with status WARMING_UP
 
     private Map<String, Object> calculateTransactionStatistics() {
-        try {
-            return transactionService.getTransactionMetrics();
-        } catch (Exception e) {
-            logger.error("Error fetching transaction metrics", e);
-            // Return mock data for now to isolate the issue
-            Map<String, Object> mockData = new HashMap<>();
-            mockData.put("total_transactions", 1250);
-            mockData.put("successful_transactions", 1200);
-            mockData.put("failed_transactions", 50);
-            mockData.put("total_amount", 2500000.00);
-            mockData.put("status", "Service Temporarily Unavailable - Showing Mock Data");
-            return mockData;
-        }
+        return transactionStatsView.transactionStatistics();
     }
 
     private Map<String, Object> calculateFailedTransactions() {
-        try {
-            return transactionService.getFailedTransactionMetrics();
-        } catch (Exception e) {
-            logger.error("Error fetching failed transaction metrics", e);
-            // Return mock data for now to isolate the issue
-            Map<String, Object> mockData = new HashMap<>();
-            mockData.put("failed_count_24h", 15);
-            mockData.put("failure_rate", 2.5);
-            mockData.put("common_failure_reasons", "Insufficient funds, Invalid account");
-            mockData.put("status", "Service Temporarily Unavailable - Showing Mock Data");
-            return mockData;
-        }
+        return transactionStatsView.failedTransactions();
     }
 
-    private Map<String, Object> calculateSystemHealth() {
+    private Map<String, Object> calculateSystemHealth(UserStatistics statistics) {
         Map<String, Object> health = new HashMap<>();
 
-        List<User> allUsers = userService.findAllUsers();
-        long totalUsers = allUsers.size();
-        long lockedUsers = allUsers.stream()
-                .filter(user -> user.getLockedUntil() != null &&
-                        user.getLockedUntil().isAfter(LocalDateTime.now()))
-                .count();
+        long totalUsers = statistics.totalUsers();
+        long lockedUsers = statistics.lockedUsers();
 
         double lockRate = totalUsers > 0 ? (double) lockedUsers / totalUsers * 100 : 0;
 
@@ -325,9 +278,4 @@ public class AdminDashboardController {
 
         return health;
     }
-
-    private boolean hasRole(User user, String roleName) {
-        return user.getRoles() != null &&
-                user.getRoles().stream().anyMatch(role -> roleName.equals(role.getRoleName()));
-    }
 }
@@ -4,10 +4,12 @@ import com.bank.authentication.audit.AuditLogger;
 import com.bank.authentication.dto.ApiResponse;
 import com.bank.authentication.dto.LoginRequestDto;
 import com.bank.authentication.dto.LoginResponseDto;
+import com.bank.authentication.exception.LoginThrottledException;
 import com.bank.authentication.service.AuthService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
@@ -41,6 +43,10 @@ public class AuthController {
         } catch (AuthenticationException | javax.naming.AuthenticationException e) {
             logger.debug("bank-correlation-id found: {} ", correlationId);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiResponse<>(false, null, "Bad Credentials"));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
         }
     }
 
@@ -4,6 +4,7 @@ import com.bank.authentication.audit.AuditLogger;
 import com.bank.authentication.dto.EnhancedCustomerRegistrationDTO;
 import com.bank.authentication.dto.UserDetailDto;
 import com.bank.authentication.event.UserRegisteredEvent;
+import com.bank.authentication.kafka.KafkaEventPublisher;
 import com.bank.authentication.feignclient.CustomerService;
 import com.bank.authentication.feignclient.AccountService;
 import com.bank.authentication.model.User;
@@ -16,7 +17,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -38,7 +38,7 @@ public class EnhancedUserController {
     private AccountService accountService;
     
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaEventPublisher eventPublisher;
 
     private static final Logger logger = LoggerFactory.getLogger(EnhancedUserController.class);
 
@@ -86,7 +86,7 @@ public class EnhancedUserController {
                         createdUser.getLastName()
                     );
                     
-                    kafkaTemplate.send("user-registered", event);
+                    eventPublisher.publish("user-registered", event);
                     logger.info("Published UserRegisteredEvent for user: {}", user.getUsername());
                 } catch (Exception e) {
                     logger.error("Failed to publish UserRegisteredEvent", e);
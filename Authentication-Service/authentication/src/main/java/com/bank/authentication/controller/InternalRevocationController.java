@@ -0,0 +1,83 @@
+package com.bank.authentication.controller;
+
+import com.bank.authentication.security.InternalApiGuard;
+import com.bank.authentication.security.RevokedTokenIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Revocation state the gateway mirrors so it can check tokens without a call here. It reveals
+ * which users revoked their sessions, so it lives outside /api (the gateway routes no
+ * /internal path) and every call must carry the internal API key.
+ */
+@RestController
+@RequestMapping("/internal/auth/revocations")
+@RequiredArgsConstructor
+public class InternalRevocationController {
+
+    private final RevokedTokenIndex revokedTokenIndex;
+    private final InternalApiGuard internalApiGuard;
+
+    /** Current revoked-token Bloom filter; 503 until the first build from Redis completes. */
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Mono<ResponseEntity<byte[]>> revocationFilter(
+            @RequestHeader(value = InternalApiGuard.HEADER, required = false) String apiKey) {
+        if (!internalApiGuard.permits(apiKey)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<byte[]>build());
+        }
+        return Mono.fromCallable(() -> {
+            byte[] snapshot = revokedTokenIndex.snapshot();
+            return snapshot != null
+                    ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(snapshot)
+                    : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<byte[]>build();
+        });
+    }
+
+    /** Revoke-all epochs by user id, for the gateway alongside the filter; 503 until loaded. */
+    @GetMapping("/users")
+    public Mono<ResponseEntity<Map<Long, Long>>> revokedUsers(
+            @RequestHeader(value = InternalApiGuard.HEADER, required = false) String apiKey) {
+        if (!internalApiGuard.permits(apiKey)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<Map<Long, Long>>build());
+        }
+        return Mono.fromCallable(() -> {
+            Map<Long, Long> epochs = revokedTokenIndex.userEpochSnapshot();
+            return epochs != null
+                    ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(epochs)
+                    : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<Map<Long, Long>>build();
+        });
+    }
+
+    /**
+     * One user's revoke-all epoch in epoch millis, 204 if there is none. The gateway asks this
+     * while its own copy of the epochs is missing or stale; 503 if Redis cannot answer.
+     */
+    @GetMapping("/users/{userId}")
+    public Mono<ResponseEntity<Long>> revokedUser(@PathVariable long userId,
+            @RequestHeader(value = InternalApiGuard.HEADER, required = false) String apiKey) {
+        if (!internalApiGuard.permits(apiKey)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<Long>build());
+        }
+        return Mono.fromCallable(() -> {
+            try {
+                Long revokedBefore = revokedTokenIndex.userEpoch(userId);
+                return revokedBefore != null
+                        ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(revokedBefore)
+                        : ResponseEntity.noContent().<Long>build();
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<Long>build();
+            }
+        });
+    }
+}
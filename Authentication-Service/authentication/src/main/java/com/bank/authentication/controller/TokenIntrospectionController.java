@@ -4,10 +4,13 @@ import com.bank.authentication.dto.TokenIntrospectionRequest;
 import com.bank.authentication.dto.TokenValidationResponse;
 import com.bank.authentication.dto.TokenRevocationRequest;
 import com.bank.authentication.model.User;
+import com.bank.authentication.security.IntrospectionCache;
+import com.bank.authentication.security.ParsedToken;
 import com.bank.authentication.service.JwtTokenService;
 import com.bank.authentication.service.TokenRevocationService;
 import com.bank.authentication.service.UserService;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -16,7 +19,6 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
-import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,10 +36,11 @@ public class TokenIntrospectionController {
     private final JwtTokenService jwtTokenService;
     private final UserService userService;
     private final TokenRevocationService tokenRevocationService;
+    private final IntrospectionCache introspectionCache;
     
     /**
-     * Introspect token - ALWAYS called by API Gateway
-     * NEVER trust JWT locally - always validate here
+     * Introspect token: full check of signature, user status and revocation.
+     * Results are cached briefly per token, see {@link IntrospectionCache}.
      */
     @PostMapping("/introspect")
     public Mono<ResponseEntity<TokenValidationResponse>> introspectToken(
@@ -47,53 +50,42 @@ public class TokenIntrospectionController {
         log.debug("Token introspection request received from: {}", httpRequest.getRemoteAddress());
         
         return Mono.fromCallable(() -> {
+            long start = System.nanoTime();
             try {
                 String token = request.getToken();
-                // 1. Parse JWT without trusting signature first
-                var claims = jwtTokenService.extractClaims(token);
-                
-                // 2. Validate signature
-                if (!jwtTokenService.validateToken(token)) {
-                    log.warn("Invalid token signature");
-                    return ResponseEntity.ok(TokenValidationResponse.invalid("Invalid token signature"));
+                // 0. A token rejected moments ago is rejected again without re-verifying it
+                String tokenKey = IntrospectionCache.tokenKey(token);
+                TokenValidationResponse rejected = introspectionCache.getIfPresent(tokenKey);
+                if (rejected != null) {
+                    introspectionCache.recordLatency(true, start);
+                    return ResponseEntity.ok(rejected);
                 }
-                
-                // 3. Check expiry
-                if (isTokenExpired(claims)) {
+
+                // 1. Verify signature and expiry once; everything below reads the parsed token
+                ParsedToken parsed;
+                try {
+                    parsed = jwtTokenService.parse(token);
+                } catch (ExpiredJwtException e) {
                     log.warn("Token expired");
+                    introspectionCache.put(tokenKey, IntrospectionCache.Entry.invalid("Token expired"));
+                    introspectionCache.recordLatency(false, start);
                     return ResponseEntity.ok(TokenValidationResponse.invalid("Token expired"));
+                } catch (JwtException e) {
+                    log.warn("Invalid token signature");
+                    introspectionCache.put(tokenKey, IntrospectionCache.Entry.invalid("Invalid token signature"));
+                    introspectionCache.recordLatency(false, start);
+                    return ResponseEntity.ok(TokenValidationResponse.invalid("Invalid token signature"));
                 }
-                
-                // 4. Get user and validate status
-                String userId = claims.getId();
-                Optional<User> userOpt = userService.findById(Long.parseLong(userId));
-                
-                if (userOpt.isEmpty() || !userOpt.get().isEnabled() || !userOpt.get().isAccountNonLocked()) {
-                    log.warn("User not found or inactive: {}", userId);
-                    return ResponseEntity.ok(TokenValidationResponse.invalid("User not found or inactive"));
-                }
-                
-                User user = userOpt.get();
-                
-                // 5. Check token revocation
-                if (tokenRevocationService.isRevoked(claims.getId())) {
-                    log.warn("Token has been revoked: {}", claims.getId());
-                    return ResponseEntity.ok(TokenValidationResponse.invalid("Token has been revoked"));
+
+                // 2-4. User status and revocation, cached per token id until revoked or expired
+                String key = parsed.tokenId() != null ? parsed.tokenId() : tokenKey;
+                TokenValidationResponse cached = introspectionCache.getIfPresent(key);
+                if (cached != null) {
+                    introspectionCache.recordLatency(true, start);
+                    return ResponseEntity.ok(cached);
                 }
-                
-                // 6. Build validation response
-                TokenValidationResponse response = TokenValidationResponse.builder()
-                        .active(true)
-                        .username(user.getUsername())
-                        .userId(user.getUserId().toString())
-                        .roles(user.getRoles().stream().map(role -> role.getRoleName()).collect(Collectors.toSet()))
-                        .permissions(user.getPermissions().stream().map(perm -> perm.getPermissionName()).collect(Collectors.toSet()))
-                        .expiresAt(jwtTokenService.extractExpiration(token))
-                        .issuedAt(jwtTokenService.extractIssuedAt(token))
-                        .tokenType("Bearer")
-                        .build();
-                
-                log.debug("Token introspection successful for user: {}", user.getUsername());
+                TokenValidationResponse response = introspectionCache.get(key, () -> introspect(parsed));
+                introspectionCache.recordLatency(false, start);
                 return ResponseEntity.ok(response);
                 
             } catch (Exception e) {
@@ -102,6 +94,40 @@ public class TokenIntrospectionController {
             }
         });
     }
+
+    private IntrospectionCache.Entry introspect(ParsedToken parsed) {
+        // 2. Get user and validate status
+        Long userId = parsed.userId();
+        Optional<User> userOpt = userId != null ? userService.findById(userId) : Optional.empty();
+        
+        if (userOpt.isEmpty() || !userOpt.get().isEnabled() || !userOpt.get().isAccountNonLocked()) {
+            log.warn("User not found or inactive: {}", userId);
+            return new IntrospectionCache.Entry(TokenValidationResponse.invalid("User not found or inactive"), userId);
+        }
+        
+        User user = userOpt.get();
+        
+        // 3. Check token revocation
+        if (tokenRevocationService.isRevoked(parsed)) {
+            log.warn("Token has been revoked: {}", parsed.tokenId());
+            return new IntrospectionCache.Entry(TokenValidationResponse.invalid("Token has been revoked"), userId);
+        }
+        
+        // 4. Build validation response
+        TokenValidationResponse response = TokenValidationResponse.builder()
+                .active(true)
+                .username(user.getUsername())
+                .userId(user.getUserId().toString())
+                .roles(user.getRoles().stream().map(role -> role.getRoleName()).collect(Collectors.toSet()))
+                .permissions(user.getPermissions().stream().map(perm -> perm.getPermissionName()).collect(Collectors.toSet()))
+                .expiresAt(parsed.expiresAt())
+                .issuedAt(parsed.issuedAt())
+                .tokenType("Bearer")
+                .build();
+        
+        log.debug("Token introspection successful for user: {}", user.getUsername());
+        return new IntrospectionCache.Entry(response, userId);
+    }
     
     /**
      * Revoke token
@@ -111,8 +137,7 @@ public class TokenIntrospectionController {
         return Mono.fromCallable(() -> {
             try {
                 // Parse token to get tokenId
-                var claims = jwtTokenService.extractClaims(request.getToken());
-                String tokenId = claims.getId();
+                String tokenId = jwtTokenService.parse(request.getToken()).tokenId();
                 
                 // Add to revocation list
                 tokenRevocationService.revokeToken(tokenId, request.getReason());
@@ -139,8 +164,4 @@ public class TokenIntrospectionController {
             return ResponseEntity.ok(isRevoked);
         });
     }
-    
-    private boolean isTokenExpired(Claims claims) {
-        return claims.getExpiration().toInstant().isBefore(Instant.now());
-    }
 }
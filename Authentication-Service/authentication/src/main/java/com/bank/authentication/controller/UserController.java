@@ -5,16 +5,18 @@ import com.bank.authentication.dto.AccountManagerRequestDTO;
 import com.bank.authentication.dto.CustomerCredentialRequestDTO;
 import com.bank.authentication.dto.UserCreationRequestDto;
 import com.bank.authentication.dto.UserDetailDto;
+import com.bank.authentication.dto.UserSummaryDto;
 import com.bank.authentication.event.UserRegisteredEvent;
+import com.bank.authentication.kafka.KafkaEventPublisher;
 import com.bank.authentication.model.User;
 import com.bank.authentication.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,10 +30,13 @@ public class UserController {
     private UserService userService;
 
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaEventPublisher eventPublisher;
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    private static final int DEFAULT_SUMMARY_PAGE_SIZE = 50;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 500;
+
     public UserController(AuditLogger auditLogger) {
         this.auditLogger = auditLogger;
     }
@@ -90,8 +95,7 @@ public class UserController {
                     UserRegisteredEvent event = new UserRegisteredEvent(createdUser.getUserId(), createdUser.getEmail(),
                             createdUser.getFirstName(), createdUser.getLastName());
                     
-                    // Add type information to Kafka headers for proper deserialization
-                    kafkaTemplate.send("user-registered", event);
+                    eventPublisher.publish("user-registered", event);
                     logger.info("Published UserRegisteredEvent for user: {}", user.getUsername());
                 } catch (Exception e) {
                     logger.error("Failed to publish UserRegisteredEvent", e);
@@ -158,42 +162,64 @@ public class UserController {
         return new ResponseEntity<>(userDetails, HttpStatus.OK);
     }
 
+    /**
+     * One page of the user directory ordered by user id, in the paged shape (content,
+     * currentPage, pageSize, hasNext, nextAfter). {@code search} narrows it to usernames or
+     * emails starting with the term. Passing the previous page's {@code nextAfter} as
+     * {@code after} continues from that user id instead of skipping {@code page} pages.
+     */
     @GetMapping("/get-summary")
-    public ResponseEntity<List<java.util.Map<String, Object>>> getAllUsersSummary(
+    public ResponseEntity<java.util.Map<String, Object>> getAllUsersSummary(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long after,
             @RequestHeader(value = "bank-correlation-id", required = false) String correlationId) {
         try {
-            List<User> users = userService.findAllUsers();
+            int pageNumber = (page != null && page >= 0) ? page : 0;
+            int pageSize = (size != null && size > 0) ? Math.min(size, MAX_SUMMARY_PAGE_SIZE) : DEFAULT_SUMMARY_PAGE_SIZE;
+            long afterUserId = after != null ? after : 0L;
+            Slice<UserSummaryDto> users;
+            if (search != null && !search.isBlank()) {
+                users = userService.searchUserSummaries(search, afterUserId, pageSize);
+            } else if (after != null) {
+                users = userService.findUserSummariesAfter(afterUserId, pageSize);
+            } else {
+                users = userService.findUserSummaries(pageNumber, pageSize);
+            }
+            java.time.LocalDateTime now = java.time.LocalDateTime.now();
             List<java.util.Map<String, Object>> summaryList = new java.util.ArrayList<>();
             
-            for (User user : users) {
+            for (UserSummaryDto user : users.getContent()) {
                 java.util.Map<String, Object> summary = new java.util.HashMap<>();
-                summary.put("userId", user.getUserId());
-                summary.put("userName", user.getUsername());
-                summary.put("email", user.getEmail());
+                summary.put("userId", user.userId());
+                summary.put("userName", user.username());
+                summary.put("email", user.email());
                 
                 // Extract primary role (first role or default to USER)
-                String primaryRole = "USER";
-                if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-                    primaryRole = user.getRoles().iterator().next().getRoleName();
-                }
+                String primaryRole = user.roles().isEmpty() ? "USER" : user.roles().get(0);
                 summary.put("role", primaryRole);
                 
                 // Determine status based on lockedUntil
-                String status = "ACTIVE";
-                if (user.getLockedUntil() != null && user.getLockedUntil().isAfter(java.time.LocalDateTime.now())) {
-                    status = "LOCKED";
-                }
-                summary.put("status", status);
+                summary.put("status", user.isLocked(now) ? "LOCKED" : "ACTIVE");
                 
                 summaryList.add(summary);
             }
-            
+
+            java.util.Map<String, Object> response = new java.util.HashMap<>();
+            response.put("content", summaryList);
+            response.put("currentPage", users.getNumber());
+            response.put("pageSize", users.getSize());
+            response.put("hasNext", users.hasNext());
+            response.put("nextAfter", users.hasContent()
+                    ? users.getContent().get(users.getNumberOfElements() - 1).userId() : null);
+
             logger.debug("bank-correlation-id found: {} ", correlationId);
-            return new ResponseEntity<>(summaryList, HttpStatus.OK);
+            return new ResponseEntity<>(response, HttpStatus.OK);
             
         } catch (Exception e) {
             logger.error("Error fetching user summary", e);
-            return new ResponseEntity<>(java.util.Collections.emptyList(), HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(java.util.Collections.emptyMap(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -0,0 +1,7 @@
+package com.bank.authentication.dto;
+
+/** Customer totals from one aggregate pass over the customer users. */
+public record CustomerUserCounts(Long total, Long newThisMonth, Long newThisWeek, Long active) {
+
+    public static final CustomerUserCounts EMPTY = new CustomerUserCounts(0L, 0L, 0L, 0L);
+}
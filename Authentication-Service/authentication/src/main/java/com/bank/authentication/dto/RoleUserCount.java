@@ -0,0 +1,6 @@
+package com.bank.authentication.dto;
+
+/** Number of users holding a stored role name. */
+public record RoleUserCount(String roleName, Long users) {
+
+}
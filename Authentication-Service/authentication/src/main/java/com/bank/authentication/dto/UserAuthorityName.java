@@ -0,0 +1,6 @@
+package com.bank.authentication.dto;
+
+/** A role or permission name held by a user, as returned by the per-page name queries. */
+public record UserAuthorityName(Long userId, String name) {
+
+}
@@ -0,0 +1,30 @@
+package com.bank.authentication.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One row of the admin user listings. The scalar columns come from a single projection query;
+ * role and permission names are attached afterwards from one query per page.
+ */
+public record UserSummaryDto(Long userId, String username, String email, String firstName, String lastName,
+        String phoneNumber, int failedLoginAttempts, LocalDateTime lockedUntil, LocalDateTime createdAt,
+        LocalDateTime lastLogin, List<String> roles, List<String> permissions) {
+
+    /** Constructor used by the JPQL projection, before names are attached. */
+    public UserSummaryDto(Long userId, String username, String email, String firstName, String lastName,
+            String phoneNumber, int failedLoginAttempts, LocalDateTime lockedUntil, LocalDateTime createdAt,
+            LocalDateTime lastLogin) {
+        this(userId, username, email, firstName, lastName, phoneNumber, failedLoginAttempts, lockedUntil,
+                createdAt, lastLogin, List.of(), List.of());
+    }
+
+    public UserSummaryDto withAuthorities(List<String> roles, List<String> permissions) {
+        return new UserSummaryDto(userId, username, email, firstName, lastName, phoneNumber, failedLoginAttempts,
+                lockedUntil, createdAt, lastLogin, roles, permissions);
+    }
+
+    public boolean isLocked(LocalDateTime now) {
+        return lockedUntil != null && lockedUntil.isAfter(now);
+    }
+}
@@ -1,10 +1,19 @@
 package com.bank.authentication.enums;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * BANKING SYSTEM PERMISSIONS MATRIX
  * 
  * Fine-grained permissions following banking compliance standards
  * Each permission represents a specific actionable capability
+ *
+ * Each permission owns one bit of a 64-bit permission mask, given by its
+ * declaration order. Masks are carried in issued tokens, so constants may only
+ * be appended, never reordered or removed.
  */
 public enum BankPermission {
     
@@ -158,6 +167,9 @@ public enum BankPermission {
      */
     SYSTEM_SCHEDULED_TASKS("PERMISSION_SYSTEM_SCHEDULED_TASKS", "Perform scheduled tasks");
     
+    private static final Map<String, BankPermission> BY_AUTHORITY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(BankPermission::getAuthority, Function.identity()));
+
     private final String authority;
     private final String description;
     
@@ -173,4 +185,26 @@ public enum BankPermission {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * This permission's bit in a permission mask
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Check a permission mask for this permission
+     */
+    public boolean isGrantedBy(long mask) {
+        return (mask & mask()) != 0;
+    }
+
+    /**
+     * Look up a permission by its authority string; null for names outside the
+     * matrix such as the legacy PERMISSION_READ
+     */
+    public static BankPermission fromAuthority(String authority) {
+        return authority != null ? BY_AUTHORITY.get(authority) : null;
+    }
 }
@@ -1,5 +1,8 @@
 package com.bank.authentication.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * CORE BANKING USER ROLES
  * 
@@ -92,6 +95,19 @@ public enum BankUserRole {
      */
     SYSTEM("ROLE_SYSTEM", "Internal System Service");
 
+    private static final Map<String, BankUserRole> BY_NAME;
+
+    static {
+        // Role rows store the bare name; some older rows use CUSTOMER_USER
+        Map<String, BankUserRole> byName = new HashMap<>();
+        for (BankUserRole role : values()) {
+            byName.put(role.name(), role);
+            byName.put(role.authority, role);
+        }
+        byName.put("CUSTOMER_USER", CUSTOMER);
+        BY_NAME = Map.copyOf(byName);
+    }
+
     private final String authority;
     private final String description;
 
@@ -163,4 +179,19 @@ public enum BankUserRole {
     public boolean isHumanUser() {
         return this != SYSTEM;
     }
+
+    /**
+     * This role's bit in a role mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Resolve a stored role name ("ADMIN", "ROLE_ADMIN", "CUSTOMER_USER");
+     * null for roles outside the banking model such as the legacy USER
+     */
+    public static BankUserRole fromRoleName(String roleName) {
+        return roleName != null ? BY_NAME.get(roleName) : null;
+    }
 }
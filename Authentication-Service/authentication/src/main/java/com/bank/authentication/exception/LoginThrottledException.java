@@ -0,0 +1,12 @@
+package com.bank.authentication.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated, e.g. during a credential-stuffing
+ * burst. Login answers 503 instead of queueing more CPU-bound work.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.authentication.feignclient;
 
+import com.bank.authentication.session.CorrelationContext;
 import com.bank.authentication.session.UserSession;
 import com.bank.authentication.session.UserThreadLocalContext;
 import feign.RequestInterceptor;
@@ -23,10 +24,23 @@ public class FeignConfig {
                 }
                 // For admin dashboard calls, UserSession might be null
                 // Don't add headers if session is not available
+                propagateCorrelation(template);
             }
         };
     }
 
+    // Callers that already pass bank-correlation-id explicitly keep their value
+    static void propagateCorrelation(RequestTemplate template) {
+        String correlationId = CorrelationContext.getCorrelationId();
+        if (correlationId != null && !template.headers().containsKey(CorrelationContext.CORRELATION_ID_HEADER)) {
+            template.header(CorrelationContext.CORRELATION_ID_HEADER, correlationId);
+        }
+        Long requestStart = CorrelationContext.getRequestStart();
+        if (requestStart != null && !template.headers().containsKey(CorrelationContext.REQUEST_START_HEADER)) {
+            template.header(CorrelationContext.REQUEST_START_HEADER, requestStart.toString());
+        }
+    }
+
     @Bean
     public feign.Request.Options requestOptions() {
         return new feign.Request.Options(30 * 1000, 60 * 1000); // connect timeout, read timeout in milliseconds
@@ -6,7 +6,6 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -21,7 +20,7 @@ public class AdminAuditProducer {
     private static final String AUDIT_TOPIC = "audit.events";
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaEventPublisher eventPublisher;
 
     private final ObjectMapper objectMapper;
 
@@ -138,14 +137,12 @@ public class AdminAuditProducer {
             String eventJson = objectMapper.writeValueAsString(event);
             String key = String.valueOf(event.get("user_id"));
 
-            kafkaTemplate.send(AUDIT_TOPIC, key, eventJson)
+            // Send latency and failures are recorded by the publisher; Kafka failure
+            // should NOT block admin action, eventual consistency is acceptable
+            eventPublisher.publish(AUDIT_TOPIC, key, eventJson)
                     .whenComplete((result, failure) -> {
                         if (failure == null) {
-                            logger.info("Audit event published successfully: {}", event.get("event_id"));
-                        } else {
-                            logger.error("Failed to publish audit event: {}", event.get("event_id"), failure);
-                            // Kafka failure should NOT block admin action
-                            // Eventual consistency is acceptable
+                            logger.debug("Audit event published successfully: {}", event.get("event_id"));
                         }
                     });
 
@@ -0,0 +1,58 @@
+package com.bank.authentication.kafka;
+
+import com.bank.authentication.security.IntrospectionCache;
+import com.bank.authentication.security.RevokedTokenIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies revocations made by any instance to this instance's in-memory state: cached
+ * introspection results are evicted and revoked ids join the Bloom filter. Each instance
+ * consumes in its own group and sees every event; only new events matter because the filter
+ * is seeded from Redis and older cache entries have expired anyway.
+ */
+@Component
+public class RevocationEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationEventListener.class);
+
+    private final IntrospectionCache introspectionCache;
+    private final RevokedTokenIndex revokedTokenIndex;
+    private final ObjectMapper objectMapper;
+
+    public RevocationEventListener(IntrospectionCache introspectionCache, RevokedTokenIndex revokedTokenIndex,
+            ObjectMapper objectMapper) {
+        this.introspectionCache = introspectionCache;
+        this.revokedTokenIndex = revokedTokenIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = { "token-revoked", "user-tokens-revoked" },
+            groupId = "auth-introspection-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onRevocation(ConsumerRecord<String, String> record) {
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            if ("token-revoked".equals(record.topic())) {
+                String tokenId = event.path("tokenId").asText(null);
+                if (tokenId != null) {
+                    revokedTokenIndex.add(tokenId);
+                    introspectionCache.invalidateToken(tokenId);
+                }
+            } else if (event.hasNonNull("userId")) {
+                long userId = event.get("userId").asLong();
+                if (event.hasNonNull("revokedBeforeMillis")) {
+                    revokedTokenIndex.revokeUser(userId, event.get("revokedBeforeMillis").asLong());
+                }
+                introspectionCache.invalidateUser(userId);
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable revocation event on {}: {}", record.topic(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.authentication.kafka;
+
+import com.bank.authentication.service.TransactionStatsView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds pre-aggregated transaction statistics into this instance's {@link TransactionStatsView}.
+ * Each instance consumes in its own group; every record supersedes the previous one from its
+ * source, so only new records matter and the view is complete after one publish interval.
+ */
+@Component
+public class TransactionStatsListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatsListener.class);
+
+    private final TransactionStatsView transactionStatsView;
+    private final ObjectMapper objectMapper;
+
+    public TransactionStatsListener(TransactionStatsView transactionStatsView, ObjectMapper objectMapper) {
+        this.transactionStatsView = transactionStatsView;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "transaction-stats",
+            groupId = "auth-transaction-stats-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onStats(ConsumerRecord<String, String> record) {
+        try {
+            transactionStatsView.accept(objectMapper.readTree(record.value()), System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable transaction stats record from {}: {}", record.key(), e.getMessage());
+        }
+    }
+}
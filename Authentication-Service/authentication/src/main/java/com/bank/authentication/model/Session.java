@@ -9,7 +9,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_sessions_expiration", columnList = "expiration")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -23,9 +26,15 @@ public class Session {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @Column(length = 2048)
+    // No longer written: sessions are looked up by token_hash, and bearer tokens are not stored.
+    // 011-make-sessions-token-nullable drops the NOT NULL that 010 put on existing tables
+    @Column(length = 2048, nullable = true)
     private String token;
 
+    /** SHA-256 of the access token, hex. */
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
     private LocalDateTime expiration;
 
     @Column(name = "created_at", updatable = false)
@@ -14,7 +14,11 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_locked_until", columnList = "locked_until"),
+        @Index(name = "idx_users_created_at", columnList = "created_at"),
+        @Index(name = "idx_users_email", columnList = "email")
+})
 @Getter
 @Setter
 @AllArgsConstructor
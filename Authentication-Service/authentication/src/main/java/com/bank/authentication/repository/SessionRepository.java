@@ -1,12 +1,18 @@
 package com.bank.authentication.repository;
 
 import com.bank.authentication.model.Session;
+import com.bank.authentication.session.UserSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface SessionRepository extends JpaRepository<Session, Long> {
-    Session findByToken(String token);
-
-    void deleteAllByExpirationBefore(LocalDateTime now);
+    /** One indexed lookup that returns just the identity, without loading the entities. */
+    @Query("select new com.bank.authentication.session.UserSession(u.userId, u.email) "
+            + "from Session s join s.user u where s.tokenHash = :tokenHash and s.expiration > :now")
+    Optional<UserSession> findUserSessionByTokenHash(@Param("tokenHash") String tokenHash,
+            @Param("now") LocalDateTime now);
 }
@@ -1,12 +1,102 @@
 package com.bank.authentication.repository;
 
+import com.bank.authentication.dto.CustomerUserCounts;
+import com.bank.authentication.dto.RoleUserCount;
+import com.bank.authentication.dto.UserAuthorityName;
+import com.bank.authentication.dto.UserSummaryDto;
 import com.bank.authentication.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
+    // Roles and permissions come back in the same query instead of one select per collection
+    @EntityGraph(attributePaths = { "roles", "permissions" })
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.failedLoginAttempts = 0, u.lockedUntil = null where u.userId = :userId")
+    int resetLoginFailures(@Param("userId") Long userId);
+
+    // lockedUntil is assigned first: MySQL evaluates later assignments against updated columns
+    @Modifying
+    @Transactional
+    @Query("update User u set u.lockedUntil = case when u.failedLoginAttempts + 1 >= :maxAttempts "
+            + "then :lockUntil else u.lockedUntil end, u.failedLoginAttempts = u.failedLoginAttempts + 1 "
+            + "where u.userId = :userId")
+    int recordLoginFailure(@Param("userId") Long userId, @Param("maxAttempts") int maxAttempts,
+            @Param("lockUntil") LocalDateTime lockUntil);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.userId = :userId and u.password = :oldHash")
+    int updatePasswordHash(@Param("userId") Long userId, @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash);
+
+    // Admin listings: scalar columns only, so no role or permission collections are loaded.
+    // A Slice skips the count query; the page fetches one extra row to know if more follow.
+    @Query("select new com.bank.authentication.dto.UserSummaryDto(u.userId, u.username, u.email, u.firstName, "
+            + "u.lastName, u.phoneNumber, u.failedLoginAttempts, u.lockedUntil, u.createdAt, u.lastLogin) "
+            + "from User u order by u.userId")
+    Slice<UserSummaryDto> findUserSummaries(Pageable pageable);
+
+    // Keyset page of the listing: the primary key range replaces an OFFSET scan
+    @Query("select new com.bank.authentication.dto.UserSummaryDto(u.userId, u.username, u.email, u.firstName, "
+            + "u.lastName, u.phoneNumber, u.failedLoginAttempts, u.lockedUntil, u.createdAt, u.lastLogin) "
+            + "from User u where u.userId > :afterUserId order by u.userId")
+    Slice<UserSummaryDto> findUserSummariesAfter(@Param("afterUserId") long afterUserId, Pageable pageable);
+
+    // Ids of users whose username or email starts with the prefix, past afterUserId. Each side of
+    // the UNION is a range scan on its own index, where an OR makes MySQL scan the whole table.
+    // The caller escapes LIKE wildcards and appends the trailing %.
+    @Query(value = "select user_id from users where username like :prefix and user_id > :afterUserId "
+            + "union select user_id from users where email like :prefix and user_id > :afterUserId "
+            + "order by user_id limit :limit", nativeQuery = true)
+    List<Long> searchUserIds(@Param("prefix") String prefix, @Param("afterUserId") long afterUserId,
+            @Param("limit") int limit);
+
+    @Query("select new com.bank.authentication.dto.UserSummaryDto(u.userId, u.username, u.email, u.firstName, "
+            + "u.lastName, u.phoneNumber, u.failedLoginAttempts, u.lockedUntil, u.createdAt, u.lastLogin) "
+            + "from User u where u.userId in :userIds order by u.userId")
+    List<UserSummaryDto> findUserSummariesByIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("select new com.bank.authentication.dto.UserAuthorityName(u.userId, r.roleName) "
+            + "from User u join u.roles r where u.userId in :userIds")
+    List<UserAuthorityName> findRoleNames(@Param("userIds") Collection<Long> userIds);
+
+    @Query("select new com.bank.authentication.dto.UserAuthorityName(u.userId, p.permissionName) "
+            + "from User u join u.permissions p where u.userId in :userIds")
+    List<UserAuthorityName> findPermissionNames(@Param("userIds") Collection<Long> userIds);
+
+    // Dashboard aggregates, computed in the database instead of over loaded entities
+
+    @Query("select new com.bank.authentication.dto.RoleUserCount(r.roleName, count(u)) "
+            + "from User u join u.roles r group by r.roleName")
+    List<RoleUserCount> countUsersByRole();
+
+    @Query("select count(u) from User u where u.lockedUntil > :now")
+    long countLockedUsers(@Param("now") LocalDateTime now);
+
+    @Query("select new com.bank.authentication.dto.CustomerUserCounts(count(u), "
+            + "coalesce(sum(case when u.createdAt > :monthAgo then 1 else 0 end), 0), "
+            + "coalesce(sum(case when u.createdAt > :weekAgo then 1 else 0 end), 0), "
+            + "coalesce(sum(case when u.lockedUntil is null or u.lockedUntil < :now then 1 else 0 end), 0)) "
+            + "from User u where u.userId in "
+            + "(select cu.userId from User cu join cu.roles r where r.roleName in :roleNames)")
+    CustomerUserCounts countCustomers(@Param("roleNames") Collection<String> roleNames,
+            @Param("now") LocalDateTime now, @Param("monthAgo") LocalDateTime monthAgo,
+            @Param("weekAgo") LocalDateTime weekAgo);
 }
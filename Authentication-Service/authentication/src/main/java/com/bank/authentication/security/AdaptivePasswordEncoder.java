@@ -0,0 +1,81 @@
+package com.bank.authentication.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder whose work factor is calibrated at startup so one hash costs roughly
+ * {@code targetMillis} on this hardware, within {@code [minStrength, maxStrength]}.
+ *
+ * <p>Hashes of any strength still verify, since BCrypt stores the cost in the hash.
+ * {@link #upgradeEncoding} reports hashes below the calibrated strength so they can be
+ * re-encoded after a successful login.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePasswordEncoder.class);
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+
+    public AdaptivePasswordEncoder(long targetMillis, int minStrength, int maxStrength) {
+        this(calibrate(targetMillis, minStrength, maxStrength));
+    }
+
+    AdaptivePasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Times hashes at {@code minStrength} and extrapolates: each strength step doubles the
+     * cost, so only the cheapest strength is ever measured and startup stays short.
+     */
+    static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("Invalid BCrypt strength range " + minStrength + ".." + maxStrength);
+        }
+        if (minStrength == maxStrength) {
+            return minStrength;
+        }
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-" + i);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        double measuredMillis = Math.max(fastestNanos / 1_000_000.0, 0.001);
+        int steps = (int) Math.round(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        int strength = Math.max(minStrength, Math.min(maxStrength, minStrength + steps));
+        logger.info("Calibrated BCrypt strength {} for a {} ms target ({} ms at strength {})", strength,
+                targetMillis, String.format("%.1f", measuredMillis), minStrength);
+        return strength;
+    }
+}
@@ -5,21 +5,54 @@ import com.bank.authentication.enums.BankUserRole;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * BANKING ROLE-PERMISSION MAPPING
  * 
  * Defines which permissions each role has in the banking system
  * Following strict banking compliance and segregation of duties
+ *
+ * The mapping is fixed, so every view of it (authority sets, permission masks)
+ * is built once here and handed out as an immutable set or a plain long.
  */
 @Component
 public class BankingRolePermissionMapper {
 
     private final Map<BankUserRole, Set<BankPermission>> rolePermissionMap;
+    private final Map<BankUserRole, Set<String>> permissionAuthorities;
+    private final Map<BankUserRole, Set<String>> roleAuthorities;
+    private final long[] permissionMasks;
+    private final Set<String> allPermissionAuthorities;
+    private final Set<String> allRoleAuthorities;
 
     public BankingRolePermissionMapper() {
-        this.rolePermissionMap = initializeRolePermissions();
+        Map<BankUserRole, Set<BankPermission>> permissions = initializeRolePermissions();
+        Map<BankUserRole, Set<String>> permissionNames = new EnumMap<>(BankUserRole.class);
+        Map<BankUserRole, Set<String>> roleNames = new EnumMap<>(BankUserRole.class);
+        this.permissionMasks = new long[BankUserRole.values().length];
+
+        for (BankUserRole role : BankUserRole.values()) {
+            Set<BankPermission> granted = permissions.getOrDefault(role, EnumSet.noneOf(BankPermission.class));
+            permissions.put(role, Collections.unmodifiableSet(granted));
+
+            Set<String> names = new HashSet<>();
+            long mask = 0L;
+            for (BankPermission permission : granted) {
+                names.add(permission.getAuthority());
+                mask |= permission.mask();
+            }
+            permissionNames.put(role, Set.copyOf(names));
+            roleNames.put(role, Set.of(role.getAuthority()));
+            permissionMasks[role.ordinal()] = mask;
+        }
+
+        this.rolePermissionMap = Collections.unmodifiableMap(permissions);
+        this.permissionAuthorities = Collections.unmodifiableMap(permissionNames);
+        this.roleAuthorities = Collections.unmodifiableMap(roleNames);
+        this.allPermissionAuthorities = Set.copyOf(Arrays.stream(BankPermission.values())
+                .map(BankPermission::getAuthority).toList());
+        this.allRoleAuthorities = Set.copyOf(Arrays.stream(BankUserRole.values())
+                .map(BankUserRole::getAuthority).toList());
     }
 
     /**
@@ -90,23 +123,59 @@ public class BankingRolePermissionMapper {
      * Get permission authorities for Spring Security
      */
     public Set<String> getPermissionAuthorities(BankUserRole role) {
-        return getPermissionsForRole(role).stream()
-                .map(BankPermission::getAuthority)
-                .collect(Collectors.toSet());
+        return permissionAuthorities.getOrDefault(role, Set.of());
+    }
+
+    /**
+     * Get the permission mask granted by a role
+     */
+    public long getPermissionMask(BankUserRole role) {
+        return role != null ? permissionMasks[role.ordinal()] : 0L;
+    }
+
+    /**
+     * Fold granted authorities (role names and permission names, as stored on the
+     * user) into one permission mask: each role contributes its whole mask, each
+     * known permission its own bit. Unknown names are ignored.
+     */
+    public long getPermissionMask(Collection<String> authorities) {
+        long mask = 0L;
+        for (String authority : authorities) {
+            BankPermission permission = BankPermission.fromAuthority(authority);
+            if (permission != null) {
+                mask |= permission.mask();
+            } else {
+                mask |= getPermissionMask(BankUserRole.fromRoleName(authority));
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Expand a permission mask back into permission authorities
+     */
+    public List<String> getPermissionAuthorities(long mask) {
+        List<String> authorities = new ArrayList<>(Long.bitCount(mask));
+        for (BankPermission permission : BankPermission.values()) {
+            if (permission.isGrantedBy(mask)) {
+                authorities.add(permission.getAuthority());
+            }
+        }
+        return authorities;
     }
 
     /**
      * Get role authorities for Spring Security
      */
     public Set<String> getRoleAuthorities(BankUserRole role) {
-        return Set.of(role.getAuthority());
+        return roleAuthorities.get(role);
     }
 
     /**
      * Check if role has specific permission
      */
     public boolean hasPermission(BankUserRole role, BankPermission permission) {
-        return getPermissionsForRole(role).contains(permission);
+        return permission.isGrantedBy(getPermissionMask(role));
     }
 
     /**
@@ -155,18 +224,14 @@ public class BankingRolePermissionMapper {
      * Get all permissions as string authorities
      */
     public Set<String> getAllPermissionAuthorities() {
-        return Arrays.stream(BankPermission.values())
-                .map(BankPermission::getAuthority)
-                .collect(Collectors.toSet());
+        return allPermissionAuthorities;
     }
 
     /**
      * Get all role authorities
      */
     public Set<String> getAllRoleAuthorities() {
-        return Arrays.stream(BankUserRole.values())
-                .map(BankUserRole::getAuthority)
-                .collect(Collectors.toSet());
+        return allRoleAuthorities;
     }
 
     /**
@@ -0,0 +1,162 @@
+package com.bank.authentication.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter over strings with 4-bit counters, sixteen to a long. {@link #mightContain}
+ * never answers false for an added item that has not been removed; a true answer is wrong with
+ * roughly the configured probability. A counter that reaches 15 sticks there, so removals can
+ * never produce a false negative.
+ *
+ * <p>All operations are lock-free and safe from any thread. The byte form is shared with the
+ * gateway's copy of this class and must stay identical to it.
+ */
+public final class CountingBloomFilter {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final long MAX_COUNT = 15;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+
+    private CountingBloomFilter(long counters, int hashes) {
+        this.counters = counters;
+        this.hashes = hashes;
+        this.words = new AtomicLongArray(Math.toIntExact((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+    }
+
+    /** Sized for {@code expectedItems} at false-positive probability {@code fpp}. */
+    public static CountingBloomFilter create(long expectedItems, double fpp) {
+        long n = Math.max(1, expectedItems);
+        long m = Math.max(COUNTERS_PER_WORD, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new CountingBloomFilter(m, k);
+    }
+
+    public void add(String item) {
+        long[] indexes = indexes(item);
+        for (long index : indexes) {
+            update(index, 1);
+        }
+    }
+
+    /** Only remove items that were added, or other items may start to read as absent. */
+    public void remove(String item) {
+        long[] indexes = indexes(item);
+        for (long index : indexes) {
+            update(index, -1);
+        }
+    }
+
+    public boolean mightContain(String item) {
+        long h1 = hash(item);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashes; i++) {
+            if (counter(Long.remainderUnsigned(h1 + i * h2, counters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long counterCount() {
+        return counters;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + words.length() * 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(counters);
+            out.writeInt(hashes);
+            for (int i = 0; i < words.length(); i++) {
+                out.writeLong(words.get(i));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CountingBloomFilter fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported Bloom filter format " + version);
+            }
+            CountingBloomFilter filter = new CountingBloomFilter(in.readLong(), in.readInt());
+            for (int i = 0; i < filter.words.length(); i++) {
+                filter.words.set(i, in.readLong());
+            }
+            return filter;
+        }
+    }
+
+    // Kirsch-Mitzenmacher: k indexes from two hashes
+    private long[] indexes(String item) {
+        long h1 = hash(item);
+        long h2 = secondHash(h1);
+        long[] indexes = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            indexes[i] = Long.remainderUnsigned(h1 + i * h2, counters);
+        }
+        return indexes;
+    }
+
+    private long counter(long index) {
+        int shift = (int) (index % COUNTERS_PER_WORD) * 4;
+        return (words.get((int) (index / COUNTERS_PER_WORD)) >>> shift) & COUNTER_MASK;
+    }
+
+    private void update(long index, int delta) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * 4;
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & COUNTER_MASK;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long next = (current & ~(COUNTER_MASK << shift)) | ((count + delta) << shift);
+            if (words.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer
+    private static long hash(String item) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return fmix64(h);
+    }
+
+    private static long secondHash(long h1) {
+        return fmix64(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
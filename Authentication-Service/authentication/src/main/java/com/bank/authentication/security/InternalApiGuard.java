@@ -0,0 +1,32 @@
+package com.bank.authentication.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Service credential for the /internal endpoints only the gateway may call. Callers present
+ * the shared bank.internal.api-key in {@link #HEADER}; with no key configured every call is
+ * refused.
+ */
+@Component
+public class InternalApiGuard {
+
+    public static final String HEADER = "X-Internal-Api-Key";
+
+    private final byte[] apiKey;
+
+    public InternalApiGuard(@Value("${bank.internal.api-key:}") String apiKey) {
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean permits(String presentedKey) {
+        if (apiKey.length == 0 || presentedKey == null) {
+            return false;
+        }
+        // Constant time, so the key cannot be guessed byte by byte from response times
+        return MessageDigest.isEqual(apiKey, presentedKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.bank.authentication.security;
+
+import com.bank.authentication.dto.TokenValidationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived introspection results, so repeated checks of the same token skip the user
+ * lookup and the revocation check. Verified tokens are keyed by their jti; tokens that fail
+ * verification have no trusted id and are keyed by a hash of the token itself, which also
+ * lets a replayed bad token skip the signature check.
+ *
+ * <p>Revocations evict entries immediately on every instance through the token-revoked and
+ * user-tokens-revoked events; the TTL only bounds how long a deactivated user stays active.
+ * Hit ratio is exported as {@code cache.*{cache=auth.introspection}} and lookup latency as
+ * {@code auth.introspection.latency} by result.
+ */
+@Component
+public class IntrospectionCache {
+
+    private final Cache<String, Entry> cache;
+    private final Timer hitLatency;
+    private final Timer missLatency;
+
+    public IntrospectionCache(MeterRegistry meterRegistry,
+            @Value("${bank.introspection.cache.max-size:100000}") long maxSize,
+            @Value("${bank.introspection.cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${bank.introspection.cache.negative-ttl-seconds:10}") long negativeTtlSeconds) {
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.response().active() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.introspection");
+        this.hitLatency = latencyTimer(meterRegistry, "hit");
+        this.missLatency = latencyTimer(meterRegistry, "miss");
+    }
+
+    public TokenValidationResponse getIfPresent(String key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry != null ? entry.response() : null;
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or loads and caches it. Concurrent misses on
+     * one key load once; a loader that throws caches nothing.
+     */
+    public TokenValidationResponse get(String key, Supplier<Entry> loader) {
+        return cache.get(key, k -> loader.get()).response();
+    }
+
+    public void put(String key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    public void recordLatency(boolean hit, long startNanos) {
+        (hit ? hitLatency : missLatency).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void invalidateToken(String tokenId) {
+        if (tokenId != null) {
+            cache.invalidate(tokenId);
+        }
+    }
+
+    /** Drops every cached result for the user's tokens; a scan, but revoke-all is rare. */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            cache.asMap().values().removeIf(entry -> Objects.equals(entry.userId(), userId));
+        }
+    }
+
+    /** Key for a token with no trusted id, such as one that failed verification. */
+    public static String tokenKey(String token) {
+        return "sha256:" + TokenHashes.sha256Hex(token);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.introspection.latency")
+                .description("Token introspection lookup time, cache hits and misses")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** A cached introspection result; {@code userId} is null for negative entries without a user. */
+    public record Entry(TokenValidationResponse response, Long userId) {
+
+        public static Entry invalid(String reason) {
+            return new Entry(TokenValidationResponse.invalid(reason), null);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.authentication.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A JWT whose signature has been verified, with its claims. Parse a token once and pass this
+ * along instead of the raw string, so no caller needs to verify the same token again.
+ */
+public record ParsedToken(String token, Claims claims) {
+
+    /** Request attribute under which AuthTokenFilter leaves the token it verified. */
+    public static final String REQUEST_ATTRIBUTE = ParsedToken.class.getName();
+
+    public String subject() {
+        return claims.getSubject();
+    }
+
+    public String tokenId() {
+        return claims.getId();
+    }
+
+    /** The {@code user_id} claim; null on tokens that do not carry one. */
+    public Long userId() {
+        Object value = claims.get("user_id");
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    /** The {@code perm_mask} claim, a {@link com.bank.authentication.enums.BankPermission} bitset; null on older tokens. */
+    public Long permissionMask() {
+        Object value = claims.get("perm_mask");
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public Instant expiresAt() {
+        return toInstant(claims.getExpiration());
+    }
+
+    public Instant issuedAt() {
+        return toInstant(claims.getIssuedAt());
+    }
+
+    public boolean isExpired(Instant now) {
+        Instant expiresAt = expiresAt();
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+
+    public <T> T claim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    /** A list-valued claim such as roles or permissions; empty when absent. */
+    public Set<String> stringSet(String name) {
+        Object value = claims.get(name);
+        if (value instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).collect(Collectors.toSet());
+        }
+        return Set.of();
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
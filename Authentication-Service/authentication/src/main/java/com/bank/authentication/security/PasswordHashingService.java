@@ -0,0 +1,91 @@
+package com.bank.authentication.security;
+
+import com.bank.authentication.exception.LoginThrottledException;
+import com.bank.authentication.model.User;
+import com.bank.authentication.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs login password checks on the bounded passwordHashExecutor, so hashing can never use
+ * more than that pool's threads of CPU. When the pool and its queue are full the login is
+ * refused with {@link LoginThrottledException} rather than waiting.
+ *
+ * <p>After a successful check, hashes below the encoder's current strength are re-encoded in
+ * the background on the same pool, and skipped if it is busy; the next login retries.
+ */
+@Component
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final TaskExecutor passwordHashExecutor;
+    private final UserRepository userRepository;
+    private final long timeoutMillis;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashExecutor") TaskExecutor passwordHashExecutor, UserRepository userRepository,
+            @Value("${bank.password.hash-timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.userRepository = userRepository;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        CompletableFuture<Boolean> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> passwordEncoder.matches(rawPassword, encodedPassword),
+                    passwordHashExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Too many concurrent logins, please retry shortly");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            throw new LoginThrottledException("Password check timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoginThrottledException("Password check interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    /** Call only after {@link #matches} succeeded for {@code rawPassword}. */
+    public void upgradeIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        try {
+            passwordHashExecutor.execute(() -> {
+                try {
+                    // Conditional on the old hash, so a concurrent password change is never overwritten
+                    if (userRepository.updatePasswordHash(user.getUserId(), currentHash,
+                            passwordEncoder.encode(rawPassword)) == 1) {
+                        logger.debug("Upgraded password hash for user {}", user.getUserId());
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to upgrade password hash for user {}: {}", user.getUserId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Hash pool busy, deferring password upgrade for user {}", user.getUserId());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.authentication.security;
+
+import com.bank.authentication.enums.BankPermission;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Permission checks against the mask AuthTokenFilter resolved for the current request, so
+ * each check is a single bit test. Usable from method security, e.g.
+ * {@code @PreAuthorize("@permissionGuard.has('ADMIN_VIEW_METRICS')")}.
+ */
+@Component("permissionGuard")
+public class PermissionGuard {
+
+    /** Request attribute holding the caller's permission mask as a Long. */
+    public static final String REQUEST_ATTRIBUTE = PermissionGuard.class.getName() + ".mask";
+
+    /** @param permission a {@link BankPermission} constant name */
+    public boolean has(String permission) {
+        return has(BankPermission.valueOf(permission));
+    }
+
+    public boolean has(BankPermission permission) {
+        return permission.isGrantedBy(currentMask());
+    }
+
+    public long currentMask() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return 0L;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        return request.getAttribute(REQUEST_ATTRIBUTE) instanceof Long mask ? mask : 0L;
+    }
+}
@@ -0,0 +1,249 @@
+package com.bank.authentication.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory Bloom filter of revoked token ids in front of the {@code revoked:*} keys in Redis.
+ * A negative answer is final, so almost every revocation check stays in the JVM; only probable
+ * hits are confirmed in Redis.
+ *
+ * <p>It also holds the per-user revoke-all epochs, which are few enough to keep exactly. Unlike
+ * the filter they cannot answer "probably": until they are loaded, or once the last load is
+ * older than two rebuild intervals, each epoch is read from Redis, and if Redis cannot answer
+ * the token is treated as revoked.
+ *
+ * <p>The filter is rebuilt from a SCAN of Redis at startup and then periodically, which also
+ * drops ids whose keys have expired. Between rebuilds it is updated live by local revocations
+ * and token-revoked events from other instances. Until the first build completes every check
+ * reports a probable hit, i.e. falls through to Redis.
+ */
+@Component
+public class RevokedTokenIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokenIndex.class);
+
+    static final String KEY_PREFIX = "revoked:";
+    public static final String USER_EPOCH_PREFIX = "revoked-before:user:";
+
+    private static final int EPOCH_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long expectedItems;
+    private final double falsePositiveRate;
+    private final ScheduledExecutorService rebuilder;
+
+    private volatile CountingBloomFilter filter;
+    // Set while a rebuild scans Redis so live additions reach the filter being built too
+    private volatile CountingBloomFilter building;
+    private volatile long size;
+
+    // userId -> epoch millis; the user's tokens issued before it are revoked. Small: one entry
+    // per revoke-all, dropped once its Redis key expires.
+    private volatile ConcurrentMap<Long, Long> userEpochs = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<Long, Long> buildingEpochs;
+    // When the epochs were last loaded from Redis; 0 before the first load
+    private volatile long epochsLoadedAt;
+    private final long epochMaxAgeMillis;
+
+    private final Counter negatives;
+    private final Counter probableHits;
+
+    public RevokedTokenIndex(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+            @Value("${bank.revocation.filter.expected-items:100000}") long expectedItems,
+            @Value("${bank.revocation.filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${bank.revocation.filter.rebuild-interval-seconds:600}") long rebuildIntervalSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.expectedItems = expectedItems;
+        this.falsePositiveRate = falsePositiveRate;
+        this.epochMaxAgeMillis = TimeUnit.SECONDS.toMillis(rebuildIntervalSeconds * 2);
+
+        this.negatives = Counter.builder("auth.revocation.filter.checks")
+                .description("Revocation checks answered by the Bloom filter alone")
+                .tag("result", "negative")
+                .register(meterRegistry);
+        this.probableHits = Counter.builder("auth.revocation.filter.checks")
+                .description("Revocation checks that had to be confirmed in Redis")
+                .tag("result", "probable")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.filter.size", this, index -> index.size)
+                .description("Revoked token ids loaded at the last rebuild")
+                .register(meterRegistry);
+
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-revocation-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, rebuildIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /** False means certainly not revoked; true means check Redis. */
+    public boolean mightBeRevoked(String tokenId) {
+        CountingBloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            negatives.increment();
+            return false;
+        }
+        probableHits.increment();
+        return true;
+    }
+
+    /** Call after the revocation is in Redis, so a concurrent rebuild cannot miss it. */
+    public void add(String tokenId) {
+        CountingBloomFilter next = building;
+        if (next != null) {
+            next.add(tokenId);
+        }
+        CountingBloomFilter current = filter;
+        if (current != null) {
+            current.add(tokenId);
+        }
+    }
+
+    /** Call after the epoch is in Redis, for the same reason as {@link #add}. */
+    public void revokeUser(Long userId, long revokedBeforeMillis) {
+        ConcurrentMap<Long, Long> next = buildingEpochs;
+        if (next != null) {
+            next.merge(userId, revokedBeforeMillis, Math::max);
+        }
+        userEpochs.merge(userId, revokedBeforeMillis, Math::max);
+    }
+
+    /**
+     * True if all the user's tokens were revoked after this one was issued. JWT issue times
+     * are whole seconds, so a token issued within a second after the revoke-all is also
+     * rejected; that only costs the user a second login.
+     */
+    public boolean isUserRevoked(Long userId, Instant issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Long revokedBefore;
+        try {
+            revokedBefore = userEpoch(userId);
+        } catch (Exception e) {
+            // Neither a current copy nor Redis can vouch for the token, so reject it
+            logger.warn("Could not read the revoke-all epoch of user {}: {}", userId, e.getMessage());
+            return true;
+        }
+        return revokedBefore != null && (issuedAt == null || issuedAt.toEpochMilli() < revokedBefore);
+    }
+
+    /**
+     * The user's revoke-all epoch, or null if none. Read from Redis while the in-memory copy is
+     * missing or stale; throws if Redis fails then.
+     */
+    public Long userEpoch(long userId) {
+        if (epochsCurrent()) {
+            return userEpochs.get(userId);
+        }
+        String value = redisTemplate.opsForValue().get(USER_EPOCH_PREFIX + userId);
+        return value != null ? Long.parseLong(value) : null;
+    }
+
+    /** Revoke-all epochs by user id, for the gateway; null while they are missing or stale. */
+    public Map<Long, Long> userEpochSnapshot() {
+        return epochsCurrent() ? Map.copyOf(userEpochs) : null;
+    }
+
+    private boolean epochsCurrent() {
+        long loadedAt = epochsLoadedAt;
+        return loadedAt > 0 && System.currentTimeMillis() - loadedAt <= epochMaxAgeMillis;
+    }
+
+    /** Current filter in the shared byte form, or null before the first build. */
+    public byte[] snapshot() {
+        CountingBloomFilter current = filter;
+        return current != null ? current.toBytes() : null;
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        try {
+            // Size for growth so the false-positive rate holds until the next rebuild
+            CountingBloomFilter next = CountingBloomFilter.create(Math.max(expectedItems, size * 2), falsePositiveRate);
+            building = next;
+            long count = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+            try (Cursor<String> keys = redisTemplate.scan(options)) {
+                while (keys.hasNext()) {
+                    next.add(keys.next().substring(KEY_PREFIX.length()));
+                    count++;
+                }
+            }
+            filter = next;
+            size = count;
+
+            ConcurrentMap<Long, Long> epochs = new ConcurrentHashMap<>();
+            buildingEpochs = epochs;
+            long loadStartedAt = System.currentTimeMillis();
+            loadUserEpochs(epochs);
+            userEpochs = epochs;
+            epochsLoadedAt = loadStartedAt;
+            logger.debug("Rebuilt revocation filter with {} ids and {} user epochs in {} ms", count, epochs.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            // Keep the previous state; checks fall through to Redis until a filter exists and
+            // once the epochs go stale
+            logger.warn("Failed to rebuild revocation filter: {}", e.getMessage());
+        } finally {
+            building = null;
+            buildingEpochs = null;
+        }
+    }
+
+    // SCAN for the keys, then one MGET per batch instead of a GET per key
+    private void loadUserEpochs(ConcurrentMap<Long, Long> epochs) {
+        ScanOptions options = ScanOptions.scanOptions().match(USER_EPOCH_PREFIX + "*").count(1000).build();
+        List<String> batch = new ArrayList<>(EPOCH_BATCH_SIZE);
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == EPOCH_BATCH_SIZE) {
+                    loadEpochBatch(batch, epochs);
+                    batch.clear();
+                }
+            }
+        }
+        loadEpochBatch(batch, epochs);
+    }
+
+    private void loadEpochBatch(List<String> keys, ConcurrentMap<Long, Long> epochs) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            // Null when the key expired between SCAN and MGET
+            if (values.get(i) != null) {
+                epochs.merge(Long.parseLong(keys.get(i).substring(USER_EPOCH_PREFIX.length())),
+                        Long.parseLong(values.get(i)), Math::max);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.authentication.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Fixed-length digests of tokens, for lookups and cache keys that must not hold the token itself. */
+public final class TokenHashes {
+
+    private TokenHashes() {
+    }
+
+    /** SHA-256 of the token as 64 lowercase hex characters. */
+    public static String sha256Hex(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.bank.authentication.service;
 
+import com.bank.authentication.audit.AsyncAuditWriter;
 import com.bank.authentication.model.AuditLog;
-import com.bank.authentication.repository.AuditLogRepository;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,9 +11,9 @@ import java.time.LocalDateTime;
 public class AuditLogService {
 
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AsyncAuditWriter asyncAuditWriter;
 
-    @Transactional
+    // Returns immediately; the row is batch-inserted by AsyncAuditWriter
     public void logAction(String action, String username, String ipAddress, String userAgent, String acceptLanguage, String referer, String xRequestId) {
         AuditLog auditLog = new AuditLog();
         auditLog.setAction(action);
@@ -26,7 +25,7 @@ public class AuditLogService {
         auditLog.setCorrelationId(xRequestId);
         auditLog.setTimestamp(LocalDateTime.now());
 
-        auditLogRepository.save(auditLog);
+        asyncAuditWriter.submit(auditLog);
     }
     //How to use this ?
     //  autowire this service where you want to use this ex private final AuditLogService auditLogService;
@@ -9,9 +9,11 @@ import com.bank.authentication.kafka.AdminAuditProducer;
 import com.bank.authentication.model.PasswordResetToken;
 import com.bank.authentication.model.Session;
 import com.bank.authentication.model.User;
+import com.bank.authentication.security.TokenHashes;
+import com.bank.authentication.security.PasswordHashingService;
 import com.bank.authentication.util.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +25,7 @@ import org.springframework.stereotype.Service;
 import javax.naming.AuthenticationException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -31,7 +34,6 @@ import java.util.stream.Collectors;
 @Service
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
     private final UserService userService;
     private final PasswordResetTokenService passwordResetTokenService;
@@ -41,13 +43,15 @@ public class AuthService {
     private final UserDetailsServiceImpl userDetailsService;
     private final AdminAuditProducer adminAuditProducer;
     private final AuditLogger auditLogger;
+    private final PasswordHashingService passwordHashingService;
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
 
     @Autowired
-    public AuthService(AuthenticationManager authenticationManager, JwtUtils jwtUtils, UserService userService,
+    public AuthService(JwtUtils jwtUtils, UserService userService,
             PasswordResetTokenService passwordResetTokenService, SessionService sessionService,
             EmailService emailService, PasswordEncoder passwordEncoder, UserDetailsServiceImpl userDetailsService,
-            AdminAuditProducer adminAuditProducer, AuditLogger auditLogger) {
-        this.authenticationManager = authenticationManager;
+            AdminAuditProducer adminAuditProducer, AuditLogger auditLogger,
+            PasswordHashingService passwordHashingService) {
         this.jwtUtils = jwtUtils;
         this.userService = userService;
         this.passwordResetTokenService = passwordResetTokenService;
@@ -57,8 +61,15 @@ public class AuthService {
         this.userDetailsService = userDetailsService;
         this.adminAuditProducer = adminAuditProducer;
         this.auditLogger = auditLogger;
+        this.passwordHashingService = passwordHashingService;
     }
 
+    /**
+     * Loads the user once and checks the password against it directly. Going through the
+     * AuthenticationManager would load the same user (and its roles and permissions) a
+     * second time; the checks are the ones DaoAuthenticationProvider applies. Session and
+     * audit rows are written off the request thread.
+     */
     public LoginResponseDto authenticateUser(LoginRequestDto loginRequest) throws AuthenticationException {
         User user = (User) userDetailsService.loadUserByUsername(loginRequest.getUsername());
 
@@ -68,14 +79,21 @@ public class AuthService {
         }
 
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+            accountStatusChecker.check(user);
+            if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())) {
+                throw new org.springframework.security.authentication.BadCredentialsException("Bad credentials");
+            }
+            passwordHashingService.upgradeIfNeeded(user, loginRequest.getPassword());
+
+            Collection<? extends GrantedAuthority> grantedAuthorities = user.getAuthorities();
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user, null,
+                    grantedAuthorities);
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            UserDetails userDetails = user;
             
             // Check if user has ADMIN role for admin-specific token
-            boolean isAdmin = userDetails.getAuthorities().stream()
+            boolean isAdmin = grantedAuthorities.stream()
                     .anyMatch(auth -> auth.getAuthority().equals("ADMIN"));
             
             String jwtToken;
@@ -98,29 +116,23 @@ public class AuthService {
                 auditLogger.logAction("USER_LOGIN_SUCCESS", user.getUsername());
             }
 
-            // Authentication Succeeded: Reset attempts
-            user.setFailedLoginAttempts(0);
-            user.setLockedUntil(null);
-            userService.save(user);
+            // Authentication Succeeded: Reset attempts (no write when there is nothing to reset)
+            userService.resetLoginFailures(user);
 
             createSession(user, jwtToken);
 
-            List<String> authorities = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+            List<String> authorities = grantedAuthorities.stream().map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList());
 
             return new LoginResponseDto(userDetails.getUsername(), authorities, jwtToken, user.getUserId(),
                     user.getEmail(), user.getPhoneNumber(), user.getFirstName(), user.getLastName());
                     
         } catch (org.springframework.security.authentication.BadCredentialsException e) {
-            // Authentication Failed: Increment attempts
-            user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
-            if (user.getFailedLoginAttempts() >= 5) {
-                user.setLockedUntil(java.time.LocalDateTime.now().plusMinutes(15));
-                
+            // Authentication Failed: Increment attempts with a single UPDATE
+            if (userService.recordLoginFailure(user)) {
                 // Log account lockout event
                 auditLogger.logAction("ACCOUNT_LOCKED", user.getUsername());
             }
-            userService.save(user);
             
             auditLogger.logAction("LOGIN_FAILED", user.getUsername());
             throw e;
@@ -173,11 +185,11 @@ public class AuthService {
     private void createSession(User user, String jwtToken) {
         Session session = new Session();
         session.setUser(user);
-        session.setToken(jwtToken);
+        session.setTokenHash(TokenHashes.sha256Hex(jwtToken));
         session.setCreatedAt(LocalDateTime.now());
         session.setLastAccessed(LocalDateTime.now());
         session.setExpiration(LocalDateTime.now().plusHours(1));
-        sessionService.createSession(session);
+        sessionService.createSessionAsync(session);
     }
 
     private PasswordResetToken createPasswordResetToken(User user) {
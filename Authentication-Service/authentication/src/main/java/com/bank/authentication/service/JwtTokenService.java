@@ -1,100 +1,97 @@
 package com.bank.authentication.service;
 
+import com.bank.authentication.security.BankingRolePermissionMapper;
+import com.bank.authentication.security.ParsedToken;
+import com.bank.authentication.util.JwtUtils;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * Token operations for introspection and refresh. Signing and verification go through the
+ * prebuilt key and parser in {@link JwtUtils}, so tokens issued at login verify here too.
+ */
 @Service
 @Slf4j
 public class JwtTokenService {
 
-    @Value("${jwt.secret:mySecretKey}")
-    private String jwtSecret;
+    private final JwtUtils jwtUtils;
+    private final BankingRolePermissionMapper permissionMapper;
+    private final long jwtExpiration;
 
-    @Value("${jwt.expiration:3600}")
-    private long jwtExpiration;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtTokenService(JwtUtils jwtUtils, BankingRolePermissionMapper permissionMapper,
+            @Value("${jwt.expiration:3600}") long jwtExpiration) {
+        this.jwtUtils = jwtUtils;
+        this.permissionMapper = permissionMapper;
+        this.jwtExpiration = jwtExpiration;
     }
 
     public String generateToken(String username, String userId, Set<String> roles, Set<String> permissions) {
         Instant now = Instant.now();
         Instant expiryDate = now.plus(jwtExpiration, ChronoUnit.SECONDS);
 
-        return Jwts.builder()
+        return jwtUtils.accessTokenBuilder()
                 .subject(username)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiryDate))
-                .id(userId)
+                .claim("user_id", Long.valueOf(userId))
                 .claim("roles", roles)
                 .claim("permissions", permissions)
-                .signWith(getSigningKey())
+                .claim("perm_mask", permissionMask(roles, permissions))
                 .compact();
     }
 
+    private long permissionMask(Set<String> roles, Set<String> permissions) {
+        return permissionMapper.getPermissionMask(roles) | permissionMapper.getPermissionMask(permissions);
+    }
+
+    /**
+     * Verifies the token once; read everything else from the returned {@link ParsedToken}.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public ParsedToken parse(String token) {
+        return jwtUtils.parse(token);
+    }
+
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parse(token).claims();
     }
 
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return parse(token).subject();
     }
 
     public String extractUserId(String token) {
-        return extractClaims(token).getId();
+        Long userId = parse(token).userId();
+        return userId != null ? userId.toString() : null;
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> extractRoles(String token) {
-        Claims claims = extractClaims(token);
-        Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof List) {
-            return ((List<String>) rolesObj).stream()
-                    .collect(Collectors.toSet());
-        }
-        return Set.of();
+        return parse(token).stringSet("roles");
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> extractPermissions(String token) {
-        Claims claims = extractClaims(token);
-        Object permissionsObj = claims.get("permissions");
-        if (permissionsObj instanceof List) {
-            return ((List<String>) permissionsObj).stream()
-                    .collect(Collectors.toSet());
-        }
-        return Set.of();
+        return parse(token).stringSet("permissions");
     }
 
     public Instant extractExpiration(String token) {
-        return extractClaims(token).getExpiration().toInstant();
+        return parse(token).expiresAt();
     }
 
     public Instant extractIssuedAt(String token) {
-        return extractClaims(token).getIssuedAt().toInstant();
+        return parse(token).issuedAt();
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).isBefore(Instant.now());
+            return parse(token).isExpired(Instant.now());
         } catch (Exception e) {
             log.error("Error checking token expiration", e);
             return true;
@@ -103,10 +100,7 @@ public class JwtTokenService {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
+            parse(token);
             return true;
         } catch (Exception e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -115,16 +109,13 @@ public class JwtTokenService {
     }
 
     public boolean isTokenValid(String token) {
-        return validateToken(token) && !isTokenExpired(token);
+        // The parser rejects expired tokens, so a successful parse is enough
+        return validateToken(token);
     }
 
     public String refreshToken(String token) {
-        Claims claims = extractClaims(token);
-        String username = claims.getSubject();
-        String userId = claims.getId();
-        Set<String> roles = extractRoles(token);
-        Set<String> permissions = extractPermissions(token);
-        
-        return generateToken(username, userId, roles, permissions);
+        ParsedToken parsed = parse(token);
+        return generateToken(parsed.subject(), String.valueOf(parsed.userId()), parsed.stringSet("roles"),
+                parsed.stringSet("permissions"));
     }
 }
@@ -2,45 +2,107 @@ package com.bank.authentication.service;
 
 import com.bank.authentication.model.Session;
 import com.bank.authentication.repository.SessionRepository;
+import com.bank.authentication.security.ParsedToken;
+import com.bank.authentication.security.TokenHashes;
+import com.bank.authentication.session.UserSession;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+/**
+ * Sessions and the per-request identity lookup behind SessionFilter.
+ *
+ * <p>In {@code stateless} mode (the default) the identity is read from the verified token's
+ * {@code user_id} and {@code email} claims and the database is not touched. Tokens without
+ * those claims, and every token in {@code database} mode, are resolved through a TTL cache
+ * keyed by the token's SHA-256, then by a single indexed lookup on {@code token_hash}.
+ */
 @Service
 public class SessionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
+
     private final SessionRepository sessionRepository;
+    private final TaskExecutor loginWriteExecutor;
+    private final boolean stateless;
+    private final Cache<String, UserSession> sessionCache;
 
     @Autowired
-    public SessionService(SessionRepository sessionRepository) {
+    public SessionService(SessionRepository sessionRepository,
+            @Qualifier("loginWriteExecutor") TaskExecutor loginWriteExecutor, MeterRegistry meterRegistry,
+            @Value("${bank.session.mode:stateless}") String mode,
+            @Value("${bank.session.cache.max-size:100000}") long cacheMaxSize,
+            @Value("${bank.session.cache.ttl-seconds:300}") long cacheTtlSeconds) {
         this.sessionRepository = sessionRepository;
+        this.loginWriteExecutor = loginWriteExecutor;
+        this.stateless = !"database".equalsIgnoreCase(mode);
+        this.sessionCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionCache, "auth.sessions");
+        logger.info("Session identity resolved in {} mode", stateless ? "stateless" : "database");
+    }
+
+    /** The caller's identity for a verified token, if it has a live session. */
+    public Optional<UserSession> resolve(ParsedToken token) {
+        if (stateless) {
+            Long userId = token.userId();
+            String email = token.claim("email", String.class);
+            if (userId != null && email != null) {
+                return Optional.of(new UserSession(userId, email));
+            }
+        }
+        String tokenHash = TokenHashes.sha256Hex(token.token());
+        UserSession cached = sessionCache.getIfPresent(tokenHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Misses are not cached: the row may still be on its way from createSessionAsync
+        Optional<UserSession> session = sessionRepository.findUserSessionByTokenHash(tokenHash, LocalDateTime.now());
+        session.ifPresent(found -> sessionCache.put(tokenHash, found));
+        return session;
     }
 
     public Session createSession(Session session) {
         return sessionRepository.save(session);
     }
 
-    public Optional<Session> getSessionByToken(String token) {
-        return Optional.ofNullable(sessionRepository.findByToken(token));
+    /**
+     * Persists the session on the login write executor so the login response does not wait
+     * for the insert. The JWT is already valid on its own; the row only backs the session
+     * lookups in SessionFilter.
+     */
+    public void createSessionAsync(Session session) {
+        // Serve lookups right away, before the insert below commits
+        if (session.getTokenHash() != null && session.getUser() != null) {
+            sessionCache.put(session.getTokenHash(),
+                    new UserSession(session.getUser().getUserId(), session.getUser().getEmail()));
+        }
+        loginWriteExecutor.execute(() -> {
+            try {
+                sessionRepository.save(session);
+            } catch (Exception e) {
+                logger.error("Failed to persist session for user {}: {}",
+                        session.getUser() != null ? session.getUser().getUserId() : null, e.getMessage());
+            }
+        });
     }
 
     public void deleteSession(Long sessionId) {
         sessionRepository.deleteById(sessionId);
     }
-
-    public void deleteExpiredSessions(LocalDateTime now) {
-        sessionRepository.deleteAllByExpirationBefore(now);
-    }
-
-    public Optional<String> getUserEmailByToken(String token) {
-        return getSessionByToken(token)
-                .map(session -> session.getUser().getEmail());
-    }
-
-    public Optional<Long> getUserIdByToken(String token) {
-        return getSessionByToken(token)
-                .map(session -> session.getUser().getUserId());
-    }
 }
@@ -1,14 +1,17 @@
 package com.bank.authentication.service;
 
+import com.bank.authentication.kafka.KafkaEventPublisher;
+import com.bank.authentication.security.IntrospectionCache;
+import com.bank.authentication.security.ParsedToken;
+import com.bank.authentication.security.RevokedTokenIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -20,7 +23,13 @@ import java.util.UUID;
 public class TokenRevocationService {
     
     private final StringRedisTemplate redisTemplate;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaEventPublisher eventPublisher;
+    private final IntrospectionCache introspectionCache;
+    private final RevokedTokenIndex revokedTokenIndex;
+
+    // Must exceed the longest access-token lifetime
+    @Value("${bank.revocation.user-epoch-ttl-seconds:86400}")
+    private long userEpochTtlSeconds;
     
     /**
      * Revoke token
@@ -31,6 +40,9 @@ public class TokenRevocationService {
         // Add to Redis revocation list
         String key = "revoked:" + tokenId;
         redisTemplate.opsForValue().set(key, reason, Duration.ofDays(30));
+        revokedTokenIndex.add(tokenId);
+        // Other instances drop their cached result when the event below arrives
+        introspectionCache.invalidateToken(tokenId);
         
         // Publish revocation event
         TokenRevokedEvent event = TokenRevokedEvent.builder()
@@ -39,42 +51,56 @@ public class TokenRevocationService {
                 .revokedAt(java.time.Instant.now())
                 .build();
         
-        kafkaTemplate.send("token-revoked", event);
+        eventPublisher.publish("token-revoked", tokenId, event);
         
         log.info("Token revoked successfully: {}", tokenId);
     }
     
     /**
-     * Check if token is revoked
+     * Check if a verified token is revoked, on its own or by a revoke-all of its user.
+     */
+    public boolean isRevoked(ParsedToken token) {
+        if (revokedTokenIndex.isUserRevoked(token.userId(), token.issuedAt())) {
+            return true;
+        }
+        return token.tokenId() != null && isRevoked(token.tokenId());
+    }
+
+    /**
+     * Check if token is revoked. The Bloom filter answers most checks; only probable hits
+     * reach Redis.
      */
     public boolean isRevoked(String tokenId) {
+        if (!revokedTokenIndex.mightBeRevoked(tokenId)) {
+            return false;
+        }
         String key = "revoked:" + tokenId;
         Boolean exists = redisTemplate.hasKey(key);
         return exists != null && exists;
     }
     
     /**
-     * Revoke all tokens for a user
+     * Revoke all tokens for a user. Rather than finding the user's tokens, this records a
+     * single "issued before" epoch: any token of the user issued before now is revoked.
+     * One SET, whatever the number of tokens, and no key scan on the shared Redis.
      */
     public Mono<Void> revokeAllUserTokens(Long userId) {
         return Mono.fromCallable(() -> {
-            // This would require a more complex implementation
-            // For now, we'll implement a simple version
-            String pattern = "user:" + userId + ":token:*";
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null) {
-                for (String key : keys) {
-                    redisTemplate.delete(key);
-                }
-            }
-            
+            long revokedBefore = System.currentTimeMillis();
+            // Outlives every token issued before the epoch; expiry then cleans it up
+            redisTemplate.opsForValue().set(RevokedTokenIndex.USER_EPOCH_PREFIX + userId,
+                    Long.toString(revokedBefore), Duration.ofSeconds(userEpochTtlSeconds));
+            revokedTokenIndex.revokeUser(userId, revokedBefore);
+            introspectionCache.invalidateUser(userId);
+
             // Publish user tokens revoked event
             UserTokensRevokedEvent event = UserTokensRevokedEvent.builder()
                     .userId(userId)
-                    .revokedAt(java.time.Instant.now())
+                    .revokedAt(java.time.Instant.ofEpochMilli(revokedBefore))
+                    .revokedBeforeMillis(revokedBefore)
                     .build();
             
-            kafkaTemplate.send("user-tokens-revoked", event);
+            eventPublisher.publish("user-tokens-revoked", String.valueOf(userId), event);
             
             log.info("All tokens revoked for user: {}", userId);
             return null;
@@ -98,5 +124,6 @@ public class TokenRevocationService {
     private static class UserTokensRevokedEvent {
         private Long userId;
         private java.time.Instant revokedAt;
+        private long revokedBeforeMillis;
     }
 }
@@ -0,0 +1,205 @@
+package com.bank.authentication.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory transaction statistics for the admin dashboard, built from the records each
+ * Transaction-Service instance publishes to transaction-stats. Sliding-window counters are
+ * summed across live sources; database-wide totals come from the newest record. Both response
+ * bodies are rebuilt when a record arrives, so dashboard requests never call another service.
+ *
+ * <p>Counts and rates over the last 24 hours come from the database totals. The windows live in
+ * each instance's memory and restart empty on deploy, so they only supply what the database
+ * does not hold (failure reasons, the last hour), labelled with the time they cover from.
+ */
+@Service
+public class TransactionStatsView {
+
+    private static final String COMPLETED = "COMPLETED";
+    private static final String PENDING = "PENDING";
+    private static final String FAILED = "FAILED";
+    private static final String STATUS_LIVE = "LIVE";
+    private static final String STATUS_WARMING_UP = "WARMING_UP";
+    // Records from producers that predate amountScale were always in paise
+    private static final int LEGACY_AMOUNT_SCALE = 2;
+
+    private final Map<String, SourceRecord> latestBySource = new ConcurrentHashMap<>();
+    private final long staleAfterMs;
+    private volatile Map<String, Object> transactionStatistics;
+    private volatile Map<String, Object> failedTransactions;
+
+    private record SourceRecord(long receivedAt, long generatedAt, JsonNode record) {
+    }
+
+    public TransactionStatsView(@Value("${bank.transaction-stats.stale-after-ms:60000}") long staleAfterMs) {
+        this.staleAfterMs = staleAfterMs;
+        rebuild(System.currentTimeMillis());
+    }
+
+    public Map<String, Object> transactionStatistics() {
+        return transactionStatistics;
+    }
+
+    public Map<String, Object> failedTransactions() {
+        return failedTransactions;
+    }
+
+    public void accept(JsonNode record, long nowMillis) {
+        String source = record.path("source").asText(null);
+        if (source == null) {
+            return;
+        }
+        long generatedAt = record.path("generatedAt").asLong(nowMillis);
+        // Records from one source share a partition, but a restart can replay an older one
+        latestBySource.merge(source, new SourceRecord(nowMillis, generatedAt, record),
+                (previous, next) -> next.generatedAt() >= previous.generatedAt() ? next : previous);
+        rebuild(nowMillis);
+    }
+
+    // Drops sources that stopped publishing even when no new record arrives
+    @Scheduled(fixedDelayString = "${bank.transaction-stats.stale-after-ms:60000}")
+    public void expireStaleSources() {
+        rebuild(System.currentTimeMillis());
+    }
+
+    synchronized void rebuild(long nowMillis) {
+        latestBySource.values().removeIf(source -> nowMillis - source.receivedAt() > staleAfterMs);
+
+        WindowTotals lastHour = new WindowTotals();
+        WindowTotals lastDay = new WindowTotals();
+        JsonNode totals = null;
+        int totalsScale = LEGACY_AMOUNT_SCALE;
+        long totalsComputedAt = Long.MIN_VALUE;
+        long lastUpdated = 0;
+        // A source restarted since then has lost its earlier counts, so the windows are only complete from here
+        long windowsStartedAt = 0;
+        for (SourceRecord source : latestBySource.values()) {
+            JsonNode windows = source.record().path("windows");
+            int amountScale = source.record().path("amountScale").asInt(LEGACY_AMOUNT_SCALE);
+            lastHour.add(windows.path("1h"), amountScale);
+            lastDay.add(windows.path("24h"), amountScale);
+            lastUpdated = Math.max(lastUpdated, source.generatedAt());
+            windowsStartedAt = Math.max(windowsStartedAt, source.record().path("windowsStartedAt").asLong(0));
+
+            JsonNode candidate = source.record().path("totals");
+            long computedAt = candidate.path("computedAt").asLong(Long.MIN_VALUE);
+            if (candidate.isObject() && computedAt > totalsComputedAt) {
+                totals = candidate;
+                totalsScale = amountScale;
+                totalsComputedAt = computedAt;
+            }
+        }
+
+        String status = latestBySource.isEmpty() ? STATUS_WARMING_UP : STATUS_LIVE;
+        Instant updated = lastUpdated > 0 ? Instant.ofEpochMilli(lastUpdated) : null;
+        Instant hourSince = latestBySource.isEmpty() ? null : windowSince(windowsStartedAt, nowMillis, 60 * 60);
+        Instant daySince = latestBySource.isEmpty() ? null : windowSince(windowsStartedAt, nowMillis, 24 * 60 * 60);
+        transactionStatistics = Collections.unmodifiableMap(
+                buildTransactionStatistics(totals, totalsScale, lastHour, hourSince, status, updated));
+        failedTransactions = Collections.unmodifiableMap(
+                buildFailedTransactions(totals, lastDay, daySince, status, updated, nowMillis));
+    }
+
+    private static Instant windowSince(long windowsStartedAt, long nowMillis, long windowSeconds) {
+        return Instant.ofEpochMilli(Math.max(windowsStartedAt, nowMillis - windowSeconds * 1000));
+    }
+
+    private static Map<String, Long> statusCounts(JsonNode totals, String field) {
+        Map<String, Long> byStatus = new HashMap<>();
+        if (totals != null) {
+            totals.path(field).fields()
+                    .forEachRemaining(entry -> byStatus.put(entry.getKey(), entry.getValue().asLong()));
+        }
+        return byStatus;
+    }
+
+    private Map<String, Object> buildTransactionStatistics(JsonNode totals, int totalsScale, WindowTotals lastHour,
+            Instant hourSince, String status, Instant updated) {
+        Map<String, Long> byStatus = statusCounts(totals, "byStatus");
+        long creditedMinor = totals != null ? totals.path("creditedMinor").asLong() : 0;
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        long successful = byStatus.getOrDefault(COMPLETED, 0L);
+        BigDecimal totalVolume = BigDecimal.valueOf(creditedMinor, totalsScale);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total_transactions", total);
+        stats.put("successful_transactions", successful);
+        stats.put("failed_transactions", byStatus.getOrDefault(FAILED, 0L));
+        stats.put("pending_transactions", byStatus.getOrDefault(PENDING, 0L));
+        stats.put("total_volume", totalVolume);
+        stats.put("average_transaction_amount", successful > 0
+                ? totalVolume.divide(BigDecimal.valueOf(successful), RoundingMode.HALF_UP).doubleValue()
+                : 0.0);
+
+        Map<String, Object> hour = new HashMap<>();
+        hour.put("transactions", lastHour.total);
+        hour.put("successful", lastHour.byStatus.getOrDefault(COMPLETED, 0L));
+        hour.put("failed", lastHour.total - lastHour.byStatus.getOrDefault(COMPLETED, 0L));
+        hour.put("volume", lastHour.volume);
+        // In-memory windows: complete only from this time, not across restarts
+        hour.put("since", hourSince);
+        stats.put("last_hour", hour);
+
+        stats.put("sources", latestBySource.size());
+        stats.put("status", status);
+        stats.put("last_updated", updated);
+        return stats;
+    }
+
+    private Map<String, Object> buildFailedTransactions(JsonNode totals, WindowTotals lastDay, Instant reasonsSince,
+            String status, Instant updated, long nowMillis) {
+        Map<String, Long> lastDayByStatus = statusCounts(totals, "byStatus24h");
+        long totalLastDay = lastDayByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long failed = lastDayByStatus.getOrDefault(FAILED, 0L);
+
+        // Reasons are only known where a transfer fails, so they come from the windows; most frequent first
+        List<String> commonReasons = lastDay.byFailureReason.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<String, Long> byReason = new LinkedHashMap<>();
+        commonReasons.forEach(reason -> byReason.put(reason, lastDay.byFailureReason.get(reason)));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("failed_last_24h", failed);
+        stats.put("failure_rate", totalLastDay > 0 ? (double) failed / totalLastDay * 100 : 0.0);
+        stats.put("common_failure_reasons", commonReasons);
+        stats.put("failures_by_reason", byReason);
+        stats.put("failure_reasons_since", reasonsSince);
+        stats.put("affected_users", totals != null ? totals.path("failedAccounts24h").asLong() : 0L);
+        stats.put("period_start", Instant.ofEpochMilli(nowMillis).minusSeconds(24 * 60 * 60));
+        stats.put("period_end", Instant.ofEpochMilli(nowMillis));
+        stats.put("status", status);
+        stats.put("last_updated", updated);
+        return stats;
+    }
+
+    private static final class WindowTotals {
+        private long total;
+        private BigDecimal volume = BigDecimal.ZERO;
+        private final Map<String, Long> byStatus = new HashMap<>();
+        private final Map<String, Long> byFailureReason = new HashMap<>();
+
+        private void add(JsonNode counts, int amountScale) {
+            total += counts.path("total").asLong();
+            volume = volume.add(BigDecimal.valueOf(counts.path("volumeMinor").asLong(), amountScale));
+            counts.path("byStatus").fields()
+                    .forEachRemaining(entry -> byStatus.merge(entry.getKey(), entry.getValue().asLong(), Long::sum));
+            counts.path("byFailureReason").fields().forEachRemaining(
+                    entry -> byFailureReason.merge(entry.getKey(), entry.getValue().asLong(), Long::sum));
+        }
+    }
+}
@@ -11,19 +11,27 @@ import com.bank.authentication.repository.PermissionRepository;
 import com.bank.authentication.repository.RoleRepository;
 import com.bank.authentication.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
+
+    private static final int MAX_FAILED_LOGINS = 5;
+    private static final long LOCKOUT_MINUTES = 15;
     @Autowired
     private UserRepository userRepository;
 
@@ -46,6 +54,37 @@ public class UserService {
         userRepository.save(user);
     }
 
+    /**
+     * Clears failed attempts and any lock after a successful login. Most logins have nothing
+     * to clear, so the row is only written when something changes, and then with a single
+     * UPDATE rather than a merge of the whole user graph.
+     */
+    public void resetLoginFailures(User user) {
+        if (user.getFailedLoginAttempts() == 0 && user.getLockedUntil() == null) {
+            return;
+        }
+        user.setFailedLoginAttempts(0);
+        user.setLockedUntil(null);
+        userRepository.resetLoginFailures(user.getUserId());
+    }
+
+    /**
+     * Counts a failed login, locking the account for 15 minutes at the fifth, with a single
+     * UPDATE that increments in the database instead of merging the whole user graph.
+     *
+     * @return whether this attempt locked the account
+     */
+    public boolean recordLoginFailure(User user) {
+        int attempts = user.getFailedLoginAttempts() + 1;
+        LocalDateTime lockUntil = LocalDateTime.now().plusMinutes(LOCKOUT_MINUTES);
+        user.setFailedLoginAttempts(attempts);
+        if (attempts >= MAX_FAILED_LOGINS) {
+            user.setLockedUntil(lockUntil);
+        }
+        userRepository.recordLoginFailure(user.getUserId(), MAX_FAILED_LOGINS, lockUntil);
+        return attempts >= MAX_FAILED_LOGINS;
+    }
+
 
     public UserDetailDto createUser(User user, Set<String> roleNames, Set<String> permissionNames) {
         // Validate user input
@@ -184,4 +223,47 @@ public class UserService {
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
+
+    /**
+     * One page of users ordered by id, as projections: one query for the rows and one each for
+     * the page's role and permission names, however many users there are.
+     */
+    public Slice<UserSummaryDto> findUserSummaries(int page, int size) {
+        return withAuthorities(userRepository.findUserSummaries(PageRequest.of(page, size)));
+    }
+
+    /** As {@link #findUserSummaries(int, int)}, the page of users with ids above {@code afterUserId}. */
+    public Slice<UserSummaryDto> findUserSummariesAfter(long afterUserId, int size) {
+        return withAuthorities(userRepository.findUserSummariesAfter(afterUserId, PageRequest.of(0, size)));
+    }
+
+    /**
+     * As {@link #findUserSummariesAfter(long, int)}, limited to usernames or emails starting with
+     * {@code search}.
+     */
+    public Slice<UserSummaryDto> searchUserSummaries(String search, long afterUserId, int size) {
+        String prefix = search.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        // One extra id tells whether another page follows
+        List<Long> userIds = userRepository.searchUserIds(prefix, afterUserId, size + 1);
+        boolean hasNext = userIds.size() > size;
+        List<UserSummaryDto> rows = userIds.isEmpty() ? List.of()
+                : userRepository.findUserSummariesByIds(hasNext ? userIds.subList(0, size) : userIds);
+        return withAuthorities(new SliceImpl<>(rows, PageRequest.of(0, size), hasNext));
+    }
+
+    private Slice<UserSummaryDto> withAuthorities(Slice<UserSummaryDto> rows) {
+        if (!rows.hasContent()) {
+            return rows;
+        }
+        List<Long> userIds = rows.map(UserSummaryDto::userId).getContent();
+        Map<Long, List<String>> roles = groupByUser(userRepository.findRoleNames(userIds));
+        Map<Long, List<String>> permissions = groupByUser(userRepository.findPermissionNames(userIds));
+        return rows.map(row -> row.withAuthorities(roles.getOrDefault(row.userId(), List.of()),
+                permissions.getOrDefault(row.userId(), List.of())));
+    }
+
+    private static Map<Long, List<String>> groupByUser(List<UserAuthorityName> names) {
+        return names.stream().collect(Collectors.groupingBy(UserAuthorityName::userId,
+                Collectors.mapping(UserAuthorityName::name, Collectors.toList())));
+    }
 }
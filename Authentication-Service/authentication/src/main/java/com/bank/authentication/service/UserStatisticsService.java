@@ -0,0 +1,88 @@
+package com.bank.authentication.service;
+
+import com.bank.authentication.dto.CustomerUserCounts;
+import com.bank.authentication.dto.RoleUserCount;
+import com.bank.authentication.enums.BankUserRole;
+import com.bank.authentication.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User counters for the admin dashboard. A few grouped aggregate queries refresh a snapshot
+ * on a fixed delay and dashboard requests only read it, so their cost does not grow with the
+ * users table. Counts are at most one refresh interval old.
+ */
+@Service
+public class UserStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatisticsService.class);
+
+    // Stored role names that count as customers; both are in use
+    private static final List<String> CUSTOMER_ROLE_NAMES = List.of("CUSTOMER", "CUSTOMER_USER");
+
+    private final UserRepository userRepository;
+    private volatile UserStatistics snapshot;
+
+    public record UserStatistics(long totalUsers, long lockedUsers, Map<BankUserRole, Long> usersByRole,
+            CustomerUserCounts customers, LocalDateTime computedAt) {
+
+        public long usersWithRole(BankUserRole role) {
+            return usersByRole.getOrDefault(role, 0L);
+        }
+
+        public long activeUsers() {
+            return totalUsers - lockedUsers;
+        }
+    }
+
+    public UserStatisticsService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /** The latest snapshot, computed on the spot only if none exists yet. */
+    public UserStatistics current() {
+        UserStatistics current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${bank.admin.stats.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.error("Failed to refresh user statistics, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public UserStatistics refresh() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<BankUserRole, Long> usersByRole = new EnumMap<>(BankUserRole.class);
+        for (RoleUserCount count : userRepository.countUsersByRole()) {
+            BankUserRole role = BankUserRole.fromRoleName(count.roleName());
+            if (role != null) {
+                usersByRole.merge(role, count.users(), Long::sum);
+            }
+        }
+        // Summing CUSTOMER and CUSTOMER_USER would count users holding both twice
+        CustomerUserCounts customers = userRepository.countCustomers(CUSTOMER_ROLE_NAMES, now,
+                now.minusMonths(1), now.minusWeeks(1));
+        if (customers == null) {
+            customers = CustomerUserCounts.EMPTY;
+        }
+        usersByRole.put(BankUserRole.CUSTOMER, customers.total());
+
+        UserStatistics rebuilt = new UserStatistics(userRepository.count(), userRepository.countLockedUsers(now),
+                Map.copyOf(usersByRole), customers, now);
+        snapshot = rebuilt;
+        logger.debug("Refreshed user statistics: {} users", rebuilt.totalUsers());
+        return rebuilt;
+    }
+}
@@ -1,25 +1,183 @@
 package com.bank.authentication.session;
 
-import com.bank.authentication.service.SessionService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Purges expired sessions in small slices. Each run deletes bounded batches through the
+ * expiration index, one short auto-committed statement at a time, pausing between batches so
+ * logins keep their share of the table. A batch waits at most lock-wait-seconds for row locks;
+ * on a timeout the run stops and the rest is left for the next one.
+ *
+ * <p>Runs take a MySQL named lock first, so one instance purges at a time and the others skip
+ * the interval instead of competing for the same rows. They run on their own thread, so the
+ * pauses never hold up the shared {@code @Scheduled} thread.
+ *
+ * <p>{@code auth.sessions.purged} counts deleted rows and {@code auth.sessions.purge.backlog}
+ * is the expired rows left after this instance's last run.
+ */
 @Component
 public class SessionCleanupTask {
 
-    private final SessionService sessionService;
+    private static final Logger logger = LoggerFactory.getLogger(SessionCleanupTask.class);
 
-    @Autowired
-    public SessionCleanupTask(SessionService sessionService) {
-        this.sessionService = sessionService;
+    private static final String PURGE_LOCK = "auth.sessions.purge";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM sessions WHERE expiration < ? ORDER BY expiration LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final int lockWaitSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter purged;
+    private final Counter lockTimeouts;
+    private final AtomicLong backlog = new AtomicLong();
+
+    /** What one run did; filled in on the purge connection and read after it is returned. */
+    private static final class PurgeRun {
+        private boolean lockHeld;
+        private boolean drained;
+        private long deleted;
+    }
+
+    public SessionCleanupTask(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${bank.session.purge.interval-ms:60000}") long intervalMillis,
+            @Value("${bank.session.purge.batch-size:500}") int batchSize,
+            @Value("${bank.session.purge.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${bank.session.purge.pause-ms:50}") long pauseMillis,
+            @Value("${bank.session.purge.lock-wait-seconds:2}") int lockWaitSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.lockWaitSeconds = lockWaitSeconds;
+
+        this.purged = Counter.builder("auth.sessions.purged")
+                .description("Expired sessions deleted")
+                .register(meterRegistry);
+        this.lockTimeouts = Counter.builder("auth.sessions.purge.lock.timeouts")
+                .description("Purge runs cut short by the lock-wait budget")
+                .register(meterRegistry);
+        Gauge.builder("auth.sessions.purge.backlog", backlog, AtomicLong::get)
+                .description("Expired sessions left after the last purge run")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-session-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::cleanupExpiredSessions, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
     }
 
-    @Scheduled(cron = "0 0 * * * ?") // Runs every hour, adjust as needed
     public void cleanupExpiredSessions() {
-        LocalDateTime now = LocalDateTime.now();
-        sessionService.deleteExpiredSessions(now);
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now());
+        PurgeRun run = new PurgeRun();
+        try {
+            // The named lock and the lock-wait budget both belong to the connection, so the
+            // whole run uses one
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                purge(connection, cutoff, run);
+                return null;
+            });
+        } catch (PessimisticLockingFailureException e) {
+            lockTimeouts.increment();
+            logger.info("Session purge yielded after {} rows: rows were locked for over {}s",
+                    run.deleted, lockWaitSeconds);
+        } catch (Exception e) {
+            logger.error("Session purge failed after {} rows: {}", run.deleted, e.getMessage());
+        }
+        if (!run.lockHeld) {
+            return;
+        }
+
+        backlog.set(run.drained ? 0 : countExpired(cutoff));
+        if (run.deleted > 0) {
+            logger.debug("Purged {} expired sessions, {} left", run.deleted, backlog.get());
+        }
+    }
+
+    private void purge(Connection connection, Timestamp cutoff, PurgeRun run) throws SQLException {
+        if (!tryLock(connection)) {
+            logger.debug("Session purge skipped: another instance is running it");
+            return;
+        }
+        run.lockHeld = true;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION innodb_lock_wait_timeout = " + lockWaitSeconds);
+            try (PreparedStatement delete = connection.prepareStatement(DELETE_EXPIRED)) {
+                for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                    delete.setTimestamp(1, cutoff);
+                    delete.setInt(2, batchSize);
+                    int deleted = delete.executeUpdate();
+                    run.deleted += deleted;
+                    purged.increment(deleted);
+                    if (deleted < batchSize) {
+                        run.drained = true;
+                        break;
+                    }
+                    TimeUnit.MILLISECONDS.sleep(pauseMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                statement.execute("SET SESSION innodb_lock_wait_timeout = DEFAULT");
+            }
+        } finally {
+            try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                release.setString(1, PURGE_LOCK);
+                release.execute();
+            }
+        }
+    }
+
+    // Does not wait: if another instance holds the lock, this interval is already covered
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            lock.setString(1, PURGE_LOCK);
+            try (ResultSet result = lock.executeQuery()) {
+                return result.next() && result.getInt(1) == 1;
+            }
+        }
+    }
+
+    private long countExpired(Timestamp cutoff) {
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sessions WHERE expiration < ?",
+                    Long.class, cutoff);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            return backlog.get();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
     }
 }
@@ -1,5 +1,6 @@
 package com.bank.authentication.session;
 
+import com.bank.authentication.security.ParsedToken;
 import com.bank.authentication.service.SessionService;
 import com.bank.authentication.util.JwtUtils;
 import jakarta.servlet.FilterChain;
@@ -25,17 +26,17 @@ public class SessionFilter extends OncePerRequestFilter {
 
         String token = jwtUtils.getJwtFromHeader(request); // Extract token from request header
 
-        if (token != null && jwtUtils.validateJwtToken(token)) {
-            sessionService.getUserIdByToken(token).ifPresent(userId -> {
-                sessionService.getUserEmailByToken(token).ifPresent(email -> {
-                    // Add userId and email to response headers with custom names
-                    response.addHeader("userId", userId.toString());
-                    response.addHeader("email", email);
-
-                    // Set UserSession in ThreadLocal for Feign client to pick up
-                    UserThreadLocalContext.setUserSession(new UserSession(userId, email));
-                    System.out.println("SessionFilter: Set UserSession in ThreadLocal - userId=" + userId + ", email=" + email);
-                });
+        ParsedToken parsed = token != null ? verified(request, token) : null;
+        if (parsed != null) {
+            sessionService.resolve(parsed).ifPresent(session -> {
+                // Add userId and email to response headers with custom names
+                response.addHeader("userId", session.userId().toString());
+                if (session.email() != null) {
+                    response.addHeader("email", session.email());
+                }
+
+                // Set UserSession in ThreadLocal for Feign client to pick up
+                UserThreadLocalContext.setUserSession(session);
             });
         }
 
@@ -46,4 +47,12 @@ public class SessionFilter extends OncePerRequestFilter {
         UserThreadLocalContext.clear();
     }
 
+    // Reuses the token AuthTokenFilter already verified for this request
+    private ParsedToken verified(HttpServletRequest request, String token) {
+        Object parsed = request.getAttribute(ParsedToken.REQUEST_ATTRIBUTE);
+        if (parsed instanceof ParsedToken parsedToken && parsedToken.token().equals(token)) {
+            return parsedToken;
+        }
+        return jwtUtils.parseValid(token).orElse(null);
+    }
 }
@@ -1,5 +1,8 @@
 package com.bank.authentication.util;
 
+import com.bank.authentication.security.BankingRolePermissionMapper;
+import com.bank.authentication.security.ParsedToken;
+import com.bank.authentication.security.PermissionGuard;
 import com.bank.authentication.service.AuditLogService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,8 +11,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,7 +24,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-
+import java.util.Set;
+
+/**
+ * Authenticates the request from its bearer token. In {@code stateless} session mode (the
+ * default) the principal is built from the verified {@code user_id}, {@code email},
+ * {@code roles} and {@code perm_mask} claims without touching the database; older tokens
+ * missing any of them, and every token in {@code database} mode, load the user instead.
+ */
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
@@ -28,11 +42,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
 
+    private final BankingRolePermissionMapper permissionMapper;
+
+    private final boolean stateless;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
-    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    @Autowired
+    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+            BankingRolePermissionMapper permissionMapper,
+            @Value("${bank.session.mode:stateless}") String sessionMode) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.permissionMapper = permissionMapper;
+        this.stateless = !"database".equalsIgnoreCase(sessionMode);
     }
 
     @Override
@@ -45,16 +68,26 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         );
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            ParsedToken parsedToken = jwt != null ? jwtUtils.parseValid(jwt).orElse(null) : null;
+            if (parsedToken != null) {
+                // Later filters reuse the verified token instead of parsing it again
+                request.setAttribute(ParsedToken.REQUEST_ATTRIBUTE, parsedToken);
+                UserDetails userDetails = principal(parsedToken);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails,
                                 null,
                                 userDetails.getAuthorities());
                 logger.debug("Roles from JWT:{}", userDetails.getAuthorities());
 
+                // Permission checks downstream are bit tests on this mask; tokens issued
+                // before perm_mask existed get it derived from the loaded authorities
+                Long permissionMask = parsedToken.permissionMask();
+                if (permissionMask == null) {
+                    permissionMask = permissionMapper.getPermissionMask(userDetails.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority).toList());
+                }
+                request.setAttribute(PermissionGuard.REQUEST_ATTRIBUTE, permissionMask);
+
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -67,6 +100,25 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     }
 
 
+    private UserDetails principal(ParsedToken parsedToken) {
+        if (stateless && hasIdentityClaims(parsedToken)) {
+            // The signature vouches for these claims; the password is never needed past login
+            return User.withUsername(parsedToken.subject())
+                    .password("")
+                    .authorities(parsedToken.stringSet("roles").stream().map(SimpleGrantedAuthority::new).toList())
+                    .build();
+        }
+        return userDetailsService.loadUserByUsername(parsedToken.subject());
+    }
+
+    private static boolean hasIdentityClaims(ParsedToken parsedToken) {
+        Set<String> roles = parsedToken.stringSet("roles");
+        return parsedToken.userId() != null
+                && parsedToken.claim("email", String.class) != null
+                && !roles.isEmpty()
+                && parsedToken.permissionMask() != null;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String jwt = jwtUtils.getJwtFromHeader(request);
         logger.debug("AuthTokenFilter: {}", jwt);
@@ -1,5 +1,9 @@
 package com.bank.authentication.util;
 
+import com.bank.authentication.model.User;
+import com.bank.authentication.security.BankingRolePermissionMapper;
+import com.bank.authentication.security.JwtKeyManager;
+import com.bank.authentication.security.ParsedToken;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,25 +15,56 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
 
-    @Value("${spring.app.jwtSecret}")
-    private String jwtSecret;
-
-    @Value("${spring.app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    // Decoded and built once: the keys and the parser are immutable and thread-safe.
+    // Access tokens are RS256 with a kid so the gateway can verify them from the JWK set;
+    // OTP tokens never leave this service and stay HMAC with the shared secret.
+    private final SecretKey key;
+    private final JwtKeyManager keyManager;
+    private final BankingRolePermissionMapper permissionMapper;
+    private final JwtParser parser;
+    private final JwtParser otpParser;
+    private final int jwtExpirationMs;
+
+    public JwtUtils(@Value("${spring.app.jwtSecret}") String jwtSecret,
+            @Value("${spring.app.jwtExpirationMs}") int jwtExpirationMs, JwtKeyManager keyManager,
+            BankingRolePermissionMapper permissionMapper) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.keyManager = keyManager;
+        this.permissionMapper = permissionMapper;
+        // Access tokens must name an RS256 key: an HMAC token signed with the shared secret,
+        // such as an OTP token, is never accepted as one
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                if (kid == null || !Jwts.SIG.RS256.getId().equals(header.getAlgorithm())) {
+                    throw new UnsupportedJwtException("Access tokens must be RS256 with a key id");
+                }
+                Key publicKey = keyManager.publicKey(kid);
+                if (publicKey == null) {
+                    throw new UnsupportedJwtException("Unknown signing key " + kid);
+                }
+                return publicKey;
+            }
+        }).build();
+        this.otpParser = Jwts.parser().verifyWith(key).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
 
     public String getJwtFromHeader(HttpServletRequest request) {
-        System.out.println(request + "request gettig");
         String bearerToken = request.getHeader("Authorization");
-        System.out.println(bearerToken);
         logger.debug("Authorization Header: {}", bearerToken);
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
@@ -42,9 +77,10 @@ public class JwtUtils {
         Map<String, Object> claims = new HashMap<>();
         
         // Add banking-compliant claims
-        claims.put("user_id", getUserIdFromUsername(username));
+        claims.put("user_id", getUserId(userDetails));
+        claims.put("email", getEmail(userDetails));
         claims.put("roles", getRolesFromUserDetails(userDetails));
-        claims.put("permissions", getPermissionsFromUserDetails(userDetails));
+        putPermissions(claims, userDetails);
         claims.put("token_type", "access");
         claims.put("iat", System.currentTimeMillis());
         
@@ -56,9 +92,10 @@ public class JwtUtils {
         Map<String, Object> claims = new HashMap<>();
         
         // Admin-specific short-lived token (15 minutes)
-        claims.put("user_id", getUserIdFromUsername(username));
+        claims.put("user_id", getUserId(userDetails));
+        claims.put("email", getEmail(userDetails));
         claims.put("roles", getRolesFromUserDetails(userDetails));
-        claims.put("permissions", getPermissionsFromUserDetails(userDetails));
+        putPermissions(claims, userDetails);
         claims.put("token_type", "admin_access");
         claims.put("iat", System.currentTimeMillis());
         claims.put("session_id", generateSessionId());
@@ -66,10 +103,13 @@ public class JwtUtils {
         return generateTokenFromUsername(claims, username, 15 * 60 * 1000); // 15 minutes
     }
     
-    private Long getUserIdFromUsername(String username) {
-        // Implementation to get user ID from username
-        // This would typically query the user repository
-        return 1L; // Placeholder - implement actual lookup
+    // The gateway forwards these claims as identity headers, so they must be the real values
+    private Long getUserId(UserDetails userDetails) {
+        return userDetails instanceof User user ? user.getUserId() : null;
+    }
+
+    private String getEmail(UserDetails userDetails) {
+        return userDetails instanceof User user ? user.getEmail() : null;
     }
     
     private java.util.List<String> getRolesFromUserDetails(UserDetails userDetails) {
@@ -78,9 +118,12 @@ public class JwtUtils {
                 .collect(java.util.stream.Collectors.toList());
     }
     
-    private java.util.List<String> getPermissionsFromUserDetails(UserDetails userDetails) {
-        // Extract permissions from roles or user details
-        return java.util.Arrays.asList("PERMISSION_READ", "PERMISSION_WRITE");
+    // Role-implied and directly granted permissions, as names and as the perm_mask bitset
+    // that filters and controllers check with a single AND
+    private void putPermissions(Map<String, Object> claims, UserDetails userDetails) {
+        long permissionMask = permissionMapper.getPermissionMask(getRolesFromUserDetails(userDetails));
+        claims.put("permissions", permissionMapper.getPermissionAuthorities(permissionMask));
+        claims.put("perm_mask", permissionMask);
     }
     
     private String generateSessionId() {
@@ -92,16 +135,26 @@ public class JwtUtils {
     }
     
     public String generateTokenFromUsername(Map<String, Object> claims, String username, int expirationMs) {
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(username)
-                .setHeaderParam("typ", "jwt")
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + expirationMs))
-                .signWith(key())
+        return accessTokenBuilder()
+                .claims(claims)
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date((new Date()).getTime() + expirationMs))
                 .compact();
     }
 
+    /**
+     * A builder already carrying a fresh jti, the active key id and the RS256 signing key;
+     * add claims and compact. The jti is what revocation and introspection caching key on.
+     */
+    public JwtBuilder accessTokenBuilder() {
+        JwtKeyManager.SigningKey signingKey = keyManager.activeKey();
+        return Jwts.builder()
+                .header().type("jwt").keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .signWith(signingKey.key(), Jwts.SIG.RS256);
+    }
+
     public String getUserNameFromJwtToken(String token) {
         return extractAllClaims(token).getSubject();
 //        return Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(token).getPayload().getSubject();
@@ -113,38 +166,38 @@ public class JwtUtils {
     }
 
     public Claims extractAllClaims(String token){
-        return Jwts.parser()
-                .verifyWith(key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parse(token).claims();
     }
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-//        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    /**
+     * Verifies the signature and expiry once.
+     *
+     * @throws JwtException if the token is invalid or expired
+     */
+    public ParsedToken parse(String token) {
+        return new ParsedToken(token, parser.parseSignedClaims(token).getPayload());
     }
 
-
-    public boolean validateJwtToken(String authToken) {
+    /** Like {@link #parse} but logs and returns empty instead of throwing. */
+    public Optional<ParsedToken> parseValid(String authToken) {
         try {
-            System.out.println("Validate");
-            Jwts.parser()
-                    .verifyWith(key())
-                    .build()
-                    .parseSignedClaims(authToken)
-                    .getPayload();
-            return true;
+            return Optional.of(parse(authToken));
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error(" JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error(" JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error(" JWT signature is invalid: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error(" JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseValid(authToken).isPresent();
     }
 
     //otp related stuff code do not touch
@@ -152,17 +205,22 @@ public class JwtUtils {
         Map<String, Object> claims = new HashMap<>();
         claims.put("otp", otp);
         return Jwts.builder().claims(claims).subject(email).issuedAt(new Date()).expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key())
+                .signWith(key)
                 .compact();
     }
 
 
     public String extractOtp(String token) {
-        return (String) extractAllClaims(token).get("otp");
+        return (String) extractOtpClaims(token).get("otp");
     }
 
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject(); // Email is stored as the subject
+        return extractOtpClaims(token).getSubject(); // Email is stored as the subject
+    }
+
+    // OTP tokens only verify with the shared secret, so an access token is never read as one
+    private Claims extractOtpClaims(String token) {
+        return otpParser.parseSignedClaims(token).getPayload();
     }
 
 
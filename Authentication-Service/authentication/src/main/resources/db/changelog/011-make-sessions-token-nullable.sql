@@ -0,0 +1,2 @@
+-- Bearer tokens are no longer stored; sessions are looked up by token_hash
+ALTER TABLE sessions MODIFY COLUMN token VARCHAR(2048) NULL;
@@ -0,0 +1,166 @@
+package com.bank.authentication.benchmark;
+
+import com.bank.authentication.AuthenticationApplication;
+import com.bank.authentication.dto.LoginRequestDto;
+import com.bank.authentication.model.AuditLog;
+import com.bank.authentication.model.Role;
+import com.bank.authentication.model.Session;
+import com.bank.authentication.model.User;
+import com.bank.authentication.repository.AuditLogRepository;
+import com.bank.authentication.repository.RoleRepository;
+import com.bank.authentication.repository.SessionRepository;
+import com.bank.authentication.repository.UserRepository;
+import com.bank.authentication.service.AuthService;
+import com.bank.authentication.util.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded login throughput, i.e. logins per second per core, of the previous login
+ * flow against {@link AuthService#authenticateUser}, both running against a real datasource.
+ *
+ * <p>The service is started with the test profile, so by default the datasource is the
+ * in-memory H2 database; point it at MySQL for production-like round trips by passing
+ * {@code -Dspring.datasource.url=...} (and username and password) through the JMH JVM args.
+ * The previous flow loads the user, roles and permissions without an entity graph twice (once
+ * for the lookup, once inside the AuthenticationManager), merges the user, and inserts the
+ * session and audit rows on the request thread. The current flow is the service's own.
+ *
+ * <p>Run {@link #main} from the test classpath, e.g. from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class LoginBenchmark {
+
+    private static final String USERNAME = "bench-user";
+    private static final String EMAIL = "bench@bank.test";
+    private static final String PASSWORD = "bench-password";
+
+    @Param({ "4", "10" })
+    public int bcryptCost;
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private UserRepository userRepository;
+    private SessionRepository sessionRepository;
+    private AuditLogRepository auditLogRepository;
+    private TransactionTemplate transactionTemplate;
+    private DaoAuthenticationProvider legacyAuthenticationProvider;
+    private JwtUtils jwtUtils;
+    private LoginRequestDto request;
+
+    @Setup
+    public void setUp() {
+        // Fixed strength so both flows hash at exactly the same cost
+        context = new SpringApplicationBuilder(AuthenticationApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "eureka.client.enabled=false",
+                        "bank.password.target-hash-ms=0",
+                        "bank.password.min-strength=" + bcryptCost,
+                        "bank.password.max-strength=" + bcryptCost)
+                .run();
+        authService = context.getBean(AuthService.class);
+        userRepository = context.getBean(UserRepository.class);
+        sessionRepository = context.getBean(SessionRepository.class);
+        auditLogRepository = context.getBean(AuditLogRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jwtUtils = context.getBean(JwtUtils.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        Role customer = roleRepository.findByRoleName("CUSTOMER")
+                .orElseGet(() -> roleRepository.save(new Role("CUSTOMER")));
+        if (userRepository.findByUsername(USERNAME).isEmpty()) {
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setEmail(EMAIL);
+            user.setPassword(passwordEncoder.encode(PASSWORD));
+            user.setRoles(Set.of(customer));
+            userRepository.save(user);
+        }
+
+        legacyAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        legacyAuthenticationProvider.setUserDetailsService(username -> legacyLoad());
+
+        request = new LoginRequestDto();
+        request.setUsername(USERNAME);
+        request.setPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object previousLogin() {
+        User user = legacyLoad();
+        Authentication authentication = legacyAuthenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+        String token = jwtUtils.generateToken((UserDetails) authentication.getPrincipal());
+
+        // Merges the detached user: select, then update
+        userRepository.save(user);
+
+        Session session = new Session();
+        session.setUser(user);
+        session.setToken(token);
+        session.setExpiration(LocalDateTime.now().plusHours(1));
+        sessionRepository.save(session);
+
+        AuditLog auditLog = new AuditLog();
+        auditLog.setAction("USER_LOGIN_SUCCESS");
+        auditLog.setUsername(user.getUsername());
+        auditLog.setTimestamp(LocalDateTime.now());
+        return auditLogRepository.save(auditLog);
+    }
+
+    @Benchmark
+    public Object currentLogin() throws Exception {
+        return authService.authenticateUser(request);
+    }
+
+    // The user, then roles and permissions as separate lazy selects, as before the entity graph
+    private User legacyLoad() {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findByEmail(EMAIL).orElseThrow();
+            user.getAuthorities();
+            return user;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoginBenchmark.class.getSimpleName()).build()).run();
+    }
+}
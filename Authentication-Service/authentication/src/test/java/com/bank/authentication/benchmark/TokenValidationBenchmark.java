@@ -0,0 +1,102 @@
+package com.bank.authentication.benchmark;
+
+import com.bank.authentication.model.Role;
+import com.bank.authentication.model.User;
+import com.bank.authentication.security.BankingRolePermissionMapper;
+import com.bank.authentication.security.JwtKeyManager;
+import com.bank.authentication.security.ParsedToken;
+import com.bank.authentication.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens validated per second on one thread, as introspection does it.
+ *
+ * <p>{@code perCallKeyAndParser} is the previous pattern: a parser was built on every call,
+ * and one introspection parsed the token four times (claims, signature check, expiration,
+ * issued-at). {@code parsedOnce} verifies once with the prebuilt parser and reads everything
+ * from the {@link ParsedToken}.
+ *
+ * <p>Run {@link #main} from the test classpath, e.g. from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TokenValidationBenchmark {
+
+    static final String SECRET =
+            "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LWJlbmNobWFyay1zZWNyZXQtYmVuY2htYXJr";
+
+    private JwtUtils jwtUtils;
+    private PublicKey publicKey;
+    private String token;
+
+    /** Keys in a throwaway directory, so benchmarks never touch the service's keys. */
+    static JwtKeyManager newKeyManager() throws Exception {
+        return new JwtKeyManager(Files.createTempDirectory("bench-jwt-keys").toString(), "", 0, true);
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeyManager keyManager = newKeyManager();
+        jwtUtils = new JwtUtils(SECRET, 3_000_000, keyManager, new BankingRolePermissionMapper());
+        publicKey = keyManager.publicKey(keyManager.activeKeyId());
+        User user = new User();
+        user.setUsername("bench-user");
+        user.setRoles(Set.of(new Role("CUSTOMER")));
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public void perCallKeyAndParser(Blackhole blackhole) {
+        blackhole.consume(parseWithFreshParser(token));
+        blackhole.consume(parseWithFreshParser(token));
+        blackhole.consume(parseWithFreshParser(token).getExpiration());
+        blackhole.consume(parseWithFreshParser(token).getIssuedAt());
+    }
+
+    @Benchmark
+    public void parsedOnce(Blackhole blackhole) {
+        ParsedToken parsed = jwtUtils.parse(token);
+        blackhole.consume(parsed.isExpired(Instant.now()));
+        blackhole.consume(parsed.expiresAt());
+        blackhole.consume(parsed.issuedAt());
+    }
+
+    private Claims parseWithFreshParser(String token) {
+        return Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
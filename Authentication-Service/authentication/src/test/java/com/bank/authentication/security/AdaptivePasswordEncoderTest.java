@@ -0,0 +1,31 @@
+package com.bank.authentication.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptivePasswordEncoderTest {
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        // Any real hardware needs more than 1 ms at strength 4, so the upper bound wins
+        assertEquals(6, AdaptivePasswordEncoder.calibrate(60_000, 4, 6));
+        assertEquals(5, AdaptivePasswordEncoder.calibrate(0, 5, 8));
+        assertEquals(7, AdaptivePasswordEncoder.calibrate(250, 7, 7));
+    }
+
+    @Test
+    void weakerHashesVerifyAndAreFlaggedForUpgrade() {
+        AdaptivePasswordEncoder encoder = new AdaptivePasswordEncoder(6);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+        String currentHash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+        assertTrue(encoder.matches("secret", currentHash));
+    }
+}
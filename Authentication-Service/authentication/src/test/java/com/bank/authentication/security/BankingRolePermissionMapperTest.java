@@ -0,0 +1,63 @@
+package com.bank.authentication.security;
+
+import com.bank.authentication.enums.BankPermission;
+import com.bank.authentication.enums.BankUserRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BankingRolePermissionMapperTest {
+
+    private final BankingRolePermissionMapper mapper = new BankingRolePermissionMapper();
+
+    @Test
+    void authoritySetsAreBuiltOnceAndImmutable() {
+        Set<String> staff = mapper.getPermissionAuthorities(BankUserRole.BANK_STAFF);
+
+        assertSame(staff, mapper.getPermissionAuthorities(BankUserRole.BANK_STAFF));
+        assertTrue(staff.contains("PERMISSION_STAFF_VIEW_CUSTOMER_PROFILE"));
+        assertThrows(UnsupportedOperationException.class, () -> staff.add("PERMISSION_ADMIN_MANAGE_USERS"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> mapper.getPermissionsForRole(BankUserRole.ADMIN).clear());
+        assertEquals(BankPermission.values().length, mapper.getAllPermissionAuthorities().size());
+    }
+
+    @Test
+    void roleMasksMatchTheRolePermissionSets() {
+        for (BankUserRole role : BankUserRole.values()) {
+            long mask = mapper.getPermissionMask(role);
+            for (BankPermission permission : BankPermission.values()) {
+                assertEquals(mapper.getPermissionsForRole(role).contains(permission), permission.isGrantedBy(mask),
+                        role + " / " + permission);
+            }
+        }
+    }
+
+    @Test
+    void storedAuthoritiesFoldIntoOneMask() {
+        long mask = mapper.getPermissionMask(
+                List.of("CUSTOMER_USER", "PERMISSION_AUDITOR_EXPORT_REPORTS", "PERMISSION_READ", "USER"));
+
+        assertTrue(BankPermission.CUSTOMER_TRANSFER_OWN.isGrantedBy(mask));
+        assertTrue(BankPermission.AUDITOR_EXPORT_REPORTS.isGrantedBy(mask));
+        assertFalse(BankPermission.AUDITOR_VIEW_AUDIT_LOGS.isGrantedBy(mask));
+        assertEquals(mapper.getPermissionAuthorities(BankUserRole.CUSTOMER).size() + 1,
+                mapper.getPermissionAuthorities(mask).size());
+    }
+
+    @Test
+    void storedRoleNamesResolveWithAndWithoutPrefix() {
+        assertEquals(BankUserRole.ADMIN, BankUserRole.fromRoleName("ADMIN"));
+        assertEquals(BankUserRole.ADMIN, BankUserRole.fromRoleName("ROLE_ADMIN"));
+        assertEquals(BankUserRole.CUSTOMER, BankUserRole.fromRoleName("CUSTOMER_USER"));
+        assertNull(BankUserRole.fromRoleName("USER"));
+    }
+}
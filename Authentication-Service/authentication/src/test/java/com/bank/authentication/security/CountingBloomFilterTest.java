@@ -0,0 +1,39 @@
+package com.bank.authentication.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedIdAndStaysNearTheTargetRate() {
+        CountingBloomFilter filter = CountingBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i));
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void removalAndSerializationKeepTheRemainingIds() throws Exception {
+        CountingBloomFilter filter = CountingBloomFilter.create(1_000, 0.01);
+        filter.add("kept");
+        filter.add("removed");
+        filter.remove("removed");
+
+        CountingBloomFilter copy = CountingBloomFilter.fromBytes(filter.toBytes());
+
+        assertTrue(copy.mightContain("kept"));
+        assertFalse(copy.mightContain("removed"));
+    }
+}
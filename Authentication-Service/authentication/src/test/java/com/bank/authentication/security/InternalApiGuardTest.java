@@ -0,0 +1,26 @@
+package com.bank.authentication.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternalApiGuardTest {
+
+    @Test
+    void permitsOnlyTheConfiguredKey() {
+        InternalApiGuard guard = new InternalApiGuard("s3cret");
+
+        assertTrue(guard.permits("s3cret"));
+        assertFalse(guard.permits("s3cre"));
+        assertFalse(guard.permits(null));
+    }
+
+    @Test
+    void refusesEveryCallWithoutAConfiguredKey() {
+        InternalApiGuard guard = new InternalApiGuard("");
+
+        assertFalse(guard.permits(""));
+        assertFalse(guard.permits("anything"));
+    }
+}
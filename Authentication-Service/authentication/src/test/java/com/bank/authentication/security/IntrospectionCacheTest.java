@@ -0,0 +1,50 @@
+package com.bank.authentication.security;
+
+import com.bank.authentication.dto.TokenValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntrospectionCacheTest {
+
+    private final IntrospectionCache cache = new IntrospectionCache(new SimpleMeterRegistry(), 100, 30, 10);
+
+    @Test
+    void loadsOncePerTokenUntilRevoked() {
+        AtomicInteger loads = new AtomicInteger();
+        IntrospectionCache.Entry entry = new IntrospectionCache.Entry(
+                TokenValidationResponse.builder().active(true).userId("7").build(), 7L);
+
+        cache.get("jti-1", () -> { loads.incrementAndGet(); return entry; });
+        cache.get("jti-1", () -> { loads.incrementAndGet(); return entry; });
+        assertEquals(1, loads.get());
+
+        cache.invalidateToken("jti-1");
+        assertNull(cache.getIfPresent("jti-1"));
+    }
+
+    @Test
+    void userRevocationDropsOnlyThatUsersTokens() {
+        cache.put("a", new IntrospectionCache.Entry(TokenValidationResponse.builder().active(true).build(), 1L));
+        cache.put("b", new IntrospectionCache.Entry(TokenValidationResponse.builder().active(true).build(), 1L));
+        cache.put("c", new IntrospectionCache.Entry(TokenValidationResponse.builder().active(true).build(), 2L));
+
+        cache.invalidateUser(1L);
+
+        assertNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertTrue(cache.getIfPresent("c").active());
+    }
+
+    @Test
+    void tokenKeyIsStableAndDistinct() {
+        assertEquals(IntrospectionCache.tokenKey("x.y.z"), IntrospectionCache.tokenKey("x.y.z"));
+        assertNotEquals(IntrospectionCache.tokenKey("x.y.z"), IntrospectionCache.tokenKey("x.y.w"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.bank.authentication.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyManagerTest {
+
+    @TempDir
+    Path keyDirectory;
+
+    @Test
+    void generatesAKeyOnceAndReloadsIt() throws Exception {
+        JwtKeyManager first = new JwtKeyManager(keyDirectory.toString(), "", 0, true);
+        JwtKeyManager second = new JwtKeyManager(keyDirectory.toString(), "", 0, true);
+
+        assertEquals(first.activeKeyId(), second.activeKeyId());
+        assertEquals(first.publicKey(first.activeKeyId()), second.publicKey(second.activeKeyId()));
+        assertNull(first.publicKey("unknown"));
+    }
+
+    @Test
+    void instancesStartingTogetherShareOneGeneratedKey() throws Exception {
+        int instances = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        try {
+            List<Future<String>> kids = new ArrayList<>();
+            Callable<String> startup = () -> {
+                start.await();
+                return new JwtKeyManager(keyDirectory.toString(), "", 0, true).activeKeyId();
+            };
+            for (int i = 0; i < instances; i++) {
+                kids.add(executor.submit(startup));
+            }
+            start.countDown();
+
+            Set<String> distinct = new HashSet<>();
+            for (Future<String> kid : kids) {
+                distinct.add(kid.get());
+            }
+            assertEquals(1, distinct.size());
+            try (Stream<Path> files = Files.list(keyDirectory)) {
+                assertEquals(1, files.filter(f -> f.toString().endsWith(".pem")).count());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void newestKeySignsOnceActivatedAndEveryKeyIsPublished() throws Exception {
+        String oldKid = new JwtKeyManager(keyDirectory.toString(), "", 0, true).activeKeyId();
+        Files.copy(keyDirectory.resolve(oldKid + ".pem"), keyDirectory.resolve("zzzz-rotated.pem"));
+
+        JwtKeyManager rotated = new JwtKeyManager(keyDirectory.toString(), "", 0, true);
+        List<Map<String, Object>> jwks = rotated.jwks();
+
+        assertEquals("zzzz-rotated", rotated.activeKeyId());
+        assertNotNull(rotated.publicKey(oldKid));
+        assertEquals(2, jwks.size());
+        assertEquals("zzzz-rotated", jwks.get(0).get("kid"));
+        assertEquals("AQAB", jwks.get(0).get("e"));
+    }
+
+    @Test
+    void newKeyIsPublishedOnReloadBeforeItSigns() throws Exception {
+        JwtKeyManager manager = new JwtKeyManager(keyDirectory.toString(), "", 3600, true);
+        String oldKid = manager.activeKeyId();
+        Files.copy(keyDirectory.resolve(oldKid + ".pem"), keyDirectory.resolve("zzzz-rotated.pem"));
+
+        manager.reload();
+
+        assertNotNull(manager.publicKey("zzzz-rotated"));
+        assertEquals(2, manager.jwks().size());
+        assertEquals(oldKid, manager.activeKeyId());
+    }
+
+    @Test
+    void configuredKeyIdSignsRegardlessOfAge() throws Exception {
+        String oldKid = new JwtKeyManager(keyDirectory.toString(), "", 0, true).activeKeyId();
+        Files.copy(keyDirectory.resolve(oldKid + ".pem"), keyDirectory.resolve("zzzz-rotated.pem"));
+
+        JwtKeyManager pinned = new JwtKeyManager(keyDirectory.toString(), oldKid, 0, true);
+
+        assertEquals(oldKid, pinned.activeKeyId());
+        assertEquals(oldKid, pinned.activeKey().kid());
+    }
+
+    @Test
+    void configuredKeyIdMustExist() throws Exception {
+        new JwtKeyManager(keyDirectory.toString(), "", 0, true);
+
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyManager(keyDirectory.toString(), "missing", 0, true));
+    }
+
+    @Test
+    void refusesToStartWithoutSharedKeysUnlessGenerationIsAllowed() throws Exception {
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyManager(keyDirectory.toString(), "", 0, false));
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyManager(keyDirectory.resolve("missing").toString(), "", 0, false));
+
+        String kid = new JwtKeyManager(keyDirectory.toString(), "", 0, true).activeKeyId();
+
+        assertEquals(kid, new JwtKeyManager(keyDirectory.toString(), "", 0, false).activeKeyId());
+    }
+}
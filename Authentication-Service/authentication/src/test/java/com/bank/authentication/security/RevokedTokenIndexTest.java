@@ -0,0 +1,101 @@
+package com.bank.authentication.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevokedTokenIndexTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private RevokedTokenIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        // SCAN is not stubbed, so the background rebuild fails and nothing is loaded yet
+        index = new RevokedTokenIndex(redisTemplate, new SimpleMeterRegistry(), 1_000, 0.01, 3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void revokeAllRejectsOnlyTokensIssuedBeforeIt() {
+        Instant revokedAt = Instant.parse("2026-01-01T12:00:00Z");
+        loadFromRedis(7L, revokedAt.toEpochMilli());
+        index.revokeUser(7L, revokedAt.toEpochMilli());
+
+        assertTrue(index.isUserRevoked(7L, revokedAt.minusSeconds(60)));
+        assertFalse(index.isUserRevoked(7L, revokedAt.plusSeconds(1)));
+        assertFalse(index.isUserRevoked(8L, revokedAt.minusSeconds(60)));
+        assertFalse(index.isUserRevoked(null, revokedAt.minusSeconds(60)));
+    }
+
+    @Test
+    void laterRevokeAllWins() {
+        loadFromRedis(7L, 2_000);
+        index.revokeUser(7L, 2_000);
+        index.revokeUser(7L, 1_000);
+
+        assertTrue(index.isUserRevoked(7L, Instant.ofEpochMilli(1_500)));
+    }
+
+    @Test
+    void beforeTheFirstLoadEpochsAreReadFromRedis() {
+        when(values.get(RevokedTokenIndex.USER_EPOCH_PREFIX + 7)).thenReturn("2000");
+
+        assertTrue(index.isUserRevoked(7L, Instant.ofEpochMilli(1_000)));
+        assertFalse(index.isUserRevoked(7L, Instant.ofEpochMilli(3_000)));
+        assertFalse(index.isUserRevoked(8L, Instant.ofEpochMilli(1_000)));
+        // Not handed to the gateway as if it were complete
+        assertNull(index.userEpochSnapshot());
+    }
+
+    @Test
+    void beforeTheFirstLoadRedisFailureRejectsTheToken() {
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("Redis is down"));
+
+        assertTrue(index.isUserRevoked(8L, Instant.ofEpochMilli(1_000)));
+    }
+
+    // Redis holds the epoch before it is applied locally, as in production, so a background
+    // rebuild finishing late cannot drop it
+    private void loadFromRedis(long userId, long revokedBefore) {
+        String key = RevokedTokenIndex.USER_EPOCH_PREFIX + userId;
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursorOf(key));
+        when(values.multiGet(anyCollection())).thenReturn(List.of(Long.toString(revokedBefore)));
+        index.rebuild();
+        assertNotNull(index.userEpochSnapshot());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursorOf(String key) {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(key);
+        return cursor;
+    }
+}
@@ -1,31 +1,34 @@
 package com.bank.authentication.service;
 
+import com.bank.authentication.audit.AuditLogger;
 import com.bank.authentication.dto.LoginRequestDto;
 import com.bank.authentication.dto.LoginResponseDto;
 import com.bank.authentication.extenalservice.EmailService;
+import com.bank.authentication.kafka.AdminAuditProducer;
 import com.bank.authentication.model.User;
+import com.bank.authentication.security.PasswordHashingService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.naming.AuthenticationException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
-	@Mock
-	private AuthenticationManager authenticationManager;
-
 	@Mock
 	private com.bank.authentication.util.JwtUtils jwtUtils;
 
@@ -47,6 +50,15 @@ class AuthServiceTest {
 	@Mock
 	private UserDetailsServiceImpl userDetailsService;
 
+	@Mock
+	private AdminAuditProducer adminAuditProducer;
+
+	@Mock
+	private AuditLogger auditLogger;
+
+	@Mock
+	private PasswordHashingService passwordHashingService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -61,15 +73,39 @@ class AuthServiceTest {
 		user.setUsername("testuser");
 		user.setPassword("password");
 
-		Authentication authentication = org.mockito.Mockito.mock(Authentication.class);
 		when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
-		when(authenticationManager.authenticate(any())).thenReturn(authentication);
-		when(authentication.getPrincipal()).thenReturn(user);
+		when(passwordHashingService.matches("password", "password")).thenReturn(true);
 		when(jwtUtils.generateToken(any())).thenReturn("jwt-token");
 
 		LoginResponseDto response = authService.authenticateUser(loginRequest);
 		assertNotNull(response);
 		assertEquals("testuser", response.getUserName());
 		assertEquals("jwt-token", response.getJwtToken());
+		// Already-clean users are not written back, and the session insert is deferred
+		verify(userService).resetLoginFailures(user);
+		verify(userService, never()).save(any());
+		verify(sessionService).createSessionAsync(any());
+		verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+		verify(passwordHashingService).upgradeIfNeeded(user, "password");
+    }
+
+    @Test
+    void testWrongPasswordCountsFailure() {
+        LoginRequestDto loginRequest = new LoginRequestDto();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("wrong");
+
+		User user = new User();
+		user.setUserId(1L);
+		user.setUsername("testuser");
+		user.setPassword("hash");
+
+		when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+		when(passwordHashingService.matches("wrong", "hash")).thenReturn(false);
+
+		assertThrows(BadCredentialsException.class, () -> authService.authenticateUser(loginRequest));
+		verify(userService).recordLoginFailure(user);
+		verify(userService, never()).save(any());
+		verify(sessionService, never()).createSessionAsync(any());
     }
 }
\ No newline at end of file
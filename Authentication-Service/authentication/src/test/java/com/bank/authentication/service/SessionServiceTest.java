@@ -0,0 +1,55 @@
+package com.bank.authentication.service;
+
+import com.bank.authentication.repository.SessionRepository;
+import com.bank.authentication.security.ParsedToken;
+import com.bank.authentication.security.TokenHashes;
+import com.bank.authentication.session.UserSession;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SessionServiceTest {
+
+    private final SessionRepository sessionRepository = mock(SessionRepository.class);
+
+    @Test
+    void statelessModeReadsIdentityFromClaims() {
+        SessionService sessionService = sessionService("stateless");
+        ParsedToken token = new ParsedToken("token",
+                Jwts.claims().add("user_id", 7).add("email", "alice@bank.test").build());
+
+        assertEquals(Optional.of(new UserSession(7L, "alice@bank.test")), sessionService.resolve(token));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void databaseModeLooksUpTheTokenHashOnceThenCaches() {
+        SessionService sessionService = sessionService("database");
+        ParsedToken token = new ParsedToken("token", Jwts.claims().add("user_id", 7).build());
+        when(sessionRepository.findUserSessionByTokenHash(eq(TokenHashes.sha256Hex("token")), any()))
+                .thenReturn(Optional.of(new UserSession(7L, "alice@bank.test")));
+
+        sessionService.resolve(token);
+        Optional<UserSession> session = sessionService.resolve(token);
+
+        assertEquals(Optional.of(new UserSession(7L, "alice@bank.test")), session);
+        verify(sessionRepository, times(1)).findUserSessionByTokenHash(any(), any());
+    }
+
+    private SessionService sessionService(String mode) {
+        return new SessionService(sessionRepository, new SyncTaskExecutor(), new SimpleMeterRegistry(), mode,
+                1_000, 300);
+    }
+}
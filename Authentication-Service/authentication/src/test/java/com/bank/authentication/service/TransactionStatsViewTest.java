@@ -0,0 +1,123 @@
+package com.bank.authentication.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionStatsViewTest {
+
+    private static final long HOUR_MS = 60 * 60 * 1000;
+    private static final long DAY_MS = 24 * HOUR_MS;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testBeforeFirstRecord_ReportsZerosWhileWarmingUp() {
+        TransactionStatsView view = new TransactionStatsView(60_000);
+
+        assertEquals(0L, view.transactionStatistics().get("total_transactions"));
+        assertEquals("WARMING_UP", view.transactionStatistics().get("status"));
+        assertEquals(0L, view.failedTransactions().get("failed_last_24h"));
+    }
+
+    @Test
+    void testAccept_SumsWindowsAcrossSourcesAndKeepsNewestTotals() throws Exception {
+        TransactionStatsView view = new TransactionStatsView(60_000);
+
+        view.accept(record("a", 1_000, 0, 3, 1, "INSUFFICIENT_FUNDS", 1, 500, 10), 1_000);
+        view.accept(record("b", 2_000, 0, 5, 4, "DEBIT_FAILED", 4, 900, 30), 2_000);
+
+        Map<String, Object> failed = view.failedTransactions();
+        assertEquals(30L, failed.get("failed_last_24h"));
+        assertEquals(List.of("DEBIT_FAILED", "INSUFFICIENT_FUNDS"), failed.get("common_failure_reasons"));
+        assertEquals(4L, failed.get("affected_users"));
+
+        Map<String, Object> stats = view.transactionStatistics();
+        assertEquals("LIVE", stats.get("status"));
+        assertEquals(2, stats.get("sources"));
+        assertEquals(901L, stats.get("total_transactions"));
+        assertEquals(new BigDecimal("9.00"), stats.get("total_volume"));
+    }
+
+    @Test
+    void testAccept_DayCountsComeFromTheDatabaseNotTheWindows() throws Exception {
+        TransactionStatsView view = new TransactionStatsView(60_000);
+        long now = 3 * DAY_MS;
+        long restartedAt = now - HOUR_MS / 2;
+
+        // Freshly restarted: one failure in its window, thirty in the database over the day
+        view.accept(record("a", now, restartedAt, 2, 1, "DEBIT_FAILED", 5, 500, 30), now);
+
+        Map<String, Object> failed = view.failedTransactions();
+        assertEquals(30L, failed.get("failed_last_24h"));
+        assertEquals(25.0, (double) failed.get("failure_rate"), 0.001);
+        assertEquals(Map.of("DEBIT_FAILED", 1L), failed.get("failures_by_reason"));
+        assertEquals(Instant.ofEpochMilli(restartedAt), failed.get("failure_reasons_since"));
+
+        Map<?, ?> lastHour = (Map<?, ?>) view.transactionStatistics().get("last_hour");
+        assertEquals(Instant.ofEpochMilli(restartedAt), lastHour.get("since"));
+    }
+
+    @Test
+    void testAccept_WindowsLabelledWithTheirFullSpanOnceWarm() throws Exception {
+        TransactionStatsView view = new TransactionStatsView(60_000);
+        long now = 3 * DAY_MS;
+
+        view.accept(record("a", now, 0, 2, 1, "DEBIT_FAILED", 1, 500, 1), now);
+
+        assertEquals(Instant.ofEpochMilli(now - DAY_MS), view.failedTransactions().get("failure_reasons_since"));
+        Map<?, ?> lastHour = (Map<?, ?>) view.transactionStatistics().get("last_hour");
+        assertEquals(Instant.ofEpochMilli(now - HOUR_MS), lastHour.get("since"));
+    }
+
+    @Test
+    void testRebuild_DropsSourcesThatStoppedPublishing() throws Exception {
+        TransactionStatsView view = new TransactionStatsView(60_000);
+
+        view.accept(record("a", 1_000, 0, 3, 2, "INSUFFICIENT_FUNDS", 1, 500, 2), 1_000);
+        view.rebuild(70_000);
+
+        assertEquals(0L, view.failedTransactions().get("failed_last_24h"));
+        assertEquals("WARMING_UP", view.transactionStatistics().get("status"));
+    }
+
+    @Test
+    void testAccept_ReadsAmountsAtThePublishedScale() throws Exception {
+        TransactionStatsView view = new TransactionStatsView(60_000);
+        ObjectNode record = (ObjectNode) record("a", 1_000, 0, 3, 1, "INSUFFICIENT_FUNDS", 1, 500, 10);
+        record.put("amountScale", 0);
+
+        view.accept(record, 1_000);
+
+        assertEquals(new BigDecimal("500"), view.transactionStatistics().get("total_volume"));
+        Map<?, ?> lastHour = (Map<?, ?>) view.transactionStatistics().get("last_hour");
+        assertEquals(new BigDecimal("100"), lastHour.get("volume"));
+    }
+
+    // Same counts in both windows, all failures under one reason; each completed row credits one
+    // minor unit. Over the last day the database holds three completed rows per failed one.
+    private JsonNode record(String source, long generatedAt, long windowsStartedAt, long total, long failures,
+            String reason, long failedAccounts, long completedRows, long failedLastDay) throws Exception {
+        String counts = String.format(
+                "{\"total\":%d,\"byStatus\":{\"COMPLETED\":%d,\"FAILED\":%d},\"byFailureReason\":{\"%s\":%d},"
+                        + "\"volumeMinor\":100}",
+                total, total - failures, failures, reason, failures);
+        String json = String.format(
+                "{\"source\":\"%s\",\"generatedAt\":%d,\"publishIntervalMs\":10000,\"windowsStartedAt\":%d,"
+                        + "\"windows\":{\"1h\":%s,\"24h\":%s},"
+                        + "\"totals\":{\"byStatus\":{\"COMPLETED\":%d,\"FAILED\":1},"
+                        + "\"byStatus24h\":{\"COMPLETED\":%d,\"FAILED\":%d},\"creditedMinor\":%d,"
+                        + "\"failedAccounts24h\":%d,\"computedAt\":%d}}",
+                source, generatedAt, windowsStartedAt, counts, counts, completedRows, 3 * failedLastDay,
+                failedLastDay, completedRows, failedAccounts, generatedAt);
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bank.authentication.service;
+
+import com.bank.authentication.dto.CustomerUserCounts;
+import com.bank.authentication.dto.RoleUserCount;
+import com.bank.authentication.enums.BankUserRole;
+import com.bank.authentication.repository.UserRepository;
+import com.bank.authentication.service.UserStatisticsService.UserStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatisticsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserStatisticsService statisticsService = new UserStatisticsService(userRepository);
+
+    @Test
+    void countsComeFromAggregatesAndCustomerAliasesAreNotDoubleCounted() {
+        when(userRepository.count()).thenReturn(1_000_000L);
+        when(userRepository.countLockedUsers(any())).thenReturn(2_500L);
+        when(userRepository.countUsersByRole()).thenReturn(List.of(
+                new RoleUserCount("ADMIN", 3L),
+                new RoleUserCount("CUSTOMER", 900_000L),
+                new RoleUserCount("CUSTOMER_USER", 50_000L),
+                new RoleUserCount("USER", 10L)));
+        when(userRepository.countCustomers(any(), any(), any(), any()))
+                .thenReturn(new CustomerUserCounts(940_000L, 12_000L, 3_000L, 938_000L));
+
+        UserStatistics statistics = statisticsService.refresh();
+
+        assertEquals(1_000_000L, statistics.totalUsers());
+        assertEquals(997_500L, statistics.activeUsers());
+        assertEquals(3L, statistics.usersWithRole(BankUserRole.ADMIN));
+        assertEquals(940_000L, statistics.usersWithRole(BankUserRole.CUSTOMER));
+        assertEquals(0L, statistics.usersWithRole(BankUserRole.AUDITOR));
+    }
+
+    @Test
+    void readsServeTheSnapshotUntilTheNextRefresh() {
+        when(userRepository.countUsersByRole()).thenReturn(List.of());
+        when(userRepository.countCustomers(any(), any(), any(), any())).thenReturn(CustomerUserCounts.EMPTY);
+
+        UserStatistics first = statisticsService.current();
+
+        assertSame(first, statisticsService.current());
+        verify(userRepository, times(1)).countUsersByRole();
+    }
+}
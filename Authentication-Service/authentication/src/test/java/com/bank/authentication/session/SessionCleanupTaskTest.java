@@ -0,0 +1,105 @@
+package com.bank.authentication.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionCleanupTaskTest {
+
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement lock = mock(PreparedStatement.class);
+    private final PreparedStatement release = mock(PreparedStatement.class);
+    private final PreparedStatement delete = mock(PreparedStatement.class);
+    private final PreparedStatement count = mock(PreparedStatement.class);
+    private final ResultSet lockResult = mock(ResultSet.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SessionCleanupTask task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.prepareStatement("SELECT GET_LOCK(?, 0)")).thenReturn(lock);
+        when(connection.prepareStatement("SELECT RELEASE_LOCK(?)")).thenReturn(release);
+        when(connection.prepareStatement(
+                "DELETE FROM sessions WHERE expiration < ? ORDER BY expiration LIMIT ?")).thenReturn(delete);
+        when(connection.prepareStatement("SELECT COUNT(*) FROM sessions WHERE expiration < ?")).thenReturn(count);
+        when(lock.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getInt(1)).thenReturn(1);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL reports a lock-wait timeout as a transaction rollback
+        jdbcTemplate.setExceptionTranslator(new SQLExceptionSubclassTranslator());
+        // Scheduled far out, so only the explicit calls below run
+        task = new SessionCleanupTask(jdbcTemplate, meterRegistry, 3_600_000, 500, 10, 0, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        task.shutdown();
+    }
+
+    @Test
+    void deletesInBatchesUntilAShortBatchDrainsTheBacklog() throws Exception {
+        when(delete.executeUpdate()).thenReturn(500, 500, 120);
+
+        task.cleanupExpiredSessions();
+
+        verify(delete, times(3)).executeUpdate();
+        assertEquals(1120, meterRegistry.get("auth.sessions.purged").counter().count());
+        assertEquals(0, meterRegistry.get("auth.sessions.purge.backlog").gauge().value());
+        verify(connection, never()).prepareStatement("SELECT COUNT(*) FROM sessions WHERE expiration < ?");
+        verify(release).execute();
+    }
+
+    @Test
+    void yieldsOnALockTimeoutAndReportsWhatIsLeft() throws Exception {
+        when(delete.executeUpdate()).thenReturn(500)
+                .thenThrow(new SQLTransactionRollbackException("Lock wait timeout exceeded", "40001", 1205));
+        ResultSet countResult = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(count.executeQuery()).thenReturn(countResult);
+        when(countResult.next()).thenReturn(true, false);
+        when(countResult.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(countResult.getLong(1)).thenReturn(4200L);
+
+        task.cleanupExpiredSessions();
+
+        assertEquals(500, meterRegistry.get("auth.sessions.purged").counter().count());
+        assertEquals(1, meterRegistry.get("auth.sessions.purge.lock.timeouts").counter().count());
+        assertEquals(4200, meterRegistry.get("auth.sessions.purge.backlog").gauge().value());
+        verify(release).execute();
+    }
+
+    @Test
+    void skipsTheRunWhileAnotherInstanceHoldsThePurgeLock() throws Exception {
+        when(lockResult.getInt(1)).thenReturn(0);
+
+        task.cleanupExpiredSessions();
+
+        verify(connection, never()).prepareStatement(
+                "DELETE FROM sessions WHERE expiration < ? ORDER BY expiration LIMIT ?");
+        assertEquals(0, meterRegistry.get("auth.sessions.purged").counter().count());
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.authentication.util;
+
+import com.bank.authentication.model.Role;
+import com.bank.authentication.model.User;
+import com.bank.authentication.security.BankingRolePermissionMapper;
+import com.bank.authentication.security.JwtKeyManager;
+import com.bank.authentication.security.PermissionGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenFilterTest {
+
+    private static final String SECRET =
+            "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=";
+
+    @TempDir
+    static Path keyDirectory;
+
+    private static JwtUtils jwtUtils;
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        jwtUtils = new JwtUtils(SECRET, 60_000, new JwtKeyManager(keyDirectory.toString(), "", 0, true),
+                new BankingRolePermissionMapper());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessModeBuildsThePrincipalFromClaims() throws Exception {
+        MockHttpServletRequest request = bearer(jwtUtils.generateToken(admin()));
+
+        filter("stateless").doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService, never()).loadUserByUsername("root");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("root", authentication.getName());
+        assertTrue(authorities(authentication).contains("ADMIN"));
+        assertNotNull(request.getAttribute(PermissionGuard.REQUEST_ATTRIBUTE));
+    }
+
+    @Test
+    void tokensWithoutIdentityClaimsStillLoadTheUser() throws Exception {
+        // Issued before user_id, email and perm_mask were added
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", List.of("ADMIN"));
+        String token = jwtUtils.generateTokenFromUsername(claims, "root");
+        when(userDetailsService.loadUserByUsername("root")).thenReturn(admin());
+
+        filter("stateless").doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService).loadUserByUsername("root");
+        assertEquals("root", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void databaseModeAlwaysLoadsTheUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("root")).thenReturn(admin());
+
+        filter("database").doFilter(bearer(jwtUtils.generateToken(admin())),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService).loadUserByUsername("root");
+    }
+
+    private AuthTokenFilter filter(String sessionMode) {
+        return new AuthTokenFilter(jwtUtils, userDetailsService, new BankingRolePermissionMapper(), sessionMode);
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static Set<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    private static User admin() {
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("root");
+        user.setEmail("root@bank.test");
+        user.setRoles(Set.of(new Role("ADMIN")));
+        return user;
+    }
+}
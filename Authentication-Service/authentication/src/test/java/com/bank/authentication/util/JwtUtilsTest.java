@@ -0,0 +1,88 @@
+package com.bank.authentication.util;
+
+import com.bank.authentication.enums.BankPermission;
+import com.bank.authentication.model.Role;
+import com.bank.authentication.model.User;
+import com.bank.authentication.security.BankingRolePermissionMapper;
+import com.bank.authentication.security.JwtKeyManager;
+import com.bank.authentication.security.ParsedToken;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilsTest {
+
+    private static final String SECRET =
+            "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=";
+
+    @TempDir
+    static Path keyDirectory;
+
+    private static JwtUtils jwtUtils;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        jwtUtils = new JwtUtils(SECRET, 60_000, new JwtKeyManager(keyDirectory.toString(), "", 0, true),
+                new BankingRolePermissionMapper());
+    }
+
+    @Test
+    void parsedTokenExposesClaimsFromASingleParse() {
+        User user = new User();
+        user.setUserId(42L);
+        user.setUsername("alice");
+        user.setEmail("alice@bank.test");
+        user.setRoles(Set.of(new Role("CUSTOMER")));
+
+        ParsedToken parsed = jwtUtils.parse(jwtUtils.generateToken(user));
+
+        assertEquals("alice", parsed.subject());
+        assertEquals(42L, parsed.claim("user_id", Long.class));
+        assertEquals("alice@bank.test", parsed.claim("email", String.class));
+        assertEquals(Set.of("CUSTOMER"), parsed.stringSet("roles"));
+        assertTrue(BankPermission.CUSTOMER_TRANSFER_OWN.isGrantedBy(parsed.permissionMask()));
+        assertFalse(BankPermission.ADMIN_MANAGE_USERS.isGrantedBy(parsed.permissionMask()));
+        assertTrue(parsed.stringSet("permissions").contains("PERMISSION_CUSTOMER_VIEW_BALANCE"));
+        assertFalse(parsed.isExpired(Instant.now()));
+        assertTrue(parsed.expiresAt().isAfter(parsed.issuedAt()));
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        String token = jwtUtils.generateTokenFromUsername(new HashMap<>(), "bob");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String expired = jwtUtils.generateTokenFromUsername(new HashMap<>(), "bob", -1_000);
+
+        assertTrue(jwtUtils.parseValid(token).isPresent());
+        assertFalse(jwtUtils.parseValid(tampered).isPresent());
+        assertFalse(jwtUtils.parseValid(expired).isPresent());
+    }
+
+    @Test
+    void otpTokensStillVerifyWithTheSharedSecret() {
+        String token = jwtUtils.generateTokenWithOtp("carol@bank.test", "123456");
+
+        assertEquals("123456", jwtUtils.extractOtp(token));
+        assertEquals("carol@bank.test", jwtUtils.extractEmail(token));
+    }
+
+    @Test
+    void otpAndAccessTokensAreNotInterchangeable() {
+        String otpToken = jwtUtils.generateTokenWithOtp("carol@bank.test", "123456");
+        String accessToken = jwtUtils.generateTokenFromUsername(new HashMap<>(), "carol");
+
+        assertFalse(jwtUtils.parseValid(otpToken).isPresent());
+        assertThrows(JwtException.class, () -> jwtUtils.extractOtp(accessToken));
+    }
+}
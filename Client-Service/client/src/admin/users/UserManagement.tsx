@@ -6,9 +6,11 @@ import {
     CircularProgress, Alert, Tooltip
 } from '@mui/material';
 import { Search, LockOpen, Lock, PersonSearch, Block } from '@mui/icons-material';
-import api from '../../services/api';
+import { getUserSummaries } from '../../services/adminService';
 import { UserSummary } from '../../types/banking';
 
+const PAGE_SIZE = 50;
+
 /**
  * UserManagement Component
  * Allows administrators to oversee all user profiles.
@@ -19,21 +21,47 @@ const UserManagement: React.FC = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
     const [searchTerm, setSearchTerm] = useState('');
+    const [search, setSearch] = useState('');
+    const [page, setPage] = useState(0);
+    const [hasNext, setHasNext] = useState(false);
+    // cursors[n] is the user id page n starts after; Previous steps back through them
+    const [cursors, setCursors] = useState<(number | undefined)[]>([undefined]);
+
+    // Search on the server once typing pauses, starting again from the first page
+    useEffect(() => {
+        const timer = setTimeout(() => {
+            setSearch(searchTerm.trim());
+            setPage(0);
+            setCursors([undefined]);
+        }, 300);
+        return () => clearTimeout(timer);
+    }, [searchTerm]);
 
     useEffect(() => {
+        let cancelled = false;
         const fetchUsers = async () => {
+            setLoading(true);
             try {
-                const response = await api.get('/users/get-summary'); // New endpoint that returns UserSummary format
-                setUsers(response.data || []);
+                const result = await getUserSummaries(cursors[page], PAGE_SIZE, search);
+                if (!cancelled) {
+                    setUsers(result.content || []);
+                    setHasNext(result.hasNext);
+                    if (result.nextAfter != null) {
+                        const nextAfter = result.nextAfter;
+                        setCursors(prev => [...prev.slice(0, page + 1), nextAfter]);
+                    }
+                    setError(null);
+                }
             } catch (err: any) {
-                setError("Failed to fetch user directory.");
+                if (!cancelled) setError("Failed to fetch user directory.");
                 console.error("Error fetching users:", err);
             } finally {
-                setLoading(false);
+                if (!cancelled) setLoading(false);
             }
         };
         fetchUsers();
-    }, []);
+        return () => { cancelled = true; };
+    }, [page, search]);
 
     const handleToggleLock = async (userId: number, currentStatus: string) => {
         // Note: This would call an endpoint in Auth-Service to toggle status
@@ -42,12 +70,7 @@ const UserManagement: React.FC = () => {
         setUsers(users.map(u => u.userId === userId ? { ...u, status: currentStatus === 'ACTIVE' ? 'LOCKED' : 'ACTIVE' } : u));
     };
 
-    const filteredUsers = users.filter(u =>
-        u.userName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        u.email.toLowerCase().includes(searchTerm.toLowerCase())
-    );
-
-    if (loading) return <Box display="flex" justifyContent="center" mt={4}><CircularProgress /></Box>;
+    if (loading && users.length === 0) return <Box display="flex" justifyContent="center" mt={4}><CircularProgress /></Box>;
 
     return (
         <Box p={3}>
@@ -57,7 +80,7 @@ const UserManagement: React.FC = () => {
                     <Typography variant="body2" color="textSecondary">Oversee and secure all customer and administrator profiles</Typography>
                 </Box>
                 <TextField
-                    placeholder="Search by name or email..."
+                    placeholder="Search by username or email..."
                     variant="outlined"
                     size="small"
                     value={searchTerm}
@@ -88,7 +111,7 @@ const UserManagement: React.FC = () => {
                         </TableRow>
                     </TableHead>
                     <TableBody>
-                        {filteredUsers.map((user) => (
+                        {users.map((user) => (
                             <TableRow key={user.userId} hover>
                                 <TableCell>{user.userId}</TableCell>
                                 <TableCell sx={{ fontWeight: 'medium' }}>{user.userName}</TableCell>
@@ -126,6 +149,16 @@ const UserManagement: React.FC = () => {
                     </TableBody>
                 </Table>
             </TableContainer>
+
+            <Box display="flex" justifyContent="flex-end" alignItems="center" gap={2} mt={2}>
+                <Typography variant="body2" color="textSecondary">Page {page + 1}</Typography>
+                <Button size="small" disabled={page === 0 || loading} onClick={() => setPage(page - 1)}>
+                    Previous
+                </Button>
+                <Button size="small" disabled={!hasNext || loading} onClick={() => setPage(page + 1)}>
+                    Next
+                </Button>
+            </Box>
         </Box>
     );
 };
@@ -1,4 +1,5 @@
 import api, { ApiResponse } from "./api";
+import { UserSummary } from "../types/banking";
 
 // Admin Service API - Banking-Grade Admin Operations
 export interface UserDetailDto {
@@ -91,6 +92,8 @@ export interface FailedTransactions {
   failed_last_24h: number;
   failure_rate: number;
   common_failure_reasons: string[];
+  // Reasons come from in-memory counters that restart empty on deploy; they cover only from here
+  failure_reasons_since?: string | null;
   affected_users: number;
   period_start: string;
   period_end: string;
@@ -124,11 +127,32 @@ export const getFailedTransactions = async (): Promise<FailedTransactions> => {
 };
 
 // STEP 4: USER MANAGEMENT
-export const getAllUsers = async (): Promise<UserDetailDto[]> => {
-  const response = await api.get<ApiResponse<UserDetailDto[]>>('/admin/users');
+// Listings are paged without a total; hasNext says whether another page follows
+export interface PagedResult<T> {
+  content: T[];
+  currentPage: number;
+  pageSize: number;
+  hasNext: boolean;
+  // Keyset listings only: pass as `after` to fetch the following page
+  nextAfter?: number | null;
+}
+
+export const getAllUsers = async (page = 0, size = 50): Promise<PagedResult<UserDetailDto>> => {
+  const response = await api.get<ApiResponse<PagedResult<UserDetailDto>>>('/admin/users', {
+    params: { page, size },
+  });
   return response.data.data;
 };
 
+// search matches the start of a username or email, on the server; after is the previous
+// page's nextAfter, and continues from that user id
+export const getUserSummaries = async (after?: number, size = 50, search?: string): Promise<PagedResult<UserSummary>> => {
+  const response = await api.get<PagedResult<UserSummary>>('/users/get-summary', {
+    params: { after, size, search: search || undefined },
+  });
+  return response.data;
+};
+
 export const lockUser = async (userId: number, reason?: string): Promise<string> => {
   const response = await api.post<ApiResponse<string>>(`/admin/users/${userId}/lock`, { reason });
   return response.data.data;
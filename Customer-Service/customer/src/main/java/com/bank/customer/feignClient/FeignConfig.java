@@ -1,6 +1,8 @@
 package com.bank.customer.feignClient;
 
 
+import com.bank.customer.session.CorrelationContext;
+
 import com.bank.customer.session.UserSession;
 import com.bank.customer.session.UserThreadLocalContext;
 import feign.RequestInterceptor;
@@ -23,7 +25,27 @@ public class FeignConfig {
                 } else {
                     System.err.println("UserSession is null in Feign interceptor");
                 }
+
+                propagateCorrelation(template);
             }
         };
     }
+
+    // Callers that already pass bank-correlation-id explicitly keep their value
+    static void propagateCorrelation(RequestTemplate template) {
+
+        String correlationId = CorrelationContext.getCorrelationId();
+
+        if (correlationId != null && !template.headers().containsKey(CorrelationContext.CORRELATION_ID_HEADER)) {
+
+            template.header(CorrelationContext.CORRELATION_ID_HEADER, correlationId);
+        }
+
+        Long requestStart = CorrelationContext.getRequestStart();
+
+        if (requestStart != null && !template.headers().containsKey(CorrelationContext.REQUEST_START_HEADER)) {
+
+            template.header(CorrelationContext.REQUEST_START_HEADER, requestStart.toString());
+        }
+    }
 }
@@ -8,6 +8,8 @@ import com.bank.customer.dto.CreateCustomerDTO;
 
 import com.bank.customer.feignClient.AccountService;
 
+import com.bank.customer.kafka.KafkaEventPublisher;
+
 import com.bank.customer.models.Customers;
 
 import com.bank.customer.repository.CustomerRepository;
@@ -67,7 +69,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Autowired
 
-    private org.springframework.kafka.core.KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaEventPublisher eventPublisher;
 
 
 
@@ -107,7 +109,7 @@ public class CustomerServiceImpl implements CustomerService {
 
                     result.getLastName());
 
-            kafkaTemplate.send("customer-created", event);
+            eventPublisher.publish("customer-created", event);
 
         } catch (Exception e) {
 
@@ -1,5 +1,6 @@
 package com.bank.notification;
 
+import com.bank.notification.session.CorrelationContext;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
@@ -15,9 +16,22 @@ public class NotificationServiceApplication {
         SpringApplication.run(NotificationServiceApplication.class, args);
     }
 
+    // Forwards the correlation id of the record being handled, so the email service logs join its trace
     @Bean
     @LoadBalanced
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            String correlationId = CorrelationContext.getCorrelationId();
+            if (correlationId != null) {
+                request.getHeaders().set(CorrelationContext.CORRELATION_ID_HEADER, correlationId);
+            }
+            Long requestStart = CorrelationContext.getRequestStart();
+            if (requestStart != null) {
+                request.getHeaders().set(CorrelationContext.REQUEST_START_HEADER, requestStart.toString());
+            }
+            return execution.execute(request, body);
+        });
+        return restTemplate;
     }
 }
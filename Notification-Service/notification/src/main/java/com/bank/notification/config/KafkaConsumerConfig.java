@@ -0,0 +1,42 @@
+package com.bank.notification.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Listener containers for notifications. Each record waits on a call to the email service, so
+ * several threads keep slow sends from queueing behind one another, and a poll is kept small
+ * enough to be worked off within max.poll.interval.ms; a longer poll loop would get the
+ * consumer evicted from the group and its records redelivered as duplicate emails.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${bank.notification.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${bank.notification.consumer.max-poll-records:50}")
+    private int maxPollRecords;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        Map<String, Object> props = new HashMap<>(kafkaConsumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+}
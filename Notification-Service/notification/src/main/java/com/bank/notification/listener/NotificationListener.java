@@ -44,7 +44,7 @@ public class NotificationListener {
         try {
             JsonNode node = objectMapper.readTree(payload);
             String recipient = node.path("createdBy").asText("customer@bank.com");
-            BigDecimal amount = node.path("debitAmount").decimalValue();
+            BigDecimal amount = readAmount(node, "debitAmount");
 
             // Send Transaction Email
             sendTransactionEmail(recipient, amount);
@@ -59,6 +59,15 @@ public class NotificationListener {
         }
     }
 
+    // Prefer the exact minor-unit encoding; fall back to the decimal field for older producers
+    private BigDecimal readAmount(JsonNode node, String field) {
+        JsonNode minor = node.path(field + "Minor");
+        if (minor.canConvertToLong()) {
+            return BigDecimal.valueOf(minor.asLong(), node.path("amountScale").asInt(2));
+        }
+        return node.path(field).decimalValue();
+    }
+
     private void sendWelcomeEmail(String email, String firstName) {
         try {
             String subject = "Welcome to Online Banking!";
@@ -0,0 +1,64 @@
+package com.bank.notification.session;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CorrelationRecordInterceptorTest {
+
+    private final CorrelationRecordInterceptor interceptor = new CorrelationRecordInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        CorrelationContext.clear();
+    }
+
+    @Test
+    void bindsTheRecordHeadersToTheListenerThreadAndMdc() {
+        ConsumerRecord<Object, Object> record = record();
+        record.headers().add(CorrelationContext.CORRELATION_ID_HEADER, bytes("corr-42"));
+        record.headers().add(CorrelationContext.REQUEST_START_HEADER, bytes("1700000000000"));
+
+        interceptor.intercept(record, null);
+
+        assertEquals("corr-42", CorrelationContext.getCorrelationId());
+        assertEquals(1_700_000_000_000L, CorrelationContext.getRequestStart());
+        assertEquals("corr-42", MDC.get("correlationId"));
+    }
+
+    @Test
+    void mintsAnIdForRecordsWithoutOne() {
+        interceptor.intercept(record(), null);
+
+        assertNotNull(CorrelationContext.getCorrelationId());
+        assertEquals(CorrelationContext.getCorrelationId(), MDC.get("correlationId"));
+        assertNotNull(CorrelationContext.getRequestStart());
+    }
+
+    @Test
+    void clearsTheContextAfterTheRecord() {
+        ConsumerRecord<Object, Object> record = record();
+        record.headers().add(CorrelationContext.CORRELATION_ID_HEADER, bytes("corr-42"));
+        interceptor.intercept(record, null);
+
+        interceptor.afterRecord(record, null);
+
+        assertNull(CorrelationContext.getCorrelationId());
+        assertNull(MDC.get("correlationId"));
+    }
+
+    private static ConsumerRecord<Object, Object> record() {
+        return new ConsumerRecord<>("transaction-completed", 0, 0L, "1234567890", "{}");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,7 @@
 package com.bank.transaction.config;
 
+import com.bank.transaction.session.CorrelationContext;
+import feign.RequestInterceptor;
 import feign.Retryer;
 import feign.Request;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +12,20 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class FeignConfig {
 
+    @Bean
+    public RequestInterceptor correlationInterceptor() {
+        return template -> {
+            String correlationId = CorrelationContext.getCorrelationId();
+            if (correlationId != null && !template.headers().containsKey(CorrelationContext.CORRELATION_ID_HEADER)) {
+                template.header(CorrelationContext.CORRELATION_ID_HEADER, correlationId);
+            }
+            Long requestStart = CorrelationContext.getRequestStart();
+            if (requestStart != null && !template.headers().containsKey(CorrelationContext.REQUEST_START_HEADER)) {
+                template.header(CorrelationContext.REQUEST_START_HEADER, requestStart.toString());
+            }
+        };
+    }
+
     @Bean
     public Request.Options requestOptions() {
         return new Request.Options(
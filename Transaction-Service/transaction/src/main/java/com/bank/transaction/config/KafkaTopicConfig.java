@@ -0,0 +1,39 @@
+package com.bank.transaction.config;
+
+import com.bank.transaction.metrics.TransactionStatsFeed;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Declares the transaction topics with enough partitions for consumers to scale out.
+ * Events are keyed by account number, so ordering is preserved per account, not per topic.
+ * KafkaAdmin creates the topic on startup, or adds partitions if it already exists with fewer.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${bank.kafka.topics.transaction-completed.partitions:6}")
+    private int transactionCompletedPartitions;
+
+    @Bean
+    public NewTopic transactionCompletedTopic() {
+        return TopicBuilder.name("transaction-completed")
+                .partitions(transactionCompletedPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    // Each stats record supersedes the previous one from its source, so only recent ones matter
+    @Bean
+    public NewTopic transactionStatsTopic() {
+        return TopicBuilder.name(TransactionStatsFeed.TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, "3600000")
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.transaction.dto;
+
+import java.math.BigDecimal;
+
+/** Row count and credited amount of all transactions in one status. */
+public record StatusTotal(String status, Long count, BigDecimal creditAmount) {
+}
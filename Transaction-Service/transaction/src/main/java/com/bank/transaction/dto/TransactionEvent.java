@@ -1,13 +1,20 @@
 package com.bank.transaction.dto;
 
+import com.bank.transaction.session.CorrelationContext;
+import com.bank.transaction.util.MinorUnits;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 
 public class TransactionEvent {
     
     private Long id;
-    private Long debitAmount;
-    private Long creditAmount;
+    // Amounts travel as exact minor units (paise/cents) at amountScale, the currency's minor-unit digits
+    private Long debitAmountMinor;
+    private Long creditAmountMinor;
+    private int amountScale = MinorUnits.DEFAULT_SCALE;
+    private String currency = MinorUnits.DEFAULT_CURRENCY;
     private Long senderAccountNumber;
     private Long receiverAccountNumber;
     private Instant transactionDateTime;
@@ -24,9 +31,20 @@ public class TransactionEvent {
     
     // Constructor from Transaction entity
     public TransactionEvent(com.bank.transaction.model.Transaction transaction, Long userId, String userEmail) {
+        this(transaction, userId, userEmail, MinorUnits.DEFAULT_CURRENCY);
+    }
+
+    public TransactionEvent(com.bank.transaction.model.Transaction transaction, Long userId, String userEmail, String currency) {
         this.id = transaction.getId();
-        this.debitAmount = transaction.getDebitAmount() != null ? transaction.getDebitAmount().longValue() : null;
-        this.creditAmount = transaction.getCreditAmount() != null ? transaction.getCreditAmount().longValue() : null;
+        if (currency != null && !currency.isBlank()) {
+            this.currency = currency;
+        }
+        this.amountScale = MinorUnits.scaleOf(this.currency);
+        // HALF_UP mirrors how the DECIMAL(15,2) columns store the amount
+        this.debitAmountMinor = transaction.getDebitAmount() != null
+                ? MinorUnits.toMinorUnits(transaction.getDebitAmount(), amountScale, RoundingMode.HALF_UP) : null;
+        this.creditAmountMinor = transaction.getCreditAmount() != null
+                ? MinorUnits.toMinorUnits(transaction.getCreditAmount(), amountScale, RoundingMode.HALF_UP) : null;
         this.senderAccountNumber = transaction.getSenderAccountNumber();
         this.receiverAccountNumber = transaction.getReceiverAccountNumber();
         this.transactionDateTime = transaction.getTransactionDateTime();
@@ -34,18 +52,40 @@ public class TransactionEvent {
         this.status = transaction.getStatus();
         this.userId = userId;
         this.userEmail = userEmail;
-        this.correlationId = "TXN-" + transaction.getId() + "-" + System.currentTimeMillis();
+        // The request's correlation id ties this event to the rest of its trace; only events
+        // raised outside a request fall back to a local one
+        String requestCorrelationId = CorrelationContext.getCorrelationId();
+        this.correlationId = requestCorrelationId != null
+                ? requestCorrelationId
+                : "TXN-" + transaction.getId() + "-" + System.currentTimeMillis();
     }
     
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     
-    public Long getDebitAmount() { return debitAmount; }
-    public void setDebitAmount(Long debitAmount) { this.debitAmount = debitAmount; }
+    public Long getDebitAmountMinor() { return debitAmountMinor; }
+    public void setDebitAmountMinor(Long debitAmountMinor) { this.debitAmountMinor = debitAmountMinor; }
+    
+    public Long getCreditAmountMinor() { return creditAmountMinor; }
+    public void setCreditAmountMinor(Long creditAmountMinor) { this.creditAmountMinor = creditAmountMinor; }
+    
+    public int getAmountScale() { return amountScale; }
+    public void setAmountScale(int amountScale) { this.amountScale = amountScale; }
     
-    public Long getCreditAmount() { return creditAmount; }
-    public void setCreditAmount(Long creditAmount) { this.creditAmount = creditAmount; }
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    // Exact decimal views kept for consumers that still read debitAmount/creditAmount
+    @JsonProperty(value = "debitAmount", access = JsonProperty.Access.READ_ONLY)
+    public BigDecimal getDebitAmount() {
+        return debitAmountMinor != null ? MinorUnits.toDecimal(debitAmountMinor, amountScale) : null;
+    }
+    
+    @JsonProperty(value = "creditAmount", access = JsonProperty.Access.READ_ONLY)
+    public BigDecimal getCreditAmount() {
+        return creditAmountMinor != null ? MinorUnits.toDecimal(creditAmountMinor, amountScale) : null;
+    }
     
     public Long getSenderAccountNumber() { return senderAccountNumber; }
     public void setSenderAccountNumber(Long senderAccountNumber) { this.senderAccountNumber = senderAccountNumber; }
@@ -0,0 +1,108 @@
+package com.bank.transaction.kafka;
+
+import com.bank.transaction.session.CorrelationContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking wrapper around {@link KafkaTemplate#send}. Callers never wait on the broker;
+ * the completion callback records per-topic send latency and failures in Micrometer.
+ * Records carry the caller's correlation headers so Audit-Service can rebuild the request path.
+ */
+@Component
+public class KafkaEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaEventPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+    private final byte[] serviceName;
+
+    public KafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry,
+            @Value("${spring.application.name}") String serviceName) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.serviceName = serviceName.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publish(String topic, Object event) {
+        return publish(topic, null, event);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publish(String topic, String key, Object event) {
+        TopicMeters meters = topicMeters.computeIfAbsent(topic, this::createMeters);
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, event);
+            addCorrelationHeaders(record.headers());
+            future = kafkaTemplate.send(record);
+        } catch (Exception e) {
+            // Serialization and metadata errors surface synchronously
+            meters.failures().increment();
+            logger.error("Failed to send event to topic {}: {}", topic, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, failure) -> {
+            long elapsed = System.nanoTime() - start;
+            if (failure == null) {
+                meters.successLatency().record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                meters.failureLatency().record(elapsed, TimeUnit.NANOSECONDS);
+                meters.failures().increment();
+                logger.error("Failed to publish event to topic {} with key {}: {}", topic, key, failure.getMessage());
+            }
+        });
+        return future;
+    }
+
+    private void addCorrelationHeaders(Headers headers) {
+        headers.add(CorrelationContext.SOURCE_SERVICE_HEADER, serviceName);
+        String correlationId = CorrelationContext.getCorrelationId();
+        if (correlationId != null) {
+            headers.add(CorrelationContext.CORRELATION_ID_HEADER, correlationId.getBytes(StandardCharsets.UTF_8));
+        }
+        Long requestStart = CorrelationContext.getRequestStart();
+        if (requestStart != null) {
+            headers.add(CorrelationContext.REQUEST_START_HEADER,
+                    requestStart.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private TopicMeters createMeters(String topic) {
+        return new TopicMeters(
+                Timer.builder("kafka.producer.send")
+                        .description("Time from send() to broker acknowledgement")
+                        .tag("topic", topic)
+                        .tag("outcome", "success")
+                        .register(meterRegistry),
+                Timer.builder("kafka.producer.send")
+                        .description("Time from send() to broker acknowledgement")
+                        .tag("topic", topic)
+                        .tag("outcome", "failure")
+                        .register(meterRegistry),
+                Counter.builder("kafka.producer.send.failures")
+                        .description("Events that could not be published")
+                        .tag("topic", topic)
+                        .register(meterRegistry));
+    }
+
+    private record TopicMeters(Timer successLatency, Timer failureLatency, Counter failures) {}
+}
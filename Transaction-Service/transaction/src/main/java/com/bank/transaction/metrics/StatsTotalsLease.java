@@ -0,0 +1,30 @@
+package com.bank.transaction.metrics;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Database lease electing the one instance that refreshes the database-wide stats totals, so
+ * the grouped queries run once per interval rather than once per instance. The holder renews
+ * on every refresh; a lease not renewed for the TTL is taken over by the next instance to ask.
+ */
+class StatsTotalsLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+    private final long ttlMillis;
+
+    StatsTotalsLease(JdbcTemplate jdbcTemplate, String owner, long ttlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = owner;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** Takes or renews the lease; false while another live instance holds it. */
+    boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update("INSERT IGNORE INTO transaction_stats_owner (id, owner, heartbeat_at) VALUES (1, ?, 0)",
+                owner);
+        return jdbcTemplate.update("UPDATE transaction_stats_owner SET owner = ?, heartbeat_at = ? "
+                + "WHERE id = 1 AND (owner = ? OR heartbeat_at < ?)", owner, now, owner, now - ttlMillis) > 0;
+    }
+}
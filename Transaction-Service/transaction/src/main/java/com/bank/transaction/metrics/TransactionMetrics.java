@@ -1,12 +1,17 @@
 package com.bank.transaction.metrics;
 
+import com.bank.transaction.util.MinorUnits;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 @Component
@@ -16,6 +21,7 @@ public class TransactionMetrics {
     private final Counter transactionSuccessCounter;
     private final Counter transactionFailureCounter;
     private final Timer transactionTimer;
+    private final LongAdder completedVolumeMinor = new LongAdder();
     private final MeterRegistry meterRegistry;
 
     @Autowired
@@ -36,6 +42,11 @@ public class TransactionMetrics {
         this.transactionTimer = Timer.builder("transactions.duration")
                 .description("Transaction processing time")
                 .register(meterRegistry);
+
+        Gauge.builder("transactions.volume", completedVolumeMinor,
+                        adder -> adder.sum() / Math.pow(10, MinorUnits.DEFAULT_SCALE))
+                .description("Completed transaction volume in major currency units")
+                .register(meterRegistry);
     }
 
     public void incrementTransactionCounter() {
@@ -50,6 +61,15 @@ public class TransactionMetrics {
         transactionFailureCounter.increment();
     }
 
+    /** Adds a completed amount to the running volume, kept in minor units at {@link MinorUnits#DEFAULT_SCALE}. */
+    public void recordVolume(BigDecimal amount) {
+        completedVolumeMinor.add(MinorUnits.toMinorUnits(amount, MinorUnits.DEFAULT_SCALE, RoundingMode.HALF_UP));
+    }
+
+    public BigDecimal getCompletedVolume() {
+        return MinorUnits.toDecimal(completedVolumeMinor.sum());
+    }
+
     public <T> T recordTransactionTime(Supplier<T> supplier) {
         long startTime = System.nanoTime();
         incrementTransactionCounter();
@@ -0,0 +1,167 @@
+package com.bank.transaction.metrics;
+
+import com.bank.transaction.dto.StatusTotal;
+import com.bank.transaction.kafka.KafkaEventPublisher;
+import com.bank.transaction.metrics.TransactionStatsWindow.Counts;
+import com.bank.transaction.repository.TransactionRepository;
+import com.bank.transaction.util.MinorUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Publishes a compact, pre-aggregated statistics record to the transaction-stats topic so the
+ * admin dashboard never queries this service per view.
+ *
+ * <p>Each record carries this instance's sliding-window outcome counters (consumers sum them
+ * across sources) and the latest database-wide totals from a few grouped queries (consumers
+ * keep the newest). The windows are in memory and start empty on every restart, from
+ * {@code windowsStartedAt}; they are only for what the database does not record, such as
+ * failure reasons. Counts over the last 24 hours come from the totals. Records are keyed by a
+ * per-process source id.
+ *
+ * <p>Only the instance holding the {@link StatsTotalsLease} refreshes the totals on schedule;
+ * the others publish no totals and consumers keep the holder's.
+ */
+@Component
+public class TransactionStatsFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatsFeed.class);
+
+    public static final String TOPIC = "transaction-stats";
+
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_COMPENSATED = "COMPENSATED";
+    public static final String STATUS_FAILED_REFUND = "FAILED_REFUND";
+
+    public static final String REASON_INSUFFICIENT_FUNDS = "INSUFFICIENT_FUNDS";
+    public static final String REASON_DEBIT_FAILED = "DEBIT_FAILED";
+    public static final String REASON_CREDIT_FAILED = "CREDIT_FAILED";
+    public static final String REASON_REFUND_FAILED = "REFUND_FAILED";
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration DAY = Duration.ofHours(24);
+
+    private final TransactionStatsWindow window = new TransactionStatsWindow(DAY, Duration.ofMinutes(1));
+    private final KafkaEventPublisher eventPublisher;
+    private final TransactionRepository transactionRepository;
+    private final StatsTotalsLease totalsLease;
+    private final long totalsRefreshIntervalMs;
+    private final String source = UUID.randomUUID().toString();
+    private final long windowsStartedAt = System.currentTimeMillis();
+    private final long publishIntervalMs;
+    private volatile Totals totals;
+    private volatile boolean totalsLeaseHeld;
+
+    /** Database-wide figures, identical on every instance; consumers keep the newest. */
+    public record Totals(Map<String, Long> byStatus, Map<String, Long> byStatus24h, long creditedMinor,
+            long failedAccounts24h, long computedAt) {
+    }
+
+    /** {@code amountScale} is the scale of every minor-unit amount in the record, windows and totals alike. */
+    public record StatsRecord(String source, long generatedAt, long publishIntervalMs, long windowsStartedAt,
+            int amountScale, Map<String, Counts> windows, Totals totals) {
+    }
+
+    public TransactionStatsFeed(KafkaEventPublisher eventPublisher, TransactionRepository transactionRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${bank.transaction-stats.publish-interval-ms:10000}") long publishIntervalMs,
+            @Value("${bank.transaction-stats.totals-refresh-interval-ms:60000}") long totalsRefreshIntervalMs) {
+        this.eventPublisher = eventPublisher;
+        this.transactionRepository = transactionRepository;
+        this.publishIntervalMs = publishIntervalMs;
+        this.totalsRefreshIntervalMs = totalsRefreshIntervalMs;
+        // Three missed refreshes before another instance takes over
+        this.totalsLease = new StatsTotalsLease(jdbcTemplate, source, 3 * totalsRefreshIntervalMs);
+    }
+
+    public void recordCompleted(BigDecimal amount) {
+        long amountMinor = MinorUnits.toMinorUnits(amount, MinorUnits.DEFAULT_SCALE, RoundingMode.HALF_UP);
+        window.record(STATUS_COMPLETED, null, amountMinor, System.currentTimeMillis());
+    }
+
+    public void recordFailure(String status, String reason) {
+        window.record(status, reason, 0, System.currentTimeMillis());
+    }
+
+    /** Counters for the trailing 24 hours on this instance only. */
+    public Counts lastDay() {
+        return window.counts(DAY, System.currentTimeMillis());
+    }
+
+    /** The latest totals; recomputed when missing or stale, e.g. on instances not holding the lease. */
+    public Totals totals() {
+        Totals current = totals;
+        if (current == null || current.computedAt() < System.currentTimeMillis() - 2 * totalsRefreshIntervalMs) {
+            return refreshTotals();
+        }
+        return current;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${bank.transaction-stats.totals-refresh-interval-ms:60000}")
+    public void scheduledTotalsRefresh() {
+        try {
+            totalsLeaseHeld = totalsLease.tryAcquire();
+            if (totalsLeaseHeld) {
+                refreshTotals();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to refresh transaction totals, keeping the previous ones: {}", e.getMessage());
+        }
+    }
+
+    public Totals refreshTotals() {
+        List<StatusTotal> byStatus = transactionRepository.totalsByStatus();
+        Map<String, Long> counts = new HashMap<>();
+        long creditedMinor = 0;
+        for (StatusTotal total : byStatus) {
+            String status = normalize(total.status());
+            counts.merge(status, total.count(), Long::sum);
+            if (STATUS_COMPLETED.equals(status)) {
+                creditedMinor += MinorUnits.toMinorUnitsOrZero(total.creditAmount());
+            }
+        }
+        Instant dayAgo = Instant.now().minus(DAY);
+        Map<String, Long> countsLastDay = new HashMap<>();
+        for (StatusTotal total : transactionRepository.totalsByStatusSince(dayAgo)) {
+            countsLastDay.merge(normalize(total.status()), total.count(), Long::sum);
+        }
+        long failedAccounts = transactionRepository.countFailedSenderAccountsSince(dayAgo);
+        Totals refreshed = new Totals(counts, countsLastDay, creditedMinor, failedAccounts,
+                System.currentTimeMillis());
+        totals = refreshed;
+        return refreshed;
+    }
+
+    @Scheduled(initialDelayString = "${bank.transaction-stats.publish-interval-ms:10000}",
+            fixedDelayString = "${bank.transaction-stats.publish-interval-ms:10000}")
+    public void publish() {
+        long now = System.currentTimeMillis();
+        Map<String, Counts> windows = Map.of(
+                "1h", window.counts(HOUR, now),
+                "24h", window.counts(DAY, now));
+        eventPublisher.publish(TOPIC, source, new StatsRecord(source, now, publishIntervalMs, windowsStartedAt,
+                MinorUnits.DEFAULT_SCALE, windows, totalsLeaseHeld ? totals : null));
+    }
+
+    // Fund transfers store "Done" for what transfers store as COMPLETED
+    public static String normalize(String status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        return "Done".equalsIgnoreCase(status) ? STATUS_COMPLETED : status.toUpperCase();
+    }
+}
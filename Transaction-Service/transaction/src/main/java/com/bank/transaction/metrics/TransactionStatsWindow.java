@@ -0,0 +1,92 @@
+package com.bank.transaction.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sliding-window transfer outcome counters kept in a ring of fixed-width time buckets. A record
+ * touches one bucket and a window total folds at most span / bucket-width buckets, so memory and
+ * snapshot cost are fixed no matter how many transfers go through.
+ */
+public class TransactionStatsWindow {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+
+    public record Counts(long total, Map<String, Long> byStatus, Map<String, Long> byFailureReason,
+            long volumeMinor) {
+    }
+
+    public TransactionStatsWindow(Duration span, Duration bucketWidth) {
+        this.bucketMillis = bucketWidth.toMillis();
+        if (bucketMillis <= 0 || span.toMillis() < bucketMillis) {
+            throw new IllegalArgumentException("Window span must cover at least one bucket");
+        }
+        this.buckets = new Bucket[(int) (span.toMillis() / bucketMillis)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * @param failureReason null for successful transfers
+     * @param amountMinor   moved amount in minor units; 0 when nothing moved
+     */
+    public synchronized void record(String status, String failureReason, long amountMinor, long nowMillis) {
+        Bucket bucket = current(nowMillis);
+        bucket.total++;
+        bucket.byStatus.merge(status, 1L, Long::sum);
+        if (failureReason != null) {
+            bucket.byFailureReason.merge(failureReason, 1L, Long::sum);
+        }
+        bucket.volumeMinor += amountMinor;
+    }
+
+    /** Totals over the trailing {@code window}, rounded up to whole buckets. */
+    public synchronized Counts counts(Duration window, long nowMillis) {
+        long slot = nowMillis / bucketMillis;
+        long oldest = slot - Math.min(buckets.length, Math.max(1, window.toMillis() / bucketMillis)) + 1;
+
+        long total = 0;
+        long volumeMinor = 0;
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byFailureReason = new HashMap<>();
+        for (Bucket bucket : buckets) {
+            if (bucket.slot < oldest || bucket.slot > slot) {
+                continue;
+            }
+            total += bucket.total;
+            volumeMinor += bucket.volumeMinor;
+            bucket.byStatus.forEach((status, count) -> byStatus.merge(status, count, Long::sum));
+            bucket.byFailureReason.forEach((reason, count) -> byFailureReason.merge(reason, count, Long::sum));
+        }
+        return new Counts(total, byStatus, byFailureReason, volumeMinor);
+    }
+
+    private Bucket current(long nowMillis) {
+        long slot = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (slot % buckets.length)];
+        if (bucket.slot != slot) {
+            // The bucket last held a slot that has since slid out of the window
+            bucket.reset(slot);
+        }
+        return bucket;
+    }
+
+    private static final class Bucket {
+        private long slot = -1;
+        private long total;
+        private long volumeMinor;
+        private final Map<String, Long> byStatus = new HashMap<>();
+        private final Map<String, Long> byFailureReason = new HashMap<>();
+
+        private void reset(long slot) {
+            this.slot = slot;
+            total = 0;
+            volumeMinor = 0;
+            byStatus.clear();
+            byFailureReason.clear();
+        }
+    }
+}
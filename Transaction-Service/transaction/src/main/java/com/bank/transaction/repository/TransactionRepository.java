@@ -1,5 +1,6 @@
 package com.bank.transaction.repository;
 
+import com.bank.transaction.dto.StatusTotal;
 import com.bank.transaction.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -24,4 +25,20 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     @Query("SELECT t FROM Transaction t WHERE t.senderAccountNumber = :accountNumber OR t.receiverAccountNumber = :accountNumber ORDER BY t.transactionDateTime DESC")
     List<Transaction> findRecentTransactionsByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+    // Aggregates for the admin statistics. totalsByStatus reads only the covering
+    // (status, credit_amount) index; the since-queries range-scan (transaction_date_time, status),
+    // and the distinct senders are then read from the matching rows
+
+    @Query("SELECT new com.bank.transaction.dto.StatusTotal(t.status, COUNT(t), COALESCE(SUM(t.creditAmount), 0)) "
+            + "FROM Transaction t GROUP BY t.status")
+    List<StatusTotal> totalsByStatus();
+
+    @Query("SELECT new com.bank.transaction.dto.StatusTotal(t.status, COUNT(t), COALESCE(SUM(t.creditAmount), 0)) "
+            + "FROM Transaction t WHERE t.transactionDateTime > :since GROUP BY t.status")
+    List<StatusTotal> totalsByStatusSince(@Param("since") Instant since);
+
+    @Query("SELECT COUNT(DISTINCT t.senderAccountNumber) FROM Transaction t "
+            + "WHERE t.status = 'FAILED' AND t.transactionDateTime > :since")
+    long countFailedSenderAccountsSince(@Param("since") Instant since);
 }
@@ -1,9 +1,13 @@
 package com.bank.transaction.service.serviceImpl;
 
 import com.bank.transaction.dto.CombineAccountDetailsDTO;
+import com.bank.transaction.dto.StatusTotal;
 import com.bank.transaction.dto.TransactionEvent;
 import com.bank.transaction.exception.InsufficientBalanceException;
 import com.bank.transaction.feignclient.AccountService;
+import com.bank.transaction.kafka.KafkaEventPublisher;
+import com.bank.transaction.metrics.TransactionMetrics;
+import com.bank.transaction.metrics.TransactionStatsFeed;
 import com.bank.transaction.model.Transaction;
 import com.bank.transaction.model.LedgerEntry;
 import com.bank.transaction.repository.TransactionRepository;
@@ -12,11 +16,11 @@ import com.bank.transaction.service.TransactionService;
 import com.bank.transaction.service.LedgerService;
 import com.bank.transaction.session.UserSession;
 import com.bank.transaction.session.UserThreadLocalContext;
+import com.bank.transaction.util.MinorUnits;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -28,6 +32,8 @@ public class TransactionServiceImpl implements TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
+    private static final String TRANSACTION_COMPLETED_TOPIC = "transaction-completed";
+
     @Autowired
     private AccountService accountService;
 
@@ -41,11 +47,17 @@ public class TransactionServiceImpl implements TransactionService {
     private LedgerEntryRepository ledgerEntryRepository;
 
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaEventPublisher eventPublisher;
 
     @Autowired
     private LedgerService ledgerService;
 
+    @Autowired
+    private TransactionMetrics transactionMetrics;
+
+    @Autowired
+    private TransactionStatsFeed statsFeed;
+
     @Override
     @Transactional
     public com.bank.transaction.dto.TransactionResponseDTO initiateTransfer(
@@ -98,6 +110,7 @@ public class TransactionServiceImpl implements TransactionService {
 
             // 3. Validate Balance
             if (senderAccount.getBalance().compareTo(request.getAmount()) < 0) {
+                statsFeed.recordFailure(TransactionStatsFeed.STATUS_FAILED, TransactionStatsFeed.REASON_INSUFFICIENT_FUNDS);
                 throw new InsufficientBalanceException(
                         "Insufficient balance in account " + senderAccount.getAccountNumber());
             }
@@ -202,11 +215,16 @@ public class TransactionServiceImpl implements TransactionService {
 
                     // Publish Events for both transactions with user information
                     try {
-                        TransactionEvent senderEvent = new TransactionEvent(senderTransaction, userId, userSession.email());
-                        TransactionEvent receiverEvent = new TransactionEvent(receiverTransaction, userId, userSession.email());
+                        TransactionEvent senderEvent = new TransactionEvent(senderTransaction, userId, userSession.email(), request.getCurrency());
+                        TransactionEvent receiverEvent = new TransactionEvent(receiverTransaction, userId, userSession.email(), request.getCurrency());
                         
-                        kafkaTemplate.send("transaction-completed", senderEvent);
-                        kafkaTemplate.send("transaction-completed", receiverEvent);
+                        // Keyed by the owning account so each account's events stay on one partition, in order
+                        eventPublisher.publish(TRANSACTION_COMPLETED_TOPIC,
+                                accountKey(senderTransaction.getSenderAccountNumber()), senderEvent);
+                        eventPublisher.publish(TRANSACTION_COMPLETED_TOPIC,
+                                accountKey(receiverTransaction.getReceiverAccountNumber()), receiverEvent);
+                        transactionMetrics.recordVolume(senderEvent.getDebitAmount());
+                        statsFeed.recordCompleted(senderEvent.getDebitAmount());
                         
                         System.out.println("📤 Published transaction events for user: " + userId);
                     } catch (Exception e) {
@@ -246,6 +264,7 @@ public class TransactionServiceImpl implements TransactionService {
                         senderTransaction.setDescription(String.format("Transfer to A/C %s - Refunded", maskedReceiverAcc));
                         receiverTransaction.setStatus("FAILED");
                         receiverTransaction.setDescription(String.format("Transfer from A/C %s - Failed", maskAccountNumber(senderAccount.getAccountNumber())));
+                        statsFeed.recordFailure(TransactionStatsFeed.STATUS_COMPENSATED, TransactionStatsFeed.REASON_CREDIT_FAILED);
                         
                         // Create COMPENSATION ledger entry with actual returned balance
                         try {
@@ -271,6 +290,7 @@ public class TransactionServiceImpl implements TransactionService {
                         senderTransaction.setDescription(String.format("Transfer to A/C %s - Refund Failed", maskedReceiverAccFailed));
                         receiverTransaction.setStatus("FAILED");
                         receiverTransaction.setDescription(String.format("Transfer from A/C %s - Failed", maskAccountNumber(senderAccount.getAccountNumber())));
+                        statsFeed.recordFailure(TransactionStatsFeed.STATUS_FAILED_REFUND, TransactionStatsFeed.REASON_REFUND_FAILED);
                     }
                     senderTransaction.setUpdatedAt(Instant.now());
                     receiverTransaction.setUpdatedAt(Instant.now());
@@ -291,7 +311,12 @@ public class TransactionServiceImpl implements TransactionService {
                 }
 
             } catch (Exception debitException) {
+                if (debitException instanceof com.bank.transaction.exception.TransactionFailedException) {
+                    // The credit leg already failed, compensated and recorded its outcome
+                    throw debitException;
+                }
                 logger.error("Debit operation failed: {}", debitException.getMessage());
+                statsFeed.recordFailure(TransactionStatsFeed.STATUS_FAILED, TransactionStatsFeed.REASON_DEBIT_FAILED);
                 String maskedReceiverAccFailed = maskAccountNumber(receiverAccount.getAccountNumber());
                 senderTransaction.setStatus("FAILED");
                 senderTransaction.setDescription(String.format("Transfer to A/C %s - Failed", maskedReceiverAccFailed));
@@ -393,6 +418,7 @@ public class TransactionServiceImpl implements TransactionService {
         CombineAccountDetailsDTO accountDetails = accountService.getSenderAccountDetails(userId, receiverAccountNumber);
 
         if (accountDetails.getSenderAccountBalance().compareTo(receiverAmount) < 0) {
+            statsFeed.recordFailure(TransactionStatsFeed.STATUS_FAILED, TransactionStatsFeed.REASON_INSUFFICIENT_FUNDS);
             throw new InsufficientBalanceException("Insufficient balance. Available: "
                     + accountDetails.getSenderAccountBalance() + ", Required: " + receiverAmount);
         }
@@ -429,7 +455,14 @@ public class TransactionServiceImpl implements TransactionService {
                 // Publish Event to Kafka with user information
                 try {
                     TransactionEvent transactionEvent = new TransactionEvent(transaction, userId, userSession.email());
-                    kafkaTemplate.send("transaction-completed", transactionEvent);
+                    // One event per side, as in initiateTransfer, so the receiver's account events
+                    // share a partition as well as the sender's
+                    eventPublisher.publish(TRANSACTION_COMPLETED_TOPIC,
+                            accountKey(transaction.getSenderAccountNumber()), transactionEvent);
+                    eventPublisher.publish(TRANSACTION_COMPLETED_TOPIC,
+                            accountKey(transaction.getReceiverAccountNumber()), transactionEvent);
+                    transactionMetrics.recordVolume(transactionEvent.getCreditAmount());
+                    statsFeed.recordCompleted(transactionEvent.getCreditAmount());
                     System.out.println("📤 Published fund transfer event for user: " + userId);
                 } catch (Exception e) {
                     System.err.println("Failed to publish transaction-completed event: " + e.getMessage());
@@ -445,10 +478,15 @@ public class TransactionServiceImpl implements TransactionService {
                 transaction.setDescription("Credit Failed - Refunded");
                 transaction.setUpdatedAt(Instant.now());
                 transactionRepository.save(transaction);
-                throw new RuntimeException("Transfer Failed during Credit: " + e.getMessage());
+                statsFeed.recordFailure(TransactionStatsFeed.STATUS_FAILED, TransactionStatsFeed.REASON_CREDIT_FAILED);
+                throw new com.bank.transaction.exception.TransactionFailedException("Transfer Failed during Credit: " + e.getMessage());
             }
 
+        } catch (com.bank.transaction.exception.TransactionFailedException e) {
+            // Already refunded and recorded; do not relabel it as a debit failure
+            throw e;
         } catch (Exception e) {
+            statsFeed.recordFailure(TransactionStatsFeed.STATUS_FAILED, TransactionStatsFeed.REASON_DEBIT_FAILED);
             transaction.setStatus("FAILED");
             transaction.setDescription("Debit Failed");
             transaction.setUpdatedAt(Instant.now());
@@ -509,21 +547,16 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public java.util.Map<String, Object> getTransactionMetrics() {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        List<Transaction> allTransactions = transactionRepository.findAll();
-
-        long total = allTransactions.size();
-        long successful = allTransactions.stream()
-                .filter(t -> "Done".equalsIgnoreCase(t.getStatus()) || "COMPLETED".equalsIgnoreCase(t.getStatus()))
-                .count();
-        long failed = allTransactions.stream().filter(t -> "FAILED".equalsIgnoreCase(t.getStatus())).count();
-        long pending = allTransactions.stream().filter(t -> "PENDING".equalsIgnoreCase(t.getStatus())).count();
+        // Grouped totals refreshed by the stats feed, instead of loading every transaction
+        TransactionStatsFeed.Totals totals = statsFeed.totals();
 
-        BigDecimal totalVolume = allTransactions.stream()
-                .filter(t -> "Done".equalsIgnoreCase(t.getStatus()) || "COMPLETED".equalsIgnoreCase(t.getStatus()))
-                .map(t -> t.getCreditAmount() != null ? t.getCreditAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long total = totals.byStatus().values().stream().mapToLong(Long::longValue).sum();
+        long successful = totals.byStatus().getOrDefault(TransactionStatsFeed.STATUS_COMPLETED, 0L);
+        long failed = totals.byStatus().getOrDefault(TransactionStatsFeed.STATUS_FAILED, 0L);
+        long pending = totals.byStatus().getOrDefault("PENDING", 0L);
 
-        double avgAmount = total > 0 && successful > 0
+        BigDecimal totalVolume = MinorUnits.toDecimal(totals.creditedMinor());
+        double avgAmount = successful > 0
                 ? totalVolume
                         .divide(BigDecimal.valueOf(successful), java.math.RoundingMode.HALF_UP)
                         .doubleValue()
@@ -546,27 +579,27 @@ public class TransactionServiceImpl implements TransactionService {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
         Instant twentyFourHoursAgo = Instant.now().minus(24, java.time.temporal.ChronoUnit.HOURS);
 
-        List<Transaction> allTransactions = transactionRepository.findAll(); // Optimization: Should use findByDate in
-                                                                             // real app
-        List<Transaction> failedLast24h = allTransactions.stream()
-                .filter(t -> t.getTransactionDateTime() != null
-                        && t.getTransactionDateTime().isAfter(twentyFourHoursAgo))
-                .filter(t -> "FAILED".equalsIgnoreCase(t.getStatus()))
-                .collect(java.util.stream.Collectors.toList());
-
-        long failedCount = failedLast24h.size();
-        long totalLast24h = allTransactions.stream()
-                .filter(t -> t.getTransactionDateTime() != null
-                        && t.getTransactionDateTime().isAfter(twentyFourHoursAgo))
-                .count();
+        long failedCount = 0;
+        long totalLast24h = 0;
+        for (StatusTotal statusTotal : transactionRepository.totalsByStatusSince(twentyFourHoursAgo)) {
+            totalLast24h += statusTotal.count();
+            if (TransactionStatsFeed.STATUS_FAILED.equals(TransactionStatsFeed.normalize(statusTotal.status()))) {
+                failedCount += statusTotal.count();
+            }
+        }
 
         double failureRate = totalLast24h > 0 ? (double) failedCount / totalLast24h * 100 : 0.0;
 
+        // Reasons are only known at the point of failure, so they come from this instance's window
+        List<String> commonReasons = statsFeed.lastDay().byFailureReason().entrySet().stream()
+                .sorted(java.util.Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(java.util.Map.Entry::getKey)
+                .collect(java.util.stream.Collectors.toList());
+
         stats.put("failed_last_24h", failedCount);
         stats.put("failure_rate", failureRate);
-        stats.put("common_failure_reasons", java.util.List.of("Insufficient Funds", "System Error")); // Mock
-                                                                                                      // explanation
-        stats.put("affected_users", failedLast24h.stream().map(Transaction::getSenderAccountNumber).distinct().count());
+        stats.put("common_failure_reasons", commonReasons);
+        stats.put("affected_users", transactionRepository.countFailedSenderAccountsSince(twentyFourHoursAgo));
         stats.put("period_start", twentyFourHoursAgo);
         stats.put("period_end", Instant.now());
 
@@ -738,6 +771,11 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
+    // Kafka partition key for an account's events
+    private String accountKey(Long accountNumber) {
+        return accountNumber != null ? accountNumber.toString() : null;
+    }
+
     // Helper method to mask account number for security
     private String maskAccountNumber(Long accountNumber) {
         if (accountNumber == null) {
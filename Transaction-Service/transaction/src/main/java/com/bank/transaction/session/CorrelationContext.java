@@ -0,0 +1,40 @@
+package com.bank.transaction.session;
+
+import org.slf4j.MDC;
+
+/**
+ * Correlation id of the request being handled on this thread. Minted once by the gateway and
+ * carried on every hop as the bank-correlation-id header, on Feign calls and Kafka records
+ * alike; bank-request-start holds the epoch millis at which the gateway received the request.
+ */
+public class CorrelationContext {
+
+    public static final String CORRELATION_ID_HEADER = "bank-correlation-id";
+    public static final String REQUEST_START_HEADER = "bank-request-start";
+    public static final String SOURCE_SERVICE_HEADER = "bank-source-service";
+
+    private static final String MDC_KEY = "correlationId";
+
+    private static final ThreadLocal<String> correlationId = new ThreadLocal<>();
+    private static final ThreadLocal<Long> requestStart = new ThreadLocal<>();
+
+    public static void set(String id, Long startedAt) {
+        correlationId.set(id);
+        requestStart.set(startedAt);
+        MDC.put(MDC_KEY, id);
+    }
+
+    public static String getCorrelationId() {
+        return correlationId.get();
+    }
+
+    public static Long getRequestStart() {
+        return requestStart.get();
+    }
+
+    public static void clear() {
+        correlationId.remove();
+        requestStart.remove();
+        MDC.remove(MDC_KEY);
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.transaction.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Fixed-point money encoding: an amount is carried as a {@code long} count of minor units
+ * (paise/cents) together with its scale, so it can cross Kafka and be summed without
+ * {@link BigDecimal} allocation and without losing precision. The scale is the currency's
+ * ISO 4217 minor-unit digits: 2 for INR, 0 for JPY, 3 for KWD.
+ */
+public final class MinorUnits {
+
+    public static final String DEFAULT_CURRENCY = "INR";
+    /** Scale of {@link #DEFAULT_CURRENCY}, in which stored amounts and aggregates are reported. */
+    public static final int DEFAULT_SCALE = scaleOf(DEFAULT_CURRENCY);
+
+    private MinorUnits() {}
+
+    /**
+     * Minor-unit digits of an ISO 4217 currency code. Codes without minor units defined, such as
+     * XAU, fall back to two digits.
+     *
+     * @throws IllegalArgumentException if the code is not a known currency
+     */
+    public static int scaleOf(String currency) {
+        int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        return digits >= 0 ? digits : 2;
+    }
+
+    /**
+     * Converts a decimal amount to minor units at the given scale.
+     *
+     * @throws ArithmeticException if the amount has more fractional digits than the scale
+     *                             or does not fit in a long
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        return toMinorUnits(amount, scale, RoundingMode.UNNECESSARY);
+    }
+
+    public static long toMinorUnits(BigDecimal amount, int scale, RoundingMode roundingMode) {
+        return amount.setScale(scale, roundingMode).unscaledValue().longValueExact();
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return toMinorUnits(amount, DEFAULT_SCALE);
+    }
+
+    /** Null-safe variant used for nullable entity columns; null maps to zero. */
+    public static long toMinorUnitsOrZero(BigDecimal amount) {
+        return amount != null ? toMinorUnits(amount) : 0L;
+    }
+
+    public static BigDecimal toDecimal(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return toDecimal(minorUnits, DEFAULT_SCALE);
+    }
+}
@@ -0,0 +1,11 @@
+-- Per-status totals are read from this index alone: status groups, credit_amount is summed
+CREATE INDEX idx_transaction_status_credit ON `transaction` (status, credit_amount);
+-- Last-24h counts filter on the date and group by status
+CREATE INDEX idx_transaction_date_time_status ON `transaction` (transaction_date_time, status);
+
+-- One instance at a time refreshes the database-wide stats totals; see StatsTotalsLease
+CREATE TABLE transaction_stats_owner (
+    id INT PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    heartbeat_at BIGINT NOT NULL
+);
@@ -0,0 +1,101 @@
+package com.bank.transaction.kafka;
+
+import com.bank.transaction.session.CorrelationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaEventPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KafkaEventPublisher publisher =
+            new KafkaEventPublisher(kafkaTemplate, meterRegistry, "transaction-service");
+
+    @AfterEach
+    void tearDown() {
+        CorrelationContext.clear();
+    }
+
+    @Test
+    void testPublish_KeyedRecordCarriesTheAccountKeyAndCorrelationHeaders() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        CorrelationContext.set("corr-42", 1_700_000_000_000L);
+
+        publisher.publish("transaction-completed", "1234567890", "event");
+
+        ProducerRecord<String, Object> record = sent();
+        assertEquals("transaction-completed", record.topic());
+        assertEquals("1234567890", record.key());
+        assertEquals("event", record.value());
+        assertEquals("corr-42", header(record, CorrelationContext.CORRELATION_ID_HEADER));
+        assertEquals("1700000000000", header(record, CorrelationContext.REQUEST_START_HEADER));
+        assertEquals("transaction-service", header(record, CorrelationContext.SOURCE_SERVICE_HEADER));
+    }
+
+    @Test
+    void testPublish_UnkeyedRecordLeavesPartitioningToTheProducer() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        publisher.publish("transaction-stats", "event");
+
+        assertNull(sent().key());
+    }
+
+    @Test
+    void testPublish_FailedSendIsCountedPerTopic() {
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+
+        CompletableFuture<SendResult<String, Object>> result =
+                publisher.publish("transaction-completed", "1234567890", "event");
+        future.completeExceptionally(new IllegalStateException("broker unavailable"));
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.failures")
+                .tag("topic", "transaction-completed").counter().count());
+        assertEquals(1, meterRegistry.get("kafka.producer.send")
+                .tag("topic", "transaction-completed").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void testPublish_SynchronousSendErrorReturnsAFailedFuture() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenThrow(new IllegalArgumentException("too large"));
+
+        CompletableFuture<SendResult<String, Object>> result =
+                publisher.publish("transaction-completed", "1234567890", "event");
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.failures")
+                .tag("topic", "transaction-completed").counter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, Object> sent() {
+        ArgumentCaptor<ProducerRecord<String, Object>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        return record.getValue();
+    }
+
+    private static String header(ProducerRecord<String, Object> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bank.transaction.metrics;
+
+import com.bank.transaction.dto.StatusTotal;
+import com.bank.transaction.kafka.KafkaEventPublisher;
+import com.bank.transaction.metrics.TransactionStatsFeed.StatsRecord;
+import com.bank.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionStatsFeedTest {
+
+    private final KafkaEventPublisher eventPublisher = mock(KafkaEventPublisher.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionStatsFeed feed =
+            new TransactionStatsFeed(eventPublisher, transactionRepository, jdbcTemplate, 10_000, 60_000);
+
+    @Test
+    void testScheduledRefresh_LeaseHolderPublishesTotals() {
+        when(jdbcTemplate.update(startsWith("UPDATE transaction_stats_owner"), any(Object[].class))).thenReturn(1);
+        when(transactionRepository.totalsByStatus())
+                .thenReturn(List.of(new StatusTotal("Done", 2L, new BigDecimal("12.50"))));
+
+        feed.scheduledTotalsRefresh();
+        feed.publish();
+
+        StatsRecord record = published();
+        assertEquals(2L, record.totals().byStatus().get("COMPLETED"));
+        assertEquals(1250L, record.totals().creditedMinor());
+    }
+
+    @Test
+    void testScheduledRefresh_OtherInstancesSkipTheQueries() {
+        when(jdbcTemplate.update(startsWith("UPDATE transaction_stats_owner"), any(Object[].class))).thenReturn(0);
+
+        feed.scheduledTotalsRefresh();
+        feed.publish();
+
+        verify(transactionRepository, never()).totalsByStatus();
+        assertNull(published().totals());
+    }
+
+    private StatsRecord published() {
+        ArgumentCaptor<Object> record = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publish(eq(TransactionStatsFeed.TOPIC), anyString(), record.capture());
+        return (StatsRecord) record.getValue();
+    }
+}
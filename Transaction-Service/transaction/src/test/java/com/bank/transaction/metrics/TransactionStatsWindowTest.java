@@ -0,0 +1,59 @@
+package com.bank.transaction.metrics;
+
+import com.bank.transaction.metrics.TransactionStatsWindow.Counts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TransactionStatsWindowTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void testCounts_SumsStatusesReasonsAndVolume() {
+        TransactionStatsWindow window = new TransactionStatsWindow(Duration.ofHours(1), Duration.ofMinutes(1));
+        long now = 100 * MINUTE;
+
+        window.record("COMPLETED", null, 1500, now);
+        window.record("COMPLETED", null, 500, now - MINUTE);
+        window.record("FAILED", "INSUFFICIENT_FUNDS", 0, now - 2 * MINUTE);
+
+        Counts counts = window.counts(Duration.ofHours(1), now);
+        assertEquals(3, counts.total());
+        assertEquals(2L, counts.byStatus().get("COMPLETED"));
+        assertEquals(1L, counts.byFailureReason().get("INSUFFICIENT_FUNDS"));
+        assertEquals(2000, counts.volumeMinor());
+    }
+
+    @Test
+    void testCounts_DropsBucketsOutsideTheWindow() {
+        TransactionStatsWindow window = new TransactionStatsWindow(Duration.ofHours(1), Duration.ofMinutes(1));
+        long now = 100 * MINUTE;
+
+        window.record("FAILED", "DEBIT_FAILED", 0, now - 10 * MINUTE);
+        window.record("COMPLETED", null, 100, now);
+
+        Counts lastFiveMinutes = window.counts(Duration.ofMinutes(5), now);
+        assertEquals(1, lastFiveMinutes.total());
+        assertNull(lastFiveMinutes.byFailureReason().get("DEBIT_FAILED"));
+
+        // An hour later the old slots have wrapped around and hold nothing
+        assertEquals(0, window.counts(Duration.ofHours(1), now + 61 * MINUTE).total());
+    }
+
+    @Test
+    void testRecord_ReusedBucketStartsFromZero() {
+        TransactionStatsWindow window = new TransactionStatsWindow(Duration.ofMinutes(10), Duration.ofMinutes(1));
+        long now = 100 * MINUTE;
+
+        window.record("COMPLETED", null, 100, now);
+        window.record("COMPLETED", null, 200, now + 10 * MINUTE);
+
+        Counts counts = window.counts(Duration.ofMinutes(10), now + 10 * MINUTE);
+        assertEquals(1, counts.total());
+        assertEquals(200, counts.volumeMinor());
+    }
+}
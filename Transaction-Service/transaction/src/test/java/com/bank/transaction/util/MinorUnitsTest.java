@@ -0,0 +1,71 @@
+package com.bank.transaction.util;
+
+import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MinorUnitsTest {
+
+    @Test
+    void testToMinorUnits_KeepsPaise() {
+        assertEquals(12345L, MinorUnits.toMinorUnits(new BigDecimal("123.45")));
+        assertEquals(50L, MinorUnits.toMinorUnits(new BigDecimal("0.5")));
+        assertEquals(0L, MinorUnits.toMinorUnitsOrZero(null));
+    }
+
+    @Test
+    void testToMinorUnits_ExtraFractionDigits_ShouldThrow() {
+        assertThrows(ArithmeticException.class, () -> MinorUnits.toMinorUnits(new BigDecimal("1.005")));
+    }
+
+    @Test
+    void testToDecimal_RoundTrip() {
+        assertEquals(new BigDecimal("123.45"), MinorUnits.toDecimal(12345L));
+        assertEquals(new BigDecimal("-0.01"), MinorUnits.toDecimal(-1L));
+    }
+
+    @Test
+    void testTransactionEvent_CarriesExactAmount() {
+        Transaction transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setDebitAmount(new BigDecimal("999.99"));
+        transaction.setCreditAmount(BigDecimal.ZERO);
+
+        TransactionEvent event = new TransactionEvent(transaction, 7L, "user@example.com", "INR");
+
+        assertEquals(99999L, event.getDebitAmountMinor());
+        assertEquals(0L, event.getCreditAmountMinor());
+        assertEquals(new BigDecimal("999.99"), event.getDebitAmount());
+        assertEquals("INR", event.getCurrency());
+    }
+
+    @Test
+    void testScaleOf_FollowsTheCurrencyMinorUnits() {
+        assertEquals(2, MinorUnits.scaleOf("INR"));
+        assertEquals(0, MinorUnits.scaleOf("JPY"));
+        assertEquals(3, MinorUnits.scaleOf("KWD"));
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.scaleOf("ZZZ"));
+    }
+
+    @Test
+    void testTransactionEvent_UsesTheCurrencyScale() {
+        Transaction transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setDebitAmount(new BigDecimal("1500.00"));
+        transaction.setCreditAmount(new BigDecimal("1.25"));
+
+        TransactionEvent yen = new TransactionEvent(transaction, 7L, "user@example.com", "JPY");
+        TransactionEvent dinar = new TransactionEvent(transaction, 7L, "user@example.com", "KWD");
+
+        assertEquals(0, yen.getAmountScale());
+        assertEquals(1500L, yen.getDebitAmountMinor());
+        assertEquals(3, dinar.getAmountScale());
+        assertEquals(1250L, dinar.getCreditAmountMinor());
+        assertEquals(new BigDecimal("1.250"), dinar.getCreditAmount());
+    }
+}
@@ -1,7 +1,8 @@
 Write-Host "Creating Kafka Topics..." -ForegroundColor Cyan
-$topics = @("user-registered", "transaction-completed", "customer-created", "audit.events")
-foreach ($topic in $topics) {
+# transaction-completed is keyed by account number and consumed with listener concurrency
+$topics = @{ "user-registered" = 1; "transaction-completed" = 6; "customer-created" = 1; "audit.events" = 1 }
+foreach ($topic in $topics.Keys) {
     Write-Host "Checking topic: $topic"
-    docker exec kafka kafka-topics --create --if-not-exists --topic $topic --bootstrap-server localhost:9092 --partitions 1 --replication-factor 1
+    docker exec kafka kafka-topics --create --if-not-exists --topic $topic --bootstrap-server localhost:9092 --partitions $topics[$topic] --replication-factor 1
 }
 Write-Host "Kafka topics check/creation completed." -ForegroundColor Green
@@ -13,7 +13,7 @@ $services = @(
 foreach ($service in $services) {
     Write-Host "Starting $($service.Name)..."
     $servicePath = Join-Path $PSScriptRoot $service.Path
-    Start-Process powershell -ArgumentList "-NoExit", "-Command", "cd '$servicePath'; mvn spring-boot:run"
+    Start-Process powershell -ArgumentList "-NoExit", "-Command", "cd '$servicePath'; mvn spring-boot:run '-Dspring-boot.run.profiles=dev'"
     
     if ($service.Name -eq "discovery-service") {
         Start-Sleep -Seconds 10